@@ -0,0 +1,485 @@
+package csc143;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH suite timing HashDict and SortedLinkedList against the JDK collections they stand in for, so a change that makes
+ * either slower shows up next to a baseline that didn't change. HashDict get, put, remove and containsValue are timed
+ * against HashMap, and SortedLinkedList add, contains and iteration against TreeSet and a sorted ArrayList searched with
+ * Collections.binarySearch. Every benchmark is run for each size and key distribution:
+ * <ul>
+ *     <li>uniform, random keys looked up in random order</li>
+ *     <li>zipfian, the same keys looked up with a Zipfian skew, so a few hot keys take most of the lookups. Sorted lists
+ *     are filled with Zipfian values, so they hold many copies of the hot ones</li>
+ *     <li>colliding, keys whose hash codes come in groups of 8, so every bucket holding one holds 8. Sorted lists are
+ *     filled from only 16 different values</li>
+ * </ul>
+ * Neither class is thread safe, so only the read-only calls, get and contains, have an AllCores variant, which shares one
+ * collection between as many threads as there are cores. Run it with mvn -Pjmh test-compile exec:exec
+ * -Djmh.args="BaselineBenchmark -rf json" to get the results as JSON that can be compared over time
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BaselineBenchmark {
+    //private fields
+    private static final double ZIPF_EXPONENT = 0.99;
+
+    /**
+     * Look up a key that is held
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Object - The value found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public Object dictGetHit(DictState dict, Cursor cursor){
+        return dict.dict.get.get(dict.keys[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Look up a key that is held, from every core at once
+     * @param dict The dictionary being timed, shared by every thread
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Object - The value found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object dictGetHitAllCores(DictState dict, Cursor cursor){
+        return dict.dict.get.get(dict.keys[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Look up a key that isn't held
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Object - The null found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public Object dictGetMiss(DictState dict, Cursor cursor){
+        return dict.dict.get.get(dict.missing[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Look up a key that isn't held, from every core at once
+     * @param dict The dictionary being timed, shared by every thread
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Object - The null found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object dictGetMissAllCores(DictState dict, Cursor cursor){
+        return dict.dict.get.get(dict.missing[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Put a key that is already held, overwriting its value
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Object - The value replaced
+     */
+    @Benchmark
+    public Object dictPutOverwrite(DictState dict, Cursor cursor){
+        Object key = dict.keys[cursor.next(dict.order)];
+        return dict.dict.put.put(key, key);
+    }
+
+    /**
+     * Remove a held key and put it straight back, so the dictionary keeps its size
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @param blackhole Takes both results so neither call can be dropped
+     */
+    @Benchmark
+    public void dictRemoveAndPut(DictState dict, Cursor cursor, Blackhole blackhole){
+        Object key = dict.keys[cursor.next(dict.order)];
+        blackhole.consume(dict.dict.remove.remove(key));
+        blackhole.consume(dict.dict.put.put(key, key));
+    }
+
+    /**
+     * Scan every entry for a value that isn't held
+     * @param dict The dictionary being timed
+     * @return Boolean - Always false, handed back so JMH keeps the scan
+     */
+    @Benchmark
+    public boolean dictContainsValueMiss(DictState dict){
+        return dict.dict.containsValue.containsValue(dict.missing[0]);
+    }
+
+    /**
+     * Add a value and take it back out, so the list keeps its size
+     * @param list The sorted collection being timed
+     * @param cursor Where this thread has got to in the value order
+     * @param blackhole Takes the result of the removal
+     */
+    @Benchmark
+    public void listAddAndRemove(ListState list, Cursor cursor, Blackhole blackhole){
+        Integer value = list.values[cursor.next(list.order)];
+        list.list.add.add(value);
+        blackhole.consume(list.list.remove.find(value));
+    }
+
+    /**
+     * Look up a value that is held
+     * @param list The sorted collection being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public boolean listContainsHit(ListState list, Cursor cursor){
+        return list.list.contains.find(list.values[cursor.next(list.order)]);
+    }
+
+    /**
+     * Look up a value that is held, from every core at once
+     * @param list The sorted collection being timed, shared by every thread
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean listContainsHitAllCores(ListState list, Cursor cursor){
+        return list.list.contains.find(list.values[cursor.next(list.order)]);
+    }
+
+    /**
+     * Walk every value in ascending order
+     * @param list The sorted collection being timed
+     * @param blackhole Takes every value walked
+     */
+    @Benchmark
+    public void listIterate(ListState list, Blackhole blackhole){
+        for(Integer value : list.list.values){
+            blackhole.consume(value);
+        }
+    }
+
+    /**
+     * Pick the order keys are looked up in, either each key once in random order or drawn with a Zipfian skew
+     * @param size The number of keys
+     * @param zipfian True to draw with a Zipfian skew, where the key of rank k is picked in proportion to 1 / k^0.99
+     * @param random The source of randomness
+     * @return int[] - The index of the key for each of size lookups
+     */
+    static int[] requests(int size, boolean zipfian, Random random){
+        int[] order = new int[size];
+        if(!zipfian){
+            for(int i = 0; i < size; i++){
+                order[i] = i;
+            }
+            for(int i = size - 1; i > 0; i--){
+                int j = random.nextInt(i + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            return order;
+        }
+        double[] cumulative = new double[size];
+        double total = 0;
+        for(int i = 0; i < size; i++){
+            total += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = total;
+        }
+        //Scatter the ranks over the keys, so the hot keys aren't the first ones inserted
+        int[] rankToKey = requests(size, false, random);
+        for(int i = 0; i < size; i++){
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            order[i] = rankToKey[Math.min(rank < 0 ? -rank - 1 : rank, size - 1)];
+        }
+        return order;
+    }
+
+    /**
+     * Class holding one dictionary filled for a size and key distribution, along with the keys to look up. It is shared
+     * by every thread of a benchmark
+     */
+    @State(Scope.Benchmark)
+    public static class DictState{
+        //Package-private fields
+        @Param({"HashDict", "HashMap"})
+        String implementation;
+        @Param({"10000", "100000", "1000000"})
+        int size;
+        @Param({"uniform", "zipfian", "colliding"})
+        String distribution;
+        Object[] keys;
+        Object[] missing;
+        int[] order;
+        Dict dict;
+
+        /**
+         * Make the keys and fill the dictionary with them
+         */
+        @Setup
+        public void setUp(){
+            Random random = new Random(42);
+            keys = new Object[size];
+            missing = new Object[size];
+            for(int i = 0; i < size; i++){
+                if(distribution.equals("colliding")){
+                    keys[i] = new CollidingKey(i << 1);
+                    missing[i] = new CollidingKey(i << 1 | 1);
+                } else{
+                    int key = random.nextInt() & ~1;
+                    keys[i] = key;
+                    missing[i] = key | 1;
+                }
+            }
+            order = requests(size, distribution.equals("zipfian"), random);
+            if(implementation.equals("HashDict")){
+                HashDict<Object, Object> hashDict = new HashDict<Object, Object>();
+                dict = new Dict(hashDict::get, hashDict::put, hashDict::remove, hashDict::containsValue);
+            } else{
+                HashMap<Object, Object> hashMap = new HashMap<Object, Object>();
+                dict = new Dict(hashMap::get, hashMap::put, hashMap::remove, hashMap::containsValue);
+            }
+            for(Object key : keys){
+                dict.put.put(key, key);
+            }
+        }
+    }
+
+    /**
+     * Class holding one sorted collection filled for a size and value distribution, along with the values to look up.
+     * It is shared by every thread of a benchmark
+     */
+    @State(Scope.Benchmark)
+    public static class ListState{
+        //Package-private fields
+        @Param({"SortedLinkedList", "TreeSet", "ArrayList"})
+        String implementation;
+        @Param({"1000", "10000", "100000"})
+        int size;
+        @Param({"uniform", "zipfian", "colliding"})
+        String distribution;
+        Integer[] values;
+        int[] order;
+        SortedValues list;
+
+        /**
+         * Make the values and fill the collection with them
+         */
+        @Setup
+        public void setUp(){
+            Random random = new Random(42);
+            values = new Integer[size];
+            int[] zipf = distribution.equals("zipfian") ? requests(size, true, random) : null;
+            for(int i = 0; i < size; i++){
+                if(zipf != null){
+                    values[i] = zipf[i] << 1;
+                } else if(distribution.equals("colliding")){
+                    values[i] = random.nextInt(16) << 1;
+                } else{
+                    values[i] = random.nextInt() & ~1;
+                }
+            }
+            order = requests(size, false, random);
+            List<Integer> unsorted = Arrays.asList(values);
+            switch(implementation){
+                case "SortedLinkedList":
+                    SortedLinkedList<Integer> linked = new SortedLinkedList<Integer>(unsorted);
+                    list = new SortedValues(linked::add, linked::remove, linked::contains, linked);
+                    break;
+                case "TreeSet":
+                    //A TreeSet holds each value once, so the duplicates of the skewed distributions are dropped
+                    TreeSet<Integer> tree = new TreeSet<Integer>(unsorted);
+                    list = new SortedValues(tree::add, tree::remove, tree::contains, tree);
+                    break;
+                case "ArrayList":
+                    ArrayList<Integer> array = new ArrayList<Integer>(unsorted);
+                    Collections.sort(array);
+                    list = new SortedValues(value -> {
+                        int index = Collections.binarySearch(array, value);
+                        array.add(index < 0 ? -index - 1 : index, value);
+                    }, value -> {
+                        int index = Collections.binarySearch(array, value);
+                        return index >= 0 && array.remove(index) != null;
+                    }, value -> Collections.binarySearch(array, value) >= 0, array);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+        }
+    }
+
+    /**
+     * Class holding where one thread has got to in a lookup order, so each thread walks the order on its own
+     */
+    @State(Scope.Thread)
+    public static class Cursor{
+        //Private fields
+        private int position;
+
+        /**
+         * Get the next index of a lookup order, going back to the start once it runs out
+         * @param order The lookup order
+         * @return Int - The index of the key or value to use next
+         */
+        int next(int[] order){
+            if(position == order.length){
+                position = 0;
+            }
+            return order[position++];
+        }
+    }
+
+    /**
+     * Class holding the calls of one dictionary, so HashDict and HashMap can be timed by the same code
+     */
+    static final class Dict{
+        //Package-private fields
+        final Getter get;
+        final Putter put;
+        final Remover remove;
+        final ValueSearch containsValue;
+
+        /**
+         * Constructor for a Dict
+         * @param get The dictionary's get
+         * @param put The dictionary's put
+         * @param remove The dictionary's remove
+         * @param containsValue The dictionary's containsValue
+         */
+        Dict(Getter get, Putter put, Remover remove, ValueSearch containsValue){
+            this.get = get;
+            this.put = put;
+            this.remove = remove;
+            this.containsValue = containsValue;
+        }
+    }
+
+    /**
+     * Class holding the calls of one sorted collection, so SortedLinkedList, TreeSet and a sorted ArrayList can be timed
+     * by the same code
+     */
+    static final class SortedValues{
+        //Package-private fields
+        final Adder add;
+        final Finder remove;
+        final Finder contains;
+        final Iterable<Integer> values;
+
+        /**
+         * Constructor for a SortedValues
+         * @param add Adds a value in order
+         * @param remove Removes one copy of a value
+         * @param contains Checks whether a value is held
+         * @param values Walks the values in ascending order
+         */
+        SortedValues(Adder add, Finder remove, Finder contains, Iterable<Integer> values){
+            this.add = add;
+            this.remove = remove;
+            this.contains = contains;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Interface for a dictionary's get
+     */
+    interface Getter {
+        Object get(Object key);
+    }
+
+    /**
+     * Interface for a dictionary's put
+     */
+    interface Putter {
+        Object put(Object key, Object value);
+    }
+
+    /**
+     * Interface for a dictionary's remove
+     */
+    interface Remover {
+        Object remove(Object key);
+    }
+
+    /**
+     * Interface for a dictionary's containsValue
+     */
+    interface ValueSearch {
+        boolean containsValue(Object value);
+    }
+
+    /**
+     * Interface for a sorted collection's add
+     */
+    interface Adder {
+        void add(Integer value);
+    }
+
+    /**
+     * Interface for a sorted collection's contains or remove
+     */
+    interface Finder {
+        boolean find(Integer value);
+    }
+
+    /**
+     * Class for a key whose hash code is shared with the 15 keys around it, of which 8 are held and 8 are missing. It is
+     * Comparable, so both HashDict and HashMap can turn its buckets into trees
+     */
+    static final class CollidingKey implements Comparable<CollidingKey>{
+        //Private fields
+        private final int value;
+
+        /**
+         * Constructor for a CollidingKey
+         * @param value The number identifying the key, held keys are even and missing keys odd
+         */
+        CollidingKey(int value){
+            this.value = value;
+        }
+
+        /**
+         * Get a hash code shared by 16 neighbouring keys
+         * @return Int - The value with its low 4 bits dropped
+         */
+        public int hashCode(){
+            return value >>> 4;
+        }
+
+        /**
+         * Check to see if another object is the same key
+         * @param o The object to be compared against
+         * @return Boolean - True if the object is a CollidingKey with the same value, otherwise false
+         */
+        public boolean equals(Object o){
+            return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+        }
+
+        /**
+         * Order keys by their values
+         * @param other The key to be compared against
+         * @return Int - Negative, zero or positive as this key sorts before, with or after the other
+         */
+        public int compareTo(CollidingKey other){
+            return Integer.compare(value, other.value);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package csc143;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH suite measuring how ConcurrentHashDict throughput scales with the number of threads, next to a HashDict behind a
+ * single global lock. Every thread runs a read-heavy mix, 90% get and 10% put, over a shared key range, and JMH reports
+ * the total operations per microsecond across the threads. readMostly runs on one thread and readMostlyAllCores on one
+ * per core. For the counts in between, run it with mvn -Pjmh test-compile exec:exec
+ * -Djmh.args="ConcurrentHashDictBenchmark.readMostly$ -t 4", once per thread count
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ConcurrentHashDictBenchmark {
+    //private fields
+    private static final int PUT_PERCENT = 10;
+
+    /**
+     * Run one operation of the read-heavy mix
+     * @param dict The dictionary being timed
+     * @return Integer - The value found or replaced, handed back so JMH keeps the call
+     */
+    @Benchmark
+    public Integer readMostly(DictState dict){
+        return mix(dict);
+    }
+
+    /**
+     * Run one operation of the read-heavy mix, from every core at once
+     * @param dict The dictionary being timed, shared by every thread
+     * @return Integer - The value found or replaced, handed back so JMH keeps the call
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer readMostlyAllCores(DictState dict){
+        return mix(dict);
+    }
+
+    /**
+     * Get or, one time in ten, put a random key of the shared range
+     * @param dict The dictionary being timed
+     * @return Integer - The value found or replaced
+     */
+    private static Integer mix(DictState dict){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(dict.keys);
+        if(random.nextInt(100) < PUT_PERCENT){
+            return dict.dict.put(key, key);
+        }
+        return dict.dict.get(key);
+    }
+
+    /**
+     * Class holding one dictionary filled with the whole key range, shared by every thread of a benchmark
+     */
+    @State(Scope.Benchmark)
+    public static class DictState{
+        //Package-private fields
+        @Param({"ConcurrentHashDict", "SynchronizedHashDict"})
+        String implementation;
+        @Param({"1000000"})
+        int keys;
+        IDict<Integer, Integer> dict;
+
+        /**
+         * Fill the dictionary with every key of the range
+         * @throws IllegalArgumentException if the implementation name isn't recognised
+         */
+        @Setup
+        public void setUp(){
+            switch(implementation){
+                case "ConcurrentHashDict":
+                    dict = new ConcurrentHashDict<Integer, Integer>();
+                    break;
+                case "SynchronizedHashDict":
+                    dict = new SynchronizedDict<Integer, Integer>(new HashDict<Integer, Integer>());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+            for(int i = 0; i < keys; i++){
+                dict.put(i, i);
+            }
+        }
+    }
+
+    /**
+     * Class that puts every call to a dictionary behind one lock, the way a plain HashDict has to be shared today
+     */
+    static final class SynchronizedDict<K, V> implements IDict<K, V>{
+        private final IDict<K, V> dict;
+
+        SynchronizedDict(IDict<K, V> dict){
+            this.dict = dict;
+        }
+
+        public synchronized int size(){
+            return dict.size();
+        }
+
+        public synchronized boolean isEmpty(){
+            return dict.isEmpty();
+        }
+
+        public synchronized V get(K key){
+            return dict.get(key);
+        }
+
+        public synchronized V put(K key, V value){
+            return dict.put(key, value);
+        }
+
+        public synchronized V replace(K key, V value){
+            return dict.replace(key, value);
+        }
+
+        public synchronized V remove(K key){
+            return dict.remove(key);
+        }
+
+        public synchronized boolean remove(K key, V value){
+            return dict.remove(key, value);
+        }
+
+        public synchronized boolean containsValue(V value){
+            return dict.containsValue(value);
+        }
+
+        public synchronized boolean containsKey(K key){
+            return dict.containsKey(key);
+        }
+
+        public synchronized void clear(){
+            dict.clear();
+        }
+    }
+}
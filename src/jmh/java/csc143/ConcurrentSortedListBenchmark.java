@@ -0,0 +1,179 @@
+package csc143;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH suite measuring how ConcurrentSortedList throughput scales with the number of threads, next to a SkipListSortedList
+ * behind a single global lock. Every thread runs a priority-queue mix, half add and half removeHead, over a shared list
+ * that is refilled to a fixed number of values before every iteration, and JMH reports the total operations per
+ * microsecond across the threads. priorityQueue runs on one thread and priorityQueueAllCores on one per core. For the
+ * counts in between, run it with mvn -Pjmh test-compile exec:exec
+ * -Djmh.args="ConcurrentSortedListBenchmark.priorityQueue$ -t 4", once per thread count
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ConcurrentSortedListBenchmark {
+    //private fields
+    private static final int ADD_PERCENT = 50;
+
+    /**
+     * Run one operation of the priority-queue mix
+     * @param list The list being timed
+     * @return Integer - The value added or taken off the head, handed back so JMH keeps the call
+     */
+    @Benchmark
+    public Integer priorityQueue(ListState list){
+        return mix(list);
+    }
+
+    /**
+     * Run one operation of the priority-queue mix, from every core at once
+     * @param list The list being timed, shared by every thread
+     * @return Integer - The value added or taken off the head, handed back so JMH keeps the call
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer priorityQueueAllCores(ListState list){
+        return mix(list);
+    }
+
+    /**
+     * Add a random value or take the head off the list, each half of the time
+     * @param list The list being timed
+     * @return Integer - The value added or taken off the head, null if another thread emptied the list first
+     */
+    private static Integer mix(ListState list){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if(random.nextInt(100) < ADD_PERCENT){
+            Integer value = random.nextInt();
+            list.list.add(value);
+            return value;
+        }
+        try{
+            return list.list.removeHead();
+        } catch(NullPointerException e){
+            //Another thread emptied the list first
+            return null;
+        }
+    }
+
+    /**
+     * Class holding one list shared by every thread of a benchmark
+     */
+    @State(Scope.Benchmark)
+    public static class ListState{
+        //Package-private fields
+        @Param({"ConcurrentSortedList", "SynchronizedSkipList"})
+        String implementation;
+        @Param({"100000"})
+        int values;
+        ISortedList<Integer> list;
+
+        /**
+         * Make a new list holding the starting number of values, so the mix's drift in size doesn't carry over from one
+         * iteration to the next
+         * @throws IllegalArgumentException if the implementation name isn't recognised
+         */
+        @Setup(Level.Iteration)
+        public void setUp(){
+            switch(implementation){
+                case "ConcurrentSortedList":
+                    list = new ConcurrentSortedList<Integer>();
+                    break;
+                case "SynchronizedSkipList":
+                    list = new SynchronizedSortedList<Integer>(new SkipListSortedList<Integer>());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+            Random random = new Random(42);
+            for(int i = 0; i < values; i++){
+                list.add(random.nextInt());
+            }
+        }
+    }
+
+    /**
+     * Class that puts every call to a sorted list behind one lock, the way a plain sorted list has to be shared today
+     */
+    static final class SynchronizedSortedList<E extends Comparable<E>> implements ISortedList<E>{
+        private final ISortedList<E> list;
+
+        SynchronizedSortedList(ISortedList<E> list){
+            this.list = list;
+        }
+
+        public synchronized int size(){
+            return list.size();
+        }
+
+        public synchronized boolean isEmpty(){
+            return list.isEmpty();
+        }
+
+        public synchronized E getHead(){
+            return list.getHead();
+        }
+
+        public synchronized E getTail(){
+            return list.getTail();
+        }
+
+        public synchronized int indexOf(E value){
+            return list.indexOf(value);
+        }
+
+        public synchronized boolean contains(E value){
+            return list.contains(value);
+        }
+
+        public synchronized void add(E value){
+            list.add(value);
+        }
+
+        public synchronized void addAll(ISortedList<E> other){
+            list.addAll(other);
+        }
+
+        public synchronized E removeHead(){
+            return list.removeHead();
+        }
+
+        public synchronized E removeTail(){
+            return list.removeTail();
+        }
+
+        public synchronized boolean remove(E value){
+            return list.remove(value);
+        }
+
+        public synchronized void clear(){
+            list.clear();
+        }
+
+        //Callers have to hold the lock themselves while iterating, as with Collections.synchronizedList
+        public Iterator<E> iterator(){
+            return list.iterator();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package csc143;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH suite timing the hot paths of HashDict and the other IDict implementations, one operation per call on a dictionary
+ * filled with random keys, which are looked up in random order. The full scans, reduce and containsValue, are only timed
+ * on HashDict, and get and put are timed again on a HashDict with metrics on and off. Run it with mvn -Pjmh
+ * test-compile exec:exec -Djmh.args="HashDictBenchmark -rf json", adding -p implementation=open to time only
+ * OpenHashDict or -p size=... for another number of keys
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashDictBenchmark {
+
+    /**
+     * Look up a key that is held
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Integer - The value found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public Integer getHit(DictState dict, BaselineBenchmark.Cursor cursor){
+        return dict.dict.get(dict.keys[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Look up a key that isn't held
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Integer - The null found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public Integer getMiss(DictState dict, BaselineBenchmark.Cursor cursor){
+        return dict.dict.get(dict.missing[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Put a key that is already held, overwriting its value
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Integer - The value replaced
+     */
+    @Benchmark
+    public Integer putOverwrite(DictState dict, BaselineBenchmark.Cursor cursor){
+        Integer key = dict.keys[cursor.next(dict.order)];
+        return dict.dict.put(key, key);
+    }
+
+    /**
+     * Replace the value of a key that is held
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Integer - The value replaced
+     */
+    @Benchmark
+    public Integer replace(DictState dict, BaselineBenchmark.Cursor cursor){
+        Integer key = dict.keys[cursor.next(dict.order)];
+        return dict.dict.replace(key, key);
+    }
+
+    /**
+     * Remove a held key and put it straight back, so the dictionary keeps its size
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @param blackhole Takes both results so neither call can be dropped
+     */
+    @Benchmark
+    public void removeAndPut(DictState dict, BaselineBenchmark.Cursor cursor, Blackhole blackhole){
+        Integer key = dict.keys[cursor.next(dict.order)];
+        blackhole.consume(dict.dict.remove(key));
+        blackhole.consume(dict.dict.put(key, key));
+    }
+
+    /**
+     * Remove a held key/value pair and put it straight back, so the dictionary keeps its size
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @param blackhole Takes both results so neither call can be dropped
+     */
+    @Benchmark
+    public void removeValueAndPut(DictState dict, BaselineBenchmark.Cursor cursor, Blackhole blackhole){
+        Integer key = dict.keys[cursor.next(dict.order)];
+        blackhole.consume(dict.dict.remove(key, key));
+        blackhole.consume(dict.dict.put(key, key));
+    }
+
+    /**
+     * Sum every value on the calling thread
+     * @param scan The dictionary being timed
+     * @return Long - The sum of the values
+     */
+    @Benchmark
+    public Long reduceSequential(ScanState scan){
+        return scan.dict.reduce(Long.MAX_VALUE, (key, value) -> (long) value, Long::sum);
+    }
+
+    /**
+     * Sum every value, split across every core of the fork-join pool
+     * @param scan The dictionary being timed
+     * @return Long - The sum of the values
+     */
+    @Benchmark
+    public Long reduceParallel(ScanState scan){
+        return scan.dict.reduce(1, (key, value) -> (long) value, Long::sum);
+    }
+
+    /**
+     * Scan every entry for a value that isn't held
+     * @param scan The dictionary being timed
+     * @return Boolean - Always false, handed back so JMH keeps the scan
+     */
+    @Benchmark
+    public boolean containsValueMiss(ScanState scan){
+        return scan.dict.containsValue(-1);
+    }
+
+    /**
+     * Look up a key that is held, on a HashDict with or without a metrics listener, to show what the listener costs
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Integer - The value found, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public Integer listenedGetHit(ListenerState dict, BaselineBenchmark.Cursor cursor){
+        return dict.dict.get(dict.keys[cursor.next(dict.order)]);
+    }
+
+    /**
+     * Put a key that is already held, on a HashDict with or without a metrics listener, to show what the listener costs
+     * @param dict The dictionary being timed
+     * @param cursor Where this thread has got to in the lookup order
+     * @return Integer - The value replaced
+     */
+    @Benchmark
+    public Integer listenedPutOverwrite(ListenerState dict, BaselineBenchmark.Cursor cursor){
+        Integer key = dict.keys[cursor.next(dict.order)];
+        return dict.dict.put(key, key);
+    }
+
+    /**
+     * Make random keys that are all even, so adding 1 to any of them gives a key that is never held
+     * @param size The number of keys
+     * @param random The source of randomness
+     * @return Integer[] - The keys
+     */
+    static Integer[] evenKeys(int size, Random random){
+        Integer[] keys = new Integer[size];
+        for(int i = 0; i < size; i++){
+            keys[i] = random.nextInt() & ~1;
+        }
+        return keys;
+    }
+
+    /**
+     * Class holding one dictionary of each implementation filled with random keys, along with the keys to look up
+     */
+    @State(Scope.Benchmark)
+    public static class DictState{
+        //Package-private fields
+        @Param({"chained", "open"})
+        String implementation;
+        @Param({"100000"})
+        int size;
+        Integer[] keys;
+        Integer[] missing;
+        int[] order;
+        IDict<Integer, Integer> dict;
+
+        /**
+         * Make the keys and fill the dictionary with them
+         * @throws IllegalArgumentException if the implementation name isn't recognised
+         */
+        @Setup
+        public void setUp(){
+            Random random = new Random(42);
+            keys = evenKeys(size, random);
+            missing = new Integer[size];
+            for(int i = 0; i < size; i++){
+                missing[i] = keys[i] | 1;
+            }
+            order = BaselineBenchmark.requests(size, false, random);
+            switch(implementation){
+                case "chained":
+                    dict = new HashDict<Integer, Integer>();
+                    break;
+                case "open":
+                    dict = new OpenHashDict<Integer, Integer>();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+            for(Integer key : keys){
+                dict.put(key, key);
+            }
+        }
+    }
+
+    /**
+     * Class holding a HashDict filled with random keys, with a HashDictMetrics listening to it or not
+     */
+    @State(Scope.Benchmark)
+    public static class ListenerState{
+        //Package-private fields
+        @Param({"off", "on"})
+        String metrics;
+        @Param({"100000"})
+        int size;
+        Integer[] keys;
+        int[] order;
+        HashDict<Integer, Integer> dict;
+
+        /**
+         * Fill the dictionary and then start the listener, so only the timed calls are recorded
+         */
+        @Setup
+        public void setUp(){
+            Random random = new Random(42);
+            keys = evenKeys(size, random);
+            order = BaselineBenchmark.requests(size, false, random);
+            dict = new HashDict<Integer, Integer>();
+            for(Integer key : keys){
+                dict.put(key, key);
+            }
+            if(metrics.equals("on")){
+                dict.setListener(new HashDictMetrics(dict));
+            }
+        }
+    }
+
+    /**
+     * Class holding a HashDict filled with random keys, for the scans only HashDict has
+     */
+    @State(Scope.Benchmark)
+    public static class ScanState{
+        //Package-private fields
+        @Param({"100000"})
+        int size;
+        HashDict<Integer, Integer> dict;
+
+        /**
+         * Fill the dictionary
+         */
+        @Setup
+        public void setUp(){
+            dict = new HashDict<Integer, Integer>();
+            for(Integer key : evenKeys(size, new Random(42))){
+                dict.put(key, key);
+            }
+        }
+    }
+}
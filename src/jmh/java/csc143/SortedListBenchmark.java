@@ -0,0 +1,269 @@
+package csc143;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH suite timing the ISortedList implementations against each other at 10,000, 100,000 and 1,000,000 elements, one
+ * operation per call on a list filled with random values, which are looked up in random order. SortedLinkedList is filled
+ * through its linear bulk constructor, so it is timed at every size even though adding to it one value at a time is
+ * quadratic. Building and merging a whole SortedLinkedList in bulk are timed on their own, and contains and add are timed
+ * again on a SortedLinkedList with metrics on and off. Run it with mvn -Pjmh test-compile exec:exec
+ * -Djmh.args="SortedListBenchmark -rf json", adding -prof gc to see what each call allocates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortedListBenchmark {
+
+    /**
+     * Add a value and take it back out, so the list keeps its size
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the removal
+     */
+    @Benchmark
+    public boolean addAndRemove(ListState list, BaselineBenchmark.Cursor cursor){
+        Integer value = list.missing[cursor.next(list.order)];
+        list.list.add(value);
+        return list.list.remove(value);
+    }
+
+    /**
+     * Remove a held value and add it straight back, so the list keeps its size
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the removal
+     */
+    @Benchmark
+    public boolean removeAndAdd(ListState list, BaselineBenchmark.Cursor cursor){
+        Integer value = list.values[cursor.next(list.order)];
+        boolean removed = list.list.remove(value);
+        list.list.add(value);
+        return removed;
+    }
+
+    /**
+     * Look up a value that is held
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public boolean containsHit(ListState list, BaselineBenchmark.Cursor cursor){
+        return list.list.contains(list.values[cursor.next(list.order)]);
+    }
+
+    /**
+     * Look up a value that isn't held
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always false, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public boolean containsMiss(ListState list, BaselineBenchmark.Cursor cursor){
+        return list.list.contains(list.missing[cursor.next(list.order)]);
+    }
+
+    /**
+     * Find the position of a value that is held
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Int - The position found
+     */
+    @Benchmark
+    public int indexOf(ListState list, BaselineBenchmark.Cursor cursor){
+        return list.list.indexOf(list.values[cursor.next(list.order)]);
+    }
+
+    /**
+     * Walk every value in ascending order
+     * @param list The list being timed
+     * @param blackhole Takes every value walked
+     */
+    @Benchmark
+    public void iterate(ListState list, Blackhole blackhole){
+        for(Integer value : list.list){
+            blackhole.consume(value);
+        }
+    }
+
+    /**
+     * Build a SortedLinkedList from unsorted values in one go
+     * @param bulk The values being built from
+     * @return SortedLinkedList - The list built
+     */
+    @Benchmark
+    public SortedLinkedList<Integer> bulkConstruct(BulkState bulk){
+        return new SortedLinkedList<Integer>(bulk.unsorted);
+    }
+
+    /**
+     * Merge two sorted halves into an empty SortedLinkedList
+     * @param bulk The halves being merged
+     * @return SortedLinkedList - The merged list
+     */
+    @Benchmark
+    public SortedLinkedList<Integer> mergeAddAll(BulkState bulk){
+        SortedLinkedList<Integer> merged = new SortedLinkedList<Integer>();
+        merged.addAll(bulk.lower);
+        merged.addAll(bulk.upper);
+        return merged;
+    }
+
+    /**
+     * Look up a value that is held, on a SortedLinkedList with or without a metrics listener, to show what the listener
+     * costs
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the lookup
+     */
+    @Benchmark
+    public boolean listenedContainsHit(ListenerState list, BaselineBenchmark.Cursor cursor){
+        return list.list.contains(list.values[cursor.next(list.order)]);
+    }
+
+    /**
+     * Add a value and take it back out, on a SortedLinkedList with or without a metrics listener, to show what the
+     * listener costs
+     * @param list The list being timed
+     * @param cursor Where this thread has got to in the value order
+     * @return Boolean - Always true, handed back so JMH keeps the removal
+     */
+    @Benchmark
+    public boolean listenedAddAndRemove(ListenerState list, BaselineBenchmark.Cursor cursor){
+        Integer value = list.values[cursor.next(list.order)] | 1;
+        list.list.add(value);
+        return list.list.remove(value);
+    }
+
+    /**
+     * Make random values that are all even, so adding 1 to any of them gives a value that is never held
+     * @param size The number of values
+     * @param random The source of randomness
+     * @return Integer[] - The values
+     */
+    static Integer[] evenValues(int size, Random random){
+        Integer[] values = new Integer[size];
+        for(int i = 0; i < size; i++){
+            values[i] = random.nextInt() & ~1;
+        }
+        return values;
+    }
+
+    /**
+     * Class holding one list of each implementation filled with random values, along with the values to look up
+     */
+    @State(Scope.Benchmark)
+    public static class ListState{
+        //Package-private fields
+        @Param({"SkipListSortedList", "UnrolledSortedList", "SortedLinkedList"})
+        String implementation;
+        @Param({"10000", "100000", "1000000"})
+        int size;
+        Integer[] values;
+        Integer[] missing;
+        int[] order;
+        ISortedList<Integer> list;
+
+        /**
+         * Make the values and fill the list with them
+         * @throws IllegalArgumentException if the implementation name isn't recognised
+         */
+        @Setup
+        public void setUp(){
+            Random random = new Random(42);
+            values = evenValues(size, random);
+            missing = new Integer[size];
+            for(int i = 0; i < size; i++){
+                missing[i] = values[i] | 1;
+            }
+            order = BaselineBenchmark.requests(size, false, random);
+            switch(implementation){
+                case "SkipListSortedList":
+                    list = new SkipListSortedList<Integer>();
+                    break;
+                case "UnrolledSortedList":
+                    list = new UnrolledSortedList<Integer>();
+                    break;
+                case "SortedLinkedList":
+                    list = new SortedLinkedList<Integer>(Arrays.asList(values));
+                    return;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+            for(Integer value : values){
+                list.add(value);
+            }
+        }
+    }
+
+    /**
+     * Class holding a SortedLinkedList filled with random values, with a SortedListMetrics listening to it or not
+     */
+    @State(Scope.Benchmark)
+    public static class ListenerState{
+        //Package-private fields
+        @Param({"off", "on"})
+        String metrics;
+        @Param({"10000"})
+        int size;
+        Integer[] values;
+        int[] order;
+        SortedLinkedList<Integer> list;
+
+        /**
+         * Fill the list and then start the listener, so only the timed calls are recorded
+         */
+        @Setup
+        public void setUp(){
+            Random random = new Random(42);
+            values = evenValues(size, random);
+            order = BaselineBenchmark.requests(size, false, random);
+            list = new SortedLinkedList<Integer>(Arrays.asList(values));
+            if(metrics.equals("on")){
+                list.setListener(new SortedListMetrics(list));
+            }
+        }
+    }
+
+    /**
+     * Class holding unsorted values and the two sorted halves of them, for the bulk SortedLinkedList benchmarks
+     */
+    @State(Scope.Benchmark)
+    public static class BulkState{
+        //Package-private fields
+        @Param({"10000", "100000", "1000000"})
+        int size;
+        List<Integer> unsorted;
+        SortedLinkedList<Integer> lower;
+        SortedLinkedList<Integer> upper;
+
+        /**
+         * Make the values and sort each half of them
+         */
+        @Setup
+        public void setUp(){
+            unsorted = Arrays.asList(evenValues(size, new Random(42)));
+            lower = new SortedLinkedList<Integer>(unsorted.subList(0, size / 2));
+            upper = new SortedLinkedList<Integer>(unsorted.subList(size / 2, size));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package csc143;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Interface for turning objects into bytes and back, so that collections can keep their contents outside the Java heap or
+ * write them to disk. Equal objects must always encode to the same bytes, since stored keys are compared byte for byte
+ * @param <T> The type of object being encoded
+ */
+public interface Codec<T>{
+    /**
+     * Get the number of bytes the input object takes up once encoded
+     * @param value The object to be measured
+     * @return Int - The number of bytes encode will write for the object
+     */
+    int encodedSize(T value);
+
+    /**
+     * Write the input object into a buffer at the buffer's current position, moving the position past it
+     * @param value The object to be written
+     * @param buffer The buffer to write into, with at least encodedSize(value) bytes remaining
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Read an object back out of a buffer starting at the buffer's current position, moving the position past it
+     * @param buffer The buffer to read from
+     * @param length The number of bytes the object was encoded into
+     * @return T - The decoded object
+     */
+    T decode(ByteBuffer buffer, int length);
+
+    /**
+     * Codec for Integer objects as 4 big-endian bytes
+     */
+    Codec<Integer> INTEGER = new Codec<Integer>(){
+        public int encodedSize(Integer value){
+            return Integer.BYTES;
+        }
+
+        public void encode(Integer value, ByteBuffer buffer){
+            buffer.putInt(value);
+        }
+
+        public Integer decode(ByteBuffer buffer, int length){
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Codec for Long objects as 8 big-endian bytes
+     */
+    Codec<Long> LONG = new Codec<Long>(){
+        public int encodedSize(Long value){
+            return Long.BYTES;
+        }
+
+        public void encode(Long value, ByteBuffer buffer){
+            buffer.putLong(value);
+        }
+
+        public Long decode(ByteBuffer buffer, int length){
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Codec for String objects as UTF-8 bytes
+     */
+    Codec<String> STRING = new Codec<String>(){
+        public int encodedSize(String value){
+            int bytes = 0;
+            for(int i = 0; i < value.length(); i++){
+                char c = value.charAt(i);
+                if(c < 0x80){
+                    bytes += 1;
+                } else if(c < 0x800){
+                    bytes += 2;
+                } else if(Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))){
+                    bytes += 4;
+                    i++;
+                } else if(Character.isSurrogate(c)){
+                    //A lone surrogate can't be encoded, getBytes writes a single '?' in its place
+                    bytes += 1;
+                } else{
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+
+        public void encode(String value, ByteBuffer buffer){
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public String decode(ByteBuffer buffer, int length){
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
@@ -0,0 +1,676 @@
+package csc143;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Class to create a dictionary that can hold object with a key/value pair and be shared between threads. It keeps the
+ * HashDict bucket model, an array of chained entries, but with the following rules so it scales across cores:
+ * <ul>
+ *     <li>Reads never lock. Bucket heads are read and swapped with volatile/CAS array access and every link is volatile</li>
+ *     <li>A write to an empty bucket is a single CAS, any other write locks only the first entry of its bucket</li>
+ *     <li>Growing is cooperative, every thread that runs into a resize claims a range of buckets and moves them itself</li>
+ *     <li>The size is a striped counter, so writers on different cores don't fight over one field</li>
+ * </ul>
+ * Null keys and null values are not allowed, since a null from get has to mean the key is missing
+ */
+public class ConcurrentHashDict<K, V> implements IDict<K, V>{
+    //private fields
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    //The resize in progress, null when the table isn't growing
+    private final AtomicReference<Resize<K, V>> resizing = new AtomicReference<>();
+    private final LongAdder count = new LongAdder();
+    private volatile int threshold;
+    private final float loadFactor;
+    private static final int DEFAULT_BUCKETS = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_BUCKETS = 1 << 30;
+    //Number of buckets a thread claims at a time while helping a resize
+    private static final int TRANSFER_STRIDE = 16;
+    //Hashes of the marker nodes, real entries always have a non-negative hash
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+
+    /**
+     * Constructor for a ConcurrentHashDict object with a user desired capacity and load factor
+     * @param initialCapacity The total capacity for the number of buckets available, rounded up to a power of two
+     * @param loadFactor The ratio of entries to buckets that triggers the bucket array to grow
+     * @throws IllegalArgumentException if the capacity is negative or the load factor is not a positive number
+     */
+    public ConcurrentHashDict(int initialCapacity, float loadFactor){
+        if(initialCapacity < 0){
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if(!(loadFactor > 0) || Float.isInfinite(loadFactor)){
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        int buckets = initialCapacity >= MAXIMUM_BUCKETS ? MAXIMUM_BUCKETS
+                : Math.max(2, Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1);
+        table = new AtomicReferenceArray<>(buckets);
+        threshold = thresholdFor(buckets);
+    }
+
+    /**
+     * Constructor for a ConcurrentHashDict object with a user desired capacity
+     * @param initialCapacity The total capacity for the number of buckets available, rounded up to a power of two
+     */
+    public ConcurrentHashDict(int initialCapacity){
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor for a ConcurrentHashDict object with a default capacity of 16 buckets
+     */
+    public ConcurrentHashDict(){
+        this(DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Return the size of the number of objects currently held in the dictionary. While other threads are writing this is
+     * only an estimate of the size at some point during the call
+     * @return Int - The number of objects that are currently stored in the dictionary
+     */
+    public int size(){
+        long sum = count.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Check to see if there are any objects held in the dictionary
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    public boolean isEmpty(){
+        return count.sum() <= 0;
+    }
+
+    /**
+     * Get the value currently associated with the input key without removing the value. This never locks
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present return null
+     */
+    public V get(K key){
+        int hash = spread(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true){
+            Node<K, V> current = tab.get(hash & (tab.length() - 1));
+            if(current == null){
+                return null;
+            }
+            if(current.hash == MOVED){
+                tab = ((ForwardingNode<K, V>) current).nextTable;
+                continue;
+            }
+            //A reserved bucket is still being filled by computeIfAbsent, so there is nothing in it yet
+            for(; current != null && current.hash >= 0; current = current.next){
+                if(current.hash == hash && current.key.equals(key)){
+                    return current.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Add a key value pair to the dictionary. If the key already exists replace its current value with the input value
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     */
+    public V put(K key, V value){
+        return putValue(key, value, false);
+    }
+
+    /**
+     * Add a key value pair to the dictionary only if the key isn't already held, as one atomic step
+     * @param key The key to be searched for
+     * @param value The value to be placed with the key if it is missing
+     * @return V - The value already held at the key, null if the key was missing and the input value was added
+     */
+    public V putIfAbsent(K key, V value){
+        return putValue(key, value, true);
+    }
+
+    /**
+     * Get the value held at the input key, computing and adding it first if the key is missing. The whole call is atomic,
+     * so the function runs at most once per missing key no matter how many threads ask for it at the same time. The
+     * function runs while the key's bucket is locked, so it should be quick and must not touch this dictionary
+     * @param key The key to be searched for
+     * @param mappingFunction The function that gives the value for a missing key, may return null to add nothing
+     * @return V - The value held at the key once the call is done, null if the function gave null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction){
+        if(key == null || mappingFunction == null){
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true){
+            int bucket = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(bucket);
+            if(first == null){
+                //Lock a placeholder before putting it in the bucket so nobody else can get at the bucket mid-compute
+                Node<K, V> reservation = new Node<>(RESERVED, null, null, null);
+                boolean reserved = false;
+                V value = null;
+                synchronized(reservation){
+                    if(tab.compareAndSet(bucket, null, reservation)){
+                        reserved = true;
+                        try{
+                            value = mappingFunction.apply(key);
+                        } finally{
+                            tab.set(bucket, value == null ? null : new Node<>(hash, key, value, null));
+                        }
+                    }
+                }
+                //The count is bumped outside the lock, since it may have to help a resize that needs this bucket
+                if(reserved){
+                    if(value != null){
+                        addCount(tab, 0);
+                    }
+                    return value;
+                }
+            } else if(first.hash == MOVED){
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else{
+                //Cheap lockless check first, since the key is usually already there
+                for(Node<K, V> current = first; current != null && current.hash >= 0; current = current.next){
+                    if(current.hash == hash && current.key.equals(key)){
+                        return current.value;
+                    }
+                }
+                int chainLength = -1;
+                V value = null;
+                synchronized(first){
+                    if(tab.get(bucket) == first && first.hash >= 0){
+                        int length = 0;
+                        Node<K, V> last = null;
+                        for(Node<K, V> current = first; current != null; current = current.next){
+                            if(current.hash == hash && current.key.equals(key)){
+                                return current.value;
+                            }
+                            last = current;
+                            length++;
+                        }
+                        value = mappingFunction.apply(key);
+                        if(value == null){
+                            return null;
+                        }
+                        last.next = new Node<>(hash, key, value, null);
+                        chainLength = length;
+                    }
+                }
+                if(chainLength >= 0){
+                    addCount(tab, chainLength);
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the dictionary
+     */
+    public V replace(K key, V value){
+        if(key == null || value == null){
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true){
+            int bucket = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(bucket);
+            if(first == null){
+                return null;
+            } else if(first.hash == MOVED){
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else{
+                synchronized(first){
+                    if(tab.get(bucket) == first){
+                        for(Node<K, V> current = first; current != null && current.hash >= 0; current = current.next){
+                            if(current.hash == hash && current.key.equals(key)){
+                                V returnValue = current.value;
+                                current.value = value;
+                                return returnValue;
+                            }
+                        }
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the object that has the associated key and remove it from the dictionary
+     * @param key The key to be searched for within the dictionary
+     * @return V - The value that was held at the input key, return null if the input key was not in the dictionary
+     */
+    public V remove(K key){
+        return removeNode(key, null);
+    }
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the dictionary but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    public boolean remove(K key, V value){
+        return value != null && removeNode(key, value) != null;
+    }
+
+    /**
+     * Check to see if the input value is currently held by any key. This never locks, so entries written while the scan
+     * is running may or may not be seen
+     * @param value The value to check if held within any key in the dictionary
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    public boolean containsValue(V value){
+        if(value == null){
+            throw new NullPointerException();
+        }
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for(int i = 0; i < tab.length(); i++){
+            if(bucketContainsValue(tab, i, value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input key is currently held anywhere within the dictionary
+     * @param key The key to check if held within the dictionary
+     * @return Boolean - Return true if the key is currently held within the dictionary, otherwise false
+     */
+    public boolean containsKey(K key){
+        return get(key) != null;
+    }
+
+    /**
+     * Clear the entired contents of the dictionary. Entries added by other threads while this runs may survive it
+     */
+    public void clear(){
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int bucket = 0;
+        while(bucket < tab.length()){
+            Node<K, V> first = tab.get(bucket);
+            if(first == null){
+                bucket++;
+            } else if(first.hash == MOVED){
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+                bucket = 0;
+            } else{
+                synchronized(first){
+                    if(tab.get(bucket) == first){
+                        long removed = 0;
+                        for(Node<K, V> current = first; current != null && current.hash >= 0; current = current.next){
+                            removed++;
+                        }
+                        tab.set(bucket, null);
+                        count.add(-removed);
+                        bucket++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A string representation of the dictionary in the form of { key:value }
+     * @return String - A string representation of the contents of the dictionary
+     */
+    public String toString(){
+        StringBuilder dataEntries = new StringBuilder("{ ");
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for(int i = 0; i < tab.length(); i++){
+            appendBucket(dataEntries, tab, i);
+        }
+        return dataEntries.append('}').toString();
+    }
+
+    /**
+     * Shared body of put and putIfAbsent
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @param onlyIfAbsent True if an existing value should be left alone
+     * @return V - The value that was previously held at the associated key, null if there was none
+     */
+    private V putValue(K key, V value, boolean onlyIfAbsent){
+        if(key == null || value == null){
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true){
+            int bucket = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(bucket);
+            if(first == null){
+                //An empty bucket only needs a CAS, no lock
+                if(tab.compareAndSet(bucket, null, new Node<>(hash, key, value, null))){
+                    addCount(tab, 0);
+                    return null;
+                }
+            } else if(first.hash == MOVED){
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else{
+                int chainLength = -1;
+                synchronized(first){
+                    //Someone else may have changed the head while we were waiting for the lock
+                    if(tab.get(bucket) == first && first.hash >= 0){
+                        chainLength = 0;
+                        Node<K, V> last = null;
+                        for(Node<K, V> current = first; current != null; current = current.next){
+                            if(current.hash == hash && current.key.equals(key)){
+                                V tempValue = current.value;
+                                if(!onlyIfAbsent){
+                                    current.value = value;
+                                }
+                                return tempValue;
+                            }
+                            last = current;
+                            chainLength++;
+                        }
+                        last.next = new Node<>(hash, key, value, null);
+                    }
+                }
+                //The count is bumped outside the lock, since it may have to help a resize that needs this bucket
+                if(chainLength >= 0){
+                    addCount(tab, chainLength);
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Shared body of both remove methods
+     * @param key The key to be searched for
+     * @param value The value the entry has to be holding, null to remove whatever is held
+     * @return V - The value that was removed, null if nothing was removed
+     */
+    private V removeNode(Object key, V value){
+        int hash = spread(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true){
+            int bucket = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(bucket);
+            if(first == null){
+                return null;
+            } else if(first.hash == MOVED){
+                tab = helpTransfer((ForwardingNode<K, V>) first);
+            } else{
+                synchronized(first){
+                    if(tab.get(bucket) == first){
+                        Node<K, V> prev = null;
+                        for(Node<K, V> current = first; current != null && current.hash >= 0; current = current.next){
+                            if(current.hash == hash && current.key.equals(key)){
+                                V returnValue = current.value;
+                                if(value != null && !value.equals(returnValue)){
+                                    return null;
+                                }
+                                //Readers already walking past the entry still see a valid next link
+                                if(prev == null){
+                                    tab.set(bucket, current.next);
+                                } else{
+                                    prev.next = current.next;
+                                }
+                                count.decrement();
+                                return returnValue;
+                            }
+                            prev = current;
+                        }
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check one bucket for a value, following the bucket into the next table if it has already been moved
+     * @param tab The table holding the bucket
+     * @param bucket The bucket to be checked
+     * @param value The value to be searched for
+     * @return Boolean - True if the value is held by an entry in the bucket, otherwise false
+     */
+    private boolean bucketContainsValue(AtomicReferenceArray<Node<K, V>> tab, int bucket, V value){
+        Node<K, V> current = tab.get(bucket);
+        if(current != null && current.hash == MOVED){
+            AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) current).nextTable;
+            return bucketContainsValue(next, bucket, value) || bucketContainsValue(next, bucket + tab.length(), value);
+        }
+        for(; current != null && current.hash >= 0; current = current.next){
+            if(value.equals(current.value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add the key:value form of every entry in one bucket, following the bucket into the next table if it has been moved
+     * @param dataEntries The string being built
+     * @param tab The table holding the bucket
+     * @param bucket The bucket whose entries are to be added
+     */
+    private void appendBucket(StringBuilder dataEntries, AtomicReferenceArray<Node<K, V>> tab, int bucket){
+        Node<K, V> current = tab.get(bucket);
+        if(current != null && current.hash == MOVED){
+            AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) current).nextTable;
+            appendBucket(dataEntries, next, bucket);
+            appendBucket(dataEntries, next, bucket + tab.length());
+            return;
+        }
+        for(; current != null && current.hash >= 0; current = current.next){
+            dataEntries.append(current.key).append(':').append(current.value).append(' ');
+        }
+    }
+
+    /**
+     * Bump the size after an insert and start or join a resize if the table is now past its threshold
+     * @param tab The table the entry was added to
+     * @param chainLength The number of entries that were already in the bucket
+     */
+    private void addCount(AtomicReferenceArray<Node<K, V>> tab, int chainLength){
+        count.increment();
+        //Only look at the striped sum when the insert collided or the table is small, so most inserts skip it
+        if((chainLength == 0 && tab.length() > 64) || tab != table || count.sum() < threshold
+                || tab.length() >= MAXIMUM_BUCKETS){
+            return;
+        }
+        Resize<K, V> current = resizing.get();
+        if(current != null){
+            help(current);
+            return;
+        }
+        Resize<K, V> fresh = new Resize<>(tab);
+        if(resizing.compareAndSet(null, fresh)){
+            //The resize we raced with may have finished and cleared itself, in which case this one is stale
+            if(table != tab){
+                resizing.set(null);
+                return;
+            }
+            fresh.ready = true;
+            help(fresh);
+        }
+    }
+
+    /**
+     * Help the resize a forwarding node belongs to, then hand back the table that replaces the old one
+     * @param forwarding The forwarding node that was found in place of a bucket
+     * @return AtomicReferenceArray - The next table, where the operation should be retried
+     */
+    private AtomicReferenceArray<Node<K, V>> helpTransfer(ForwardingNode<K, V> forwarding){
+        Resize<K, V> current = resizing.get();
+        if(current != null && current.next == forwarding.nextTable){
+            help(current);
+        }
+        return forwarding.nextTable;
+    }
+
+    /**
+     * Claim ranges of buckets from a resize and move them until no unclaimed buckets are left. Whichever thread moves the
+     * last bucket swaps in the new table
+     * @param resize The resize to be helped
+     */
+    private void help(Resize<K, V> resize){
+        if(!resize.ready){
+            return;
+        }
+        while(true){
+            int high = resize.transferIndex.get();
+            if(high <= 0){
+                return;
+            }
+            int low = Math.max(0, high - TRANSFER_STRIDE);
+            if(!resize.transferIndex.compareAndSet(high, low)){
+                continue;
+            }
+            for(int bucket = high - 1; bucket >= low; bucket--){
+                transferBucket(resize, bucket);
+            }
+            if(resize.remaining.addAndGet(low - high) == 0){
+                table = resize.next;
+                threshold = thresholdFor(resize.next.length());
+                resizing.set(null);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Move one bucket into the next table and leave a forwarding node in its place. The entries are copied rather than
+     * relinked, so readers still walking the old chain are never sent into the wrong bucket
+     * @param resize The resize the bucket belongs to
+     * @param bucket The bucket to be moved
+     */
+    private void transferBucket(Resize<K, V> resize, int bucket){
+        AtomicReferenceArray<Node<K, V>> old = resize.old;
+        int oldLength = old.length();
+        while(true){
+            Node<K, V> first = old.get(bucket);
+            if(first == null){
+                if(old.compareAndSet(bucket, null, resize.forwarding)){
+                    return;
+                }
+                continue;
+            }
+            synchronized(first){
+                if(old.get(bucket) != first || first.hash < 0){
+                    continue;
+                }
+                Node<K, V> low = null;
+                Node<K, V> high = null;
+                for(Node<K, V> current = first; current != null; current = current.next){
+                    if((current.hash & oldLength) == 0){
+                        low = new Node<>(current.hash, current.key, current.value, low);
+                    } else{
+                        high = new Node<>(current.hash, current.key, current.value, high);
+                    }
+                }
+                resize.next.set(bucket, low);
+                resize.next.set(bucket + oldLength, high);
+                old.set(bucket, resize.forwarding);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the number of entries a table with the input number of buckets can hold before it has to grow
+     * @param buckets The number of buckets in the table
+     * @return Int - The largest size allowed before the table is grown
+     */
+    private int thresholdFor(int buckets){
+        return (int) Math.min(Integer.MAX_VALUE, (long) (buckets * (double) loadFactor));
+    }
+
+    /**
+     * Mix the bits of a key's hash code the same way HashDict does, then clear the sign bit so it can't be mistaken for
+     * one of the marker hashes
+     * @param key The key to be hashed
+     * @return Int - The mixed, non-negative hash of the key
+     */
+    private static int spread(Object key){
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & 0x7FFFFFFF;
+    }
+
+    /**
+     * Private class for one entry in a bucket's chain. The value and link are volatile so readers never need a lock
+     * @param <K> The key to be associated with this object
+     * @param <V> The value to be associated with this object
+     */
+    private static class Node<K, V>{
+        //Private fields
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        /**
+         * Constructor for a Node object
+         * @param hash The mixed hash of the key, or one of the marker hashes
+         * @param key The key to be associated with this object
+         * @param value The value to be associated with this object
+         * @param next The Node object to be linked to this Node
+         */
+        Node(int hash, K key, V value, Node<K, V> next){
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Private class for the marker left in a bucket once it has been moved, pointing at the table it was moved to
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V>{
+        final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        /**
+         * Constructor for a ForwardingNode object
+         * @param nextTable The table the buckets were moved to
+         */
+        ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable){
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * Private class to hold the shared state of one resize, so that any number of threads can work on it at once
+     */
+    private static final class Resize<K, V>{
+        final AtomicReferenceArray<Node<K, V>> old;
+        final AtomicReferenceArray<Node<K, V>> next;
+        final ForwardingNode<K, V> forwarding;
+        //Buckets below this index are still unclaimed, counting down to 0
+        final AtomicInteger transferIndex;
+        //Buckets claimed but not yet moved, plus all the unclaimed ones
+        final AtomicInteger remaining;
+        //Set once the thread that started the resize has checked it is still wanted
+        volatile boolean ready;
+
+        /**
+         * Constructor for a Resize that doubles the input table
+         * @param old The table to be grown
+         */
+        Resize(AtomicReferenceArray<Node<K, V>> old){
+            this.old = old;
+            this.next = new AtomicReferenceArray<>(old.length() << 1);
+            this.forwarding = new ForwardingNode<>(next);
+            this.transferIndex = new AtomicInteger(old.length());
+            this.remaining = new AtomicInteger(old.length());
+        }
+    }
+}
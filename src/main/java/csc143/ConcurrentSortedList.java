@@ -0,0 +1,306 @@
+package csc143;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class that creates a thread-safe sorted list on top of the JDK's lock-free ConcurrentSkipListMap. Any number of threads
+ * may add, remove, removeHead and removeTail at once without taking a lock, which makes the list usable as a shared
+ * priority queue. Equal values may be held more than once: each value is stored next to a sequence number taken when it
+ * was added, so copies of a value are distinct entries that sort in the order they were added. Iterators are weakly
+ * consistent, they never throw ConcurrentModificationException and see each value at most once, but may or may not see
+ * changes made after they were created. As with a TreeMap, the values' compareTo must agree with their equals
+ */
+public class ConcurrentSortedList<E extends Comparable<E>> implements ISortedList<E> {
+    //Private fields
+    private final ConcurrentSkipListMap<Entry<E>, Boolean> entries;
+    private final AtomicLong sequence;
+    //The skip list counts its entries by walking them, so the size is kept to the side
+    private final LongAdder count;
+
+    /**
+     * Constructor for an empty ConcurrentSortedList
+     */
+    public ConcurrentSortedList(){
+        entries = new ConcurrentSkipListMap<Entry<E>, Boolean>();
+        sequence = new AtomicLong();
+        count = new LongAdder();
+    }
+
+    /**
+     * Gets the number of values currently stored in the list. While other threads are changing the list this is only an
+     * estimate
+     * @return int - The current size of the list
+     */
+    public int size(){
+        return (int) Math.max(0, count.sum());
+    }
+
+    /**
+     * Method to test if the list is currently holding onto any elements
+     * @return boolean - True if the list is empty, otherwise false
+     */
+    public boolean isEmpty(){
+        return entries.isEmpty();
+    }
+
+    /**
+     * Gets the smallest value in the list
+     * @return E - The object that is currently being held at the beginning of the list
+     * @throws NullPointerException if the list is empty
+     */
+    public E getHead() throws NullPointerException{
+        Map.Entry<Entry<E>, Boolean> first = entries.firstEntry();
+        if(first == null){
+            throw new NullPointerException();
+        }
+        return first.getKey().value;
+    }
+
+    /**
+     * Gets the largest value in the list
+     * @return E - The object that is currently being held at the end of the list
+     * @throws NullPointerException if the list is empty
+     */
+    public E getTail() throws NullPointerException{
+        Map.Entry<Entry<E>, Boolean> last = entries.lastEntry();
+        if(last == null){
+            throw new NullPointerException();
+        }
+        return last.getKey().value;
+    }
+
+    /**
+     * Method to find the index in the list where the passed in object is located. This counts the values before it one by
+     * one, and while other threads are changing the list the answer may already be out of date
+     * @param value The object that we want to find the index of
+     * @return int - The index of the first copy of the input object, -1 if it's not held in the list
+     */
+    public int indexOf(E value){
+        if(!contains(value)){
+            return -1;
+        }
+        return entries.headMap(Entry.lowest(value)).size();
+    }
+
+    /**
+     * Method to check to see if an object is currently being held within the list
+     * @param value The object that we want to know is contained in our list
+     * @return boolean - True if the list contains the value passed in, otherwise false
+     */
+    public boolean contains(E value){
+        return firstCopy(value) != null;
+    }
+
+    /**
+     * Method that adds an object to the list in ascending order, behind any copies of it already held
+     * @param value The object that we want to add to the list
+     */
+    public void add(E value){
+        entries.put(new Entry<E>(value, sequence.getAndIncrement()), Boolean.TRUE);
+        count.increment();
+    }
+
+    /**
+     * Method to add all the contents of another sorted list to this list
+     * @param other The list that we want to add the contents of to this list
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(ISortedList<E> other){
+        if(other.isEmpty()){
+            return;
+        }
+        if(other == this){
+            //Take a snapshot first, otherwise the walk could keep running into the values it just added
+            Object[] values = new Object[size()];
+            int i = 0;
+            for(E value : this){
+                if(i == values.length){
+                    break;
+                }
+                values[i++] = value;
+            }
+            for(int j = 0; j < i; j++){
+                add((E) values[j]);
+            }
+            return;
+        }
+        for(E value : other){
+            add(value);
+        }
+    }
+
+    /**
+     * Method to remove the first object in the list. When several threads call this at once each gets a different value
+     * @return E - The object that was previously held at the beginning of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeHead() throws NullPointerException{
+        Map.Entry<Entry<E>, Boolean> first = entries.pollFirstEntry();
+        if(first == null){
+            throw new NullPointerException();
+        }
+        count.decrement();
+        return first.getKey().value;
+    }
+
+    /**
+     * Method to remove the last object in the list. When several threads call this at once each gets a different value
+     * @return E - The object that was previously held at the end of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeTail() throws NullPointerException{
+        Map.Entry<Entry<E>, Boolean> last = entries.pollLastEntry();
+        if(last == null){
+            throw new NullPointerException();
+        }
+        count.decrement();
+        return last.getKey().value;
+    }
+
+    /**
+     * Method to remove one copy of a desired object from the list
+     * @param value The object in the list that we want to remove
+     * @return boolean - True if a copy of the value was removed, false if none was held
+     */
+    public boolean remove(E value){
+        while(true){
+            Entry<E> copy = firstCopy(value);
+            if(copy == null){
+                return false;
+            }
+            //Another thread may take this copy first, in which case try the next one
+            if(entries.remove(copy) != null){
+                count.decrement();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Clears the contents of the entire list. Values added by other threads while this runs may or may not be kept
+     */
+    public void clear(){
+        while(entries.pollFirstEntry() != null){
+            count.decrement();
+        }
+    }
+
+    /**
+     * Method to give a string representation of the list
+     * @return String - The string representation of the list in the form [a, b, c]
+     */
+    public String toString(){
+        StringBuilder result = new StringBuilder("[");
+        for(Entry<E> entry : entries.keySet()){
+            if(result.length() > 1){
+                result.append(", ");
+            }
+            result.append(entry.value);
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * Creates a weakly consistent Iterator that walks the list in ascending order
+     * @return Iterator - An Iterator object to iterate over the list
+     */
+    public Iterator<E> iterator(){
+        return new ConcurrentIterator();
+    }
+
+    /**
+     * Find the entry holding the first copy of a value
+     * @param value The object to be searched for
+     * @return Entry - The first copy of the value, null if it's not in the list
+     */
+    private Entry<E> firstCopy(E value){
+        Entry<E> copy = entries.ceilingKey(Entry.lowest(value));
+        return copy != null && copy.value.compareTo(value) == 0 ? copy : null;
+    }
+
+    /**
+     * Private class to hold one copy of a value, ordered by the value and then by when it was added
+     * @param <E> The type of the value held
+     */
+    private static final class Entry<E extends Comparable<E>> implements Comparable<Entry<E>>{
+        //Private fields
+        private final E value;
+        private final long sequence;
+
+        /**
+         * Constructor for an Entry
+         * @param value The object to be held
+         * @param sequence The number the list handed out when the value was added
+         */
+        Entry(E value, long sequence){
+            this.value = value;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Get a search key that sorts in front of every copy of a value
+         * @param value The object to be searched for
+         * @param <E> The type of the value
+         * @return Entry - An entry holding the value with a sequence number no real copy can have
+         */
+        static <E extends Comparable<E>> Entry<E> lowest(E value){
+            return new Entry<E>(value, Long.MIN_VALUE);
+        }
+
+        /**
+         * Compare two entries by their values, and copies of the same value by when they were added
+         * @param other The entry to be compared against
+         * @return int - Negative, zero or positive as this entry sorts before, with or after the other
+         */
+        public int compareTo(Entry<E> other){
+            int result = value.compareTo(other.value);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Private class to walk the list in ascending order over the skip list's own weakly consistent iterator
+     */
+    private class ConcurrentIterator implements Iterator<E>{
+        //Private fields
+        private final Iterator<Entry<E>> walk = entries.keySet().iterator();
+        private Entry<E> lastReturned;
+
+        /**
+         * Method to check to see if there is another object to be iterated over
+         * @return boolean - True if there is another object to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return walk.hasNext();
+        }
+
+        /**
+         * Method to get the next object that is held in the list
+         * @return E - The next object in the list
+         * @throws NoSuchElementException if there are no objects to be iterated over
+         */
+        public E next() throws NoSuchElementException{
+            lastReturned = walk.next();
+            return lastReturned.value;
+        }
+
+        /**
+         * Method to remove the object that was just iterated over, unless another thread has removed it already
+         * @throws IllegalStateException if there is not an object to be removed
+         */
+        public void remove() throws IllegalStateException{
+            if(lastReturned == null){
+                throw new IllegalStateException();
+            }
+            if(entries.remove(lastReturned) != null){
+                count.decrement();
+            }
+            lastReturned = null;
+        }
+    }
+}
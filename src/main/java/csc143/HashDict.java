@@ -0,0 +1,1929 @@
+package csc143;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Class to create a dictionary that can hold object with a key/value pair
+ */
+public class HashDict<K, V> implements IDict<K, V>{
+    //private fields
+    private HashEntry<K, V>[] bucketArray;
+    //Table being drained into bucketArray during an incremental rehash, null otherwise
+    private HashEntry<K, V>[] oldBuckets;
+    private int rehashIndex;
+    private int size;
+    private int threshold;
+    //Bumped whenever entries are added or removed or the table is resized, so iterators can fail fast. Moving a bucket
+    //during a rehash doesn't change what the dictionary holds and isn't counted, so iterators finish any rehash first
+    private int modCount;
+    //Told about every get, containsKey, put, replace, remove and resize when set, null when metrics are off
+    private HashDictListener listener;
+    //Entries compared by the last findEntry, putHashed or removeHashed, handed to the listener as the call's probe depth
+    private int probes;
+    //Every value held mapped to the keys holding it while the value index is on, null otherwise. A value held by a single
+    //key maps to a singleton set, and is only given a HashSet once a second key holds it
+    private HashMap<V, Set<K>> valueIndex;
+    private final float loadFactor;
+    private static final int DEFAULT_BUCKETS = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_BUCKETS = 1 << 30;
+    //Number of old buckets moved over on each mutating call while a rehash is in progress
+    private static final int REHASH_STEP = 4;
+    //A chain this long is turned into a tree, and a tree this small is turned back into a chain
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    //Below this many buckets a long chain is more likely bad luck than bad hashes, so growing is left to fix it
+    private static final int MIN_TREEIFY_BUCKETS = 64;
+    //Batch calls split bucketArray into at most 2^BATCH_RUN_BITS runs of neighbouring buckets
+    private static final int BATCH_RUN_BITS = 10;
+    //From this many entries on, containsValue splits its scan across the fork-join pool
+    private static final int PARALLEL_SCAN_THRESHOLD = 1 << 16;
+    //writeTo hands its output on in pieces of about this many characters
+    private static final int WRITE_BUFFER = 8192;
+    //Opens every snapshot file, "HashDict" in ASCII
+    private static final long SNAPSHOT_MAGIC = 0x4861736844696374L;
+
+    /**
+     * Constructor for a HashDict object with a user desired capacity and load factor
+     * @param intialCapacity The total capacity for the number of buckets available, rounded up to a power of two
+     * @param loadFactor The ratio of entries to buckets that triggers the bucket array to grow
+     * @throws IllegalArgumentException if the capacity is negative or the load factor is not a positive number
+     */
+    public HashDict(int intialCapacity, float loadFactor){
+        if(intialCapacity < 0){
+            throw new IllegalArgumentException("Illegal capacity: " + intialCapacity);
+        }
+        if(!(loadFactor > 0) || Float.isInfinite(loadFactor)){
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        bucketArray = newTable(tableSizeFor(intialCapacity));
+        threshold = thresholdFor(bucketArray.length);
+        size = 0;
+    }
+
+    /**
+     *Constructor for a HashDict object with a user desired capacity
+     * @param intialCapacity The total capacity for the number of buckets available, rounded up to a power of two
+     */
+    public HashDict(int intialCapacity){
+        this(intialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor for a HashDict object with a default capacity of 16 buckets
+     */
+    public HashDict(){
+        this(DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Return the size of the number of objects currently held in the dictionary
+     * @return Int - The number of objects that are currently stored in the dictionary
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Check to see if there are any objects held in the dictionary
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Get the value currently associated with the input key without removing the value
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present return null
+     */
+    public V get(K key){
+        long start = listener == null ? 0 : System.nanoTime();
+        HashEntry<K, V> current = findEntry(key);
+        if(listener != null){
+            report(HashDictListener.Operation.GET, start);
+        }
+        return current == null ? null : current.value;
+    }
+
+    /**
+     * Add a key value pair to the dictionary. If the key already exists replace its current value with the input value
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     */
+    public V put(K key, V value){
+        long start = listener == null ? 0 : System.nanoTime();
+        prepareMutation(key);
+        V previous = putHashed(spread(key), key, value);
+        if(listener != null){
+            report(HashDictListener.Operation.PUT, start);
+        }
+        return previous;
+    }
+
+    /**
+     * Body of put once the key has been hashed and its old bucket, if any, has been moved into bucketArray
+     * @param hash The mixed hash of the key
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     */
+    private V putHashed(int hash, K key, V value){
+        int bucket = hash & (bucketArray.length - 1);
+        if(bucketArray[bucket] instanceof TreeBin){
+            TreeBin<K, V> bin = (TreeBin<K, V>) bucketArray[bucket];
+            probes = treeDepth(bin);
+            if(bin.accepts(key)){
+                HashEntry<K, V> current = bin.find(hash, key);
+                if(current != null){
+                    V tempValue = current.value;
+                    setEntryValue(current, value);
+                    return tempValue;
+                }
+                bin.add(new HashEntry<K, V>(hash, key, value, null));
+                if(valueIndex != null){
+                    indexValue(key, value);
+                }
+                size++;
+                modCount++;
+                growIfNeeded();
+                return null;
+            }
+            //A key the tree can't order has turned up, so the bucket goes back to being a plain chain
+            bucketArray[bucket] = bin.untreeify();
+        }
+        //If the key already exists within the dictionary swap out its value
+        int chainLength = 0;
+        for(HashEntry<K, V> current = bucketArray[bucket]; current != null; current = current.next){
+            if(current.hash == hash && current.key.equals(key)){
+                probes = chainLength + 1;
+                V tempValue = current.value;
+                setEntryValue(current, value);
+                return tempValue;
+            }
+            chainLength++;
+        }
+        probes = chainLength;
+        //Otherwise link a new entry at the front of the bucket
+        bucketArray[bucket] = new HashEntry<K, V>(hash, key, value, bucketArray[bucket]);
+        if(valueIndex != null){
+            indexValue(key, value);
+        }
+        size++;
+        modCount++;
+        if(chainLength + 1 >= TREEIFY_THRESHOLD){
+            treeifyBucket(bucket);
+        }
+        growIfNeeded();
+        return null;
+    }
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the dictionary
+     */
+    public V replace(K key, V value){
+        long start = listener == null ? 0 : System.nanoTime();
+        prepareMutation(key);
+        HashEntry<K, V> current = findEntry(key);
+        V returnValue = null;
+        if(current != null){
+            returnValue = current.value;
+            setEntryValue(current, value);
+        }
+        if(listener != null){
+            report(HashDictListener.Operation.REPLACE, start);
+        }
+        return returnValue;
+    }
+
+    /**
+     * Find the object that has the associated key and remove it from the dictionary
+     * @param key The key to be searched for within the dictionary
+     * @return V - The value that was held at the input key, return null if the input key was not in the dictionary
+     */
+    public V remove(K key){
+        HashEntry<K, V> removed = removeEntry(key, null, false);
+        return removed == null ? null : removed.value;
+    }
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the dictionary but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    public boolean remove(K key, V value){
+        return removeEntry(key, value, true) != null;
+    }
+
+    /**
+     * Add every key value pair of another HashDict to this one, replacing the values of keys both hold. The table is grown
+     * once up front for the combined size, and since both dictionaries hash keys the same way the stored hashes are reused
+     * @param other The dictionary whose contents are to be added
+     */
+    public void putAll(HashDict<? extends K, ? extends V> other){
+        if(other == this){
+            return;
+        }
+        ensureCapacity(size + other.size);
+        putAllFrom(other.bucketArray);
+        if(other.oldBuckets != null){
+            putAllFrom(other.oldBuckets);
+        }
+    }
+
+    /**
+     * Add a batch of key value pairs, where keys[i] is paired with values[i]. The table is grown once up front for the whole
+     * batch and the pairs are then added bucket by bucket, so the writes sweep through bucketArray in order instead of
+     * jumping around it. If a key shows up more than once the last of its values wins, just as with repeated puts
+     * @param keys The keys to be added
+     * @param values The values to be paired with the keys
+     * @throws IllegalArgumentException if the two arrays are not the same length
+     */
+    public void putAll(K[] keys, V[] values){
+        if(keys.length != values.length){
+            throw new IllegalArgumentException("Got " + keys.length + " keys but " + values.length + " values");
+        }
+        ensureCapacity(size + keys.length);
+        int[] hashes = hashAll(keys);
+        for(int i : bucketOrder(hashes)){
+            putHashed(hashes[i], keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Look up a batch of keys, visiting them bucket by bucket so the reads sweep through bucketArray in order
+     * @param keys The keys to be searched for
+     * @param out Filled in so that out[i] holds the value at keys[i], or null if keys[i] isn't in the dictionary
+     * @return Int - The number of keys that were found
+     * @throws IllegalArgumentException if out is shorter than keys
+     */
+    public int getAll(K[] keys, V[] out){
+        if(out.length < keys.length){
+            throw new IllegalArgumentException("Output array holds " + out.length + " values but got " + keys.length + " keys");
+        }
+        int found = 0;
+        int[] hashes = hashAll(keys);
+        for(int i : bucketOrder(hashes)){
+            HashEntry<K, V> current = findEntry(bucketArray, hashes[i], keys[i]);
+            if(current == null && oldBuckets != null){
+                current = findEntry(oldBuckets, hashes[i], keys[i]);
+            }
+            out[i] = current == null ? null : current.value;
+            if(current != null){
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Remove a batch of keys, visiting them bucket by bucket so the writes sweep through bucketArray in order
+     * @param keys The keys to be removed
+     * @return Int - The number of keys that were in the dictionary and have been removed
+     */
+    public int removeAll(K[] keys){
+        finishRehash();
+        int removed = 0;
+        int[] hashes = hashAll(keys);
+        for(int i : bucketOrder(hashes)){
+            if(removeHashed(bucketArray, hashes[i], keys[i], null, false) != null){
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Grow the bucket array, all at once, so that it can hold the input number of entries without growing again. Any
+     * rehash that is in progress is finished first
+     * @param expectedSize The number of entries the dictionary should be able to hold
+     */
+    public void ensureCapacity(int expectedSize){
+        finishRehash();
+        int oldLength = bucketArray.length;
+        while(threshold < expectedSize && bucketArray.length < MAXIMUM_BUCKETS){
+            oldBuckets = bucketArray;
+            bucketArray = newTable(bucketArray.length << 1);
+            threshold = thresholdFor(bucketArray.length);
+            modCount++;
+            finishRehash();
+        }
+        if(listener != null && bucketArray.length != oldLength){
+            listener.resized(oldLength, bucketArray.length);
+        }
+    }
+
+    /**
+     * Find the entry held at the input key and unlink it from its bucket in a single walk of the bucket
+     * @param key The key to be searched for
+     * @param value The value the entry has to be holding, only checked if matchValue is true
+     * @param matchValue True if the entry should only be removed when it holds the input value
+     * @return HashEntry - The entry that was removed, null if nothing was removed
+     */
+    private HashEntry<K, V> removeEntry(Object key, V value, boolean matchValue){
+        long start = listener == null ? 0 : System.nanoTime();
+        prepareMutation(key);
+        HashEntry<K, V> removed = removeHashed(bucketArray, spread(key), key, value, matchValue);
+        if(listener != null){
+            report(HashDictListener.Operation.REMOVE, start);
+        }
+        return removed;
+    }
+
+    /**
+     * Body of removeEntry once the key has been hashed and its old bucket, if any, has been moved into bucketArray
+     * @param table The bucket array holding the key, the one an iterator started with when it is the iterator removing
+     * @param hash The mixed hash of the key
+     * @param key The key to be searched for
+     * @param value The value the entry has to be holding, only checked if matchValue is true
+     * @param matchValue True if the entry should only be removed when it holds the input value
+     * @return HashEntry - The entry that was removed, null if nothing was removed
+     */
+    private HashEntry<K, V> removeHashed(HashEntry<K, V>[] table, int hash, Object key, V value, boolean matchValue){
+        int bucket = hash & (table.length - 1);
+        if(table[bucket] instanceof TreeBin){
+            TreeBin<K, V> bin = (TreeBin<K, V>) table[bucket];
+            probes = treeDepth(bin);
+            HashEntry<K, V> current = bin.find(hash, key);
+            //The key is only held once, so a value mismatch means there is nothing to remove
+            if(current == null || (matchValue && !current.value.equals(value))){
+                return null;
+            }
+            bin.remove(current);
+            if(valueIndex != null){
+                unindexValue(current.key, current.value);
+            }
+            size--;
+            modCount++;
+            if(bin.size() <= UNTREEIFY_THRESHOLD){
+                table[bucket] = bin.untreeify();
+            }
+            return current;
+        }
+        //Walk the bucket keeping track of the entry before the current one so it can be unlinked
+        HashEntry<K, V> prev = null;
+        int count = 0;
+        for(HashEntry<K, V> current = table[bucket]; current != null; current = current.next){
+            count++;
+            if(current.hash == hash && current.key.equals(key)){
+                probes = count;
+                if(matchValue && !current.value.equals(value)){
+                    return null;
+                }
+                if(prev == null){
+                    table[bucket] = current.next;
+                } else{
+                    prev.next = current.next;
+                }
+                if(valueIndex != null){
+                    unindexValue(current.key, current.value);
+                }
+                size--;
+                modCount++;
+                return current;
+            }
+            prev = current;
+        }
+        probes = count;
+        return null;
+    }
+
+    /**
+     * Check to see if the input value is currently held by any key. With the value index on this is a single lookup,
+     * otherwise every entry is scanned
+     * @param value The value to check if held within any key in the dictionary
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    public boolean containsValue(V value){
+        if(valueIndex != null){
+            return valueIndex.containsKey(value);
+        }
+        if(size >= PARALLEL_SCAN_THRESHOLD){
+            return search(PARALLEL_SCAN_THRESHOLD, (k, v) -> v.equals(value) ? Boolean.TRUE : null) != null;
+        }
+        return containsValue(bucketArray, value) || (oldBuckets != null && containsValue(oldBuckets, value));
+    }
+
+    /**
+     * Scan every bucket of a table for the input value
+     * @param table The bucket array to be scanned
+     * @param value The value to check if held within any key in the table
+     * @return Boolean - Return true if the value is held in any key of the table, otherwise false
+     */
+    private boolean containsValue(HashEntry<K, V>[] table, V value){
+        for(int i = 0; i < table.length; i++){
+            if(table[i] instanceof TreeBin){
+                for(HashEntry<K, V> current : ((TreeBin<K, V>) table[i]).entries()){
+                    if(current.value.equals(value)){
+                        return true;
+                    }
+                }
+                continue;
+            }
+            HashEntry<K, V> current = table[i];
+            while(current != null){
+                if(current.value.equals(value)){
+                    return true;
+                }
+                current = current.next;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input key is currently held anywhere within the dictionary
+     * @param key The key to check if held within the dictionary
+     * @return Boolean - Return true if the key is currently held within the dictionary, otherwise false
+     */
+    public boolean containsKey(K key){
+        long start = listener == null ? 0 : System.nanoTime();
+        HashEntry<K, V> current = findEntry(key);
+        if(listener != null){
+            report(HashDictListener.Operation.GET, start);
+        }
+        return current != null;
+    }
+
+    /**
+     * Clear the entired contents of the dictionary and reset the size to 0
+     */
+    public void clear(){
+        for(int i = 0; i < bucketArray.length; i++){
+            bucketArray[i] = null;
+        }
+        oldBuckets = null;
+        rehashIndex = 0;
+        size = 0;
+        modCount++;
+        if(valueIndex != null){
+            valueIndex.clear();
+        }
+    }
+
+    /**
+     * Turn the value index on or off. While it is on, every value held is mapped to the keys holding it, which makes
+     * containsValue and keysForValue a single lookup in place of a scan of the whole dictionary, at the cost of an extra
+     * map entry per distinct value and a little more work on every put, replace and remove. Turning it on builds the
+     * index from the entries already held
+     * @param indexed True to keep the value index, false to drop it
+     */
+    public void setValueIndexed(boolean indexed){
+        if(!indexed){
+            valueIndex = null;
+            return;
+        }
+        if(valueIndex == null){
+            valueIndex = new HashMap<V, Set<K>>();
+            forEach(Long.MAX_VALUE, (key, value) -> indexValue(key, value));
+        }
+    }
+
+    /**
+     * Check to see if the value index is on
+     * @return Boolean - True if the dictionary is keeping a value index, otherwise false
+     */
+    public boolean isValueIndexed(){
+        return valueIndex != null;
+    }
+
+    /**
+     * Find every key currently holding the input value. With the value index on this is a single lookup, otherwise every
+     * entry is scanned
+     * @param value The value to be searched for, may be null
+     * @return Set - A copy of the keys holding the value, empty if no key holds it
+     */
+    public Set<K> keysForValue(V value){
+        if(valueIndex != null){
+            Set<K> keys = valueIndex.get(value);
+            if(keys == null){
+                return Collections.emptySet();
+            }
+            return keys instanceof HashSet ? Collections.unmodifiableSet(new HashSet<K>(keys)) : keys;
+        }
+        Set<K> keys = new HashSet<K>();
+        forEach(Long.MAX_VALUE, (k, v) -> {
+            if(Objects.equals(v, value)){
+                keys.add(k);
+            }
+        });
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Get a view of the keys held in the dictionary. The view is backed by the dictionary, so changes to one show up in
+     * the other, and removing from the view or its iterator removes the key from the dictionary
+     * @return Set - The keys currently held in the dictionary
+     */
+    public Set<K> keySet(){
+        return new AbstractSet<K>(){
+            public int size(){
+                return size;
+            }
+
+            public boolean contains(Object key){
+                return findEntry(key) != null;
+            }
+
+            public boolean remove(Object key){
+                return removeEntry(key, null, false) != null;
+            }
+
+            public void clear(){
+                HashDict.this.clear();
+            }
+
+            public Iterator<K> iterator(){
+                return new EntryIterator<K>(entry -> entry.key);
+            }
+
+            public Spliterator<K> spliterator(){
+                return new BucketSpliterator<K>(entry -> entry.key, Spliterator.DISTINCT);
+            }
+        };
+    }
+
+    /**
+     * Get a view of the values held in the dictionary. The view is backed by the dictionary, so changes to one show up in
+     * the other, and removing through the view's iterator removes that entry from the dictionary
+     * @return Collection - The values currently held in the dictionary, one for each key
+     */
+    public Collection<V> values(){
+        return new AbstractCollection<V>(){
+            public int size(){
+                return size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object value){
+                return containsValue((V) value);
+            }
+
+            public void clear(){
+                HashDict.this.clear();
+            }
+
+            public Iterator<V> iterator(){
+                return new EntryIterator<V>(entry -> entry.value);
+            }
+
+            public Spliterator<V> spliterator(){
+                return new BucketSpliterator<V>(entry -> entry.value, 0);
+            }
+        };
+    }
+
+    /**
+     * Get a view of the key/value pairs held in the dictionary. The view is backed by the dictionary, so changes to one
+     * show up in the other, and setValue on an entry writes straight through to the dictionary
+     * @return Set - The key/value pairs currently held in the dictionary
+     */
+    public Set<Map.Entry<K, V>> entrySet(){
+        return new AbstractSet<Map.Entry<K, V>>(){
+            public int size(){
+                return size;
+            }
+
+            public boolean contains(Object o){
+                if(!(o instanceof Map.Entry)){
+                    return false;
+                }
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                HashEntry<K, V> current = entry.getKey() == null ? null : findEntry(entry.getKey());
+                return current != null && current.value.equals(entry.getValue());
+            }
+
+            @SuppressWarnings("unchecked")
+            public boolean remove(Object o){
+                if(!(o instanceof Map.Entry)){
+                    return false;
+                }
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                return entry.getKey() != null && removeEntry(entry.getKey(), (V) entry.getValue(), true) != null;
+            }
+
+            public void clear(){
+                HashDict.this.clear();
+            }
+
+            public Iterator<Map.Entry<K, V>> iterator(){
+                return new EntryIterator<Map.Entry<K, V>>(HashDict.this::viewEntry);
+            }
+
+            public Spliterator<Map.Entry<K, V>> spliterator(){
+                return new BucketSpliterator<Map.Entry<K, V>>(HashDict.this::viewEntry, Spliterator.DISTINCT);
+            }
+        };
+    }
+
+    /**
+     * Get the Map.Entry handed out by the entry set for an entry, which is the entry itself unless the value index is on,
+     * in which case it is wrapped so that setValue keeps the index up to date
+     * @param entry The entry held in the dictionary
+     * @return Map.Entry - The entry to be handed out
+     */
+    private Map.Entry<K, V> viewEntry(HashEntry<K, V> entry){
+        return valueIndex == null ? entry : new IndexedEntry(entry);
+    }
+
+    /**
+     * Run an action on every key/value pair in the dictionary. Once the dictionary holds at least parallelismThreshold
+     * entries the bucket array is split into ranges that are worked through on the common fork-join pool, so the action
+     * has to be safe to call from several threads at once. The dictionary must not be changed until this returns
+     * @param parallelismThreshold The size from which the work is split up, 1 for the most parallelism and Long.MAX_VALUE
+     *                             to always run on the calling thread
+     * @param action The action to be run on each key/value pair
+     */
+    public void forEach(long parallelismThreshold, BiConsumer<? super K, ? super V> action){
+        entryStream(parallelismThreshold).forEach(entry -> action.accept(entry.key, entry.value));
+    }
+
+    /**
+     * Look for any key/value pair for which the search function gives back a non-null result, splitting the scan across
+     * the common fork-join pool in the same way as forEach. The scan stops as soon as a result is found
+     * @param parallelismThreshold The size from which the work is split up, as in forEach
+     * @param searchFunction Gives back a result for a matching key/value pair and null for any other
+     * @param <U> The type of the result
+     * @return U - A non-null result of the search function, or null if no key/value pair gave one. If several pairs
+     *             match, which result is returned is not defined
+     */
+    public <U> U search(long parallelismThreshold, BiFunction<? super K, ? super V, ? extends U> searchFunction){
+        return entryStream(parallelismThreshold).<U>map(entry -> searchFunction.apply(entry.key, entry.value))
+                .filter(result -> result != null).findAny().orElse(null);
+    }
+
+    /**
+     * Combine every key/value pair in the dictionary into a single result, splitting the scan across the common fork-join
+     * pool in the same way as forEach. Pairs the transformer gives null for are left out
+     * @param parallelismThreshold The size from which the work is split up, as in forEach
+     * @param transformer Turns a key/value pair into the value to be combined, or null to skip the pair
+     * @param reducer Combines two results, it has to be associative since the order results are combined in is not fixed
+     * @param <U> The type of the result
+     * @return U - The combined result of every transformed pair, or null if there were none
+     */
+    public <U> U reduce(long parallelismThreshold, BiFunction<? super K, ? super V, ? extends U> transformer,
+                        BiFunction<? super U, ? super U, ? extends U> reducer){
+        return entryStream(parallelismThreshold).<U>map(entry -> transformer.apply(entry.key, entry.value))
+                .filter(result -> result != null).reduce((a, b) -> reducer.apply(a, b)).orElse(null);
+    }
+
+    /**
+     * Get a stream over every entry in the dictionary, split by bucket ranges when run in parallel
+     * @param parallelismThreshold The size from which the stream is made parallel
+     * @return Stream - A stream of the entries, parallel if the dictionary holds at least parallelismThreshold entries
+     */
+    private Stream<HashEntry<K, V>> entryStream(long parallelismThreshold){
+        return StreamSupport.stream(new BucketSpliterator<HashEntry<K, V>>(entry -> entry, Spliterator.DISTINCT),
+                size >= parallelismThreshold);
+    }
+
+    /**
+     * Set the listener told about every get, containsKey, put, replace, remove and resize from now on, such as a
+     * HashDictMetrics. With no listener set, which is the default, each of those calls only pays for checking that the
+     * listener is null and noting down its probe count
+     * @param listener The listener to be told, null to stop reporting
+     */
+    public void setListener(HashDictListener listener){
+        this.listener = listener;
+    }
+
+    /**
+     * Get the number of buckets the dictionary is using now, which is the new table's size while a rehash is in progress
+     * @return Int - The current number of buckets
+     */
+    public int bucketCount(){
+        return bucketArray.length;
+    }
+
+    /**
+     * Count how many buckets hold each number of entries, over both tables while a rehash is in progress. Nothing is
+     * changed along the way, so this may be called from another thread to get an estimate while the dictionary is in use
+     * @param longest The chain length from which buckets are counted together
+     * @return long[] - The number of buckets holding i entries at index i, with buckets of longest or more entries all
+     *                  counted at index longest
+     */
+    long[] chainLengths(int longest){
+        long[] counts = new long[longest + 1];
+        HashEntry<K, V>[] table = bucketArray;
+        HashEntry<K, V>[] old = oldBuckets;
+        int buckets = table.length + (old == null ? 0 : old.length);
+        for(int i = 0; i < buckets; i++){
+            HashEntry<K, V> current = bucketAt(table, old, i);
+            int length = 0;
+            if(current instanceof TreeBin){
+                length = ((TreeBin<K, V>) current).size();
+            } else{
+                for(; current != null && length < longest; current = current.next){
+                    length++;
+                }
+            }
+            counts[Math.min(length, longest)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Tell the listener about a call that has just finished, along with the number of entries its search compared
+     * @param operation The call that finished
+     * @param start The System.nanoTime at which the call started
+     */
+    private void report(HashDictListener.Operation operation, long start){
+        long nanos = System.nanoTime() - start;
+        listener.operation(operation, nanos, probes);
+    }
+
+    /**
+     * Get the number of entries a search of a tree bin is counted as comparing
+     * @param bin The tree bin being searched
+     * @return Int - The depth of a balanced tree holding as many entries as the bin
+     */
+    private static int treeDepth(TreeBin<?, ?> bin){
+        return 32 - Integer.numberOfLeadingZeros(bin.size());
+    }
+
+    /**
+     * A string representation of the dictionary in the form of { key:value }
+     * @return String - A string representation of the contents of the dictionary
+     */
+    public String toString(){
+        StringBuilder result = new StringBuilder();
+        try{
+            render(result, result, Integer.MAX_VALUE);
+        } catch(IOException e){
+            //Appending to a StringBuilder never fails
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Write the string representation of the dictionary to a stream, file or buffer, a piece at a time rather than
+     * building the whole string first
+     * @param out Where the dictionary is written, in the same { key:value } form as toString
+     * @throws IOException if out fails to take the output
+     */
+    public void writeTo(Appendable out) throws IOException{
+        writeTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Write the string representation of the dictionary to a stream, file or buffer, a piece at a time and stopping after
+     * a number of entries. Whatever the size of the dictionary, at most a few thousand characters are buffered before
+     * being handed to out
+     * @param out Where the dictionary is written, in the same { key:value } form as toString
+     * @param limit The most entries to write, any further entries are written as a single ...
+     * @throws IOException if out fails to take the output
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public void writeTo(Appendable out, int limit) throws IOException, IllegalArgumentException{
+        if(limit < 0){
+            throw new IllegalArgumentException("Illegal limit: " + limit);
+        }
+        render(out, new StringBuilder(WRITE_BUFFER + 256), limit);
+    }
+
+    /**
+     * Render the dictionary through a buffer, passing the buffer on to the output whenever it fills up
+     * @param out Where the dictionary is written, or the buffer itself to keep the whole rendering in it
+     * @param buffer The buffer each entry is rendered into
+     * @param limit The most entries to write
+     * @throws IOException if out fails to take the output
+     */
+    private void render(Appendable out, StringBuilder buffer, int limit) throws IOException{
+        buffer.append("{ ");
+        int remaining = renderEntries(out, buffer, bucketArray, limit);
+        if(oldBuckets != null && remaining >= 0){
+            remaining = renderEntries(out, buffer, oldBuckets, remaining);
+        }
+        if(remaining < 0){
+            buffer.append("... ");
+        }
+        buffer.append('}');
+        if(out != buffer){
+            out.append(buffer);
+        }
+    }
+
+    /**
+     * Render the key:value form of every entry in a table, up to a number of entries
+     * @param out Where full buffers are written, or the buffer itself to keep the whole rendering in it
+     * @param buffer The buffer each entry is rendered into
+     * @param table The bucket array whose entries are to be rendered
+     * @param remaining The most entries still to be rendered
+     * @return Int - The number of entries that may still be rendered afterwards, -1 if an entry was left out
+     * @throws IOException if out fails to take the output
+     */
+    private int renderEntries(Appendable out, StringBuilder buffer, HashEntry<K, V>[] table, int remaining)
+            throws IOException{
+        for(int i = 0; i < table.length; i++){
+            if(table[i] instanceof TreeBin){
+                for(HashEntry<K, V> current : ((TreeBin<K, V>) table[i]).entries()){
+                    if(remaining-- == 0){
+                        return -1;
+                    }
+                    renderEntry(out, buffer, current);
+                }
+                continue;
+            }
+            for(HashEntry<K, V> current = table[i]; current != null; current = current.next){
+                if(remaining-- == 0){
+                    return -1;
+                }
+                renderEntry(out, buffer, current);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Render the key:value form of one entry, then pass the buffer on to the output if it has filled up
+     * @param out Where a full buffer is written, or the buffer itself to keep the whole rendering in it
+     * @param buffer The buffer the entry is rendered into
+     * @param entry The entry to be rendered
+     * @throws IOException if out fails to take the output
+     */
+    private void renderEntry(Appendable out, StringBuilder buffer, HashEntry<K, V> entry) throws IOException{
+        buffer.append(entry.key).append(':').append(entry.value).append(' ');
+        if(out != buffer && buffer.length() >= WRITE_BUFFER){
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Write the dictionary to a binary snapshot file that restore can load back. Each non-empty bucket is written as one
+     * run of entries along with its index, and every entry carries its stored hash, so restore can link the buckets back
+     * up without calling hashCode. The keys' hashCode must therefore give the same answer in the process restoring the
+     * snapshot, as it does for String, Integer and Long. Any rehash in progress is finished first
+     * @param file The file to write, replaced once the whole snapshot is on disk
+     * @param keyCodec The codec used to write the keys
+     * @param valueCodec The codec used to write the values
+     * @throws IOException if the snapshot can't be written
+     */
+    public void snapshot(Path file, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException{
+        finishRehash();
+        try(Snapshot.Writer out = new Snapshot.Writer(file, SNAPSHOT_MAGIC)){
+            out.reserve(12).putFloat(loadFactor).putInt(bucketArray.length).putInt(size);
+            for(int i = 0; i < bucketArray.length; i++){
+                if(bucketArray[i] instanceof TreeBin){
+                    TreeBin<K, V> bin = (TreeBin<K, V>) bucketArray[i];
+                    out.reserve(8).putInt(i).putInt(bin.size());
+                    for(HashEntry<K, V> current : bin.entries()){
+                        writeEntry(out, current, keyCodec, valueCodec);
+                    }
+                    continue;
+                }
+                int count = 0;
+                for(HashEntry<K, V> current = bucketArray[i]; current != null; current = current.next){
+                    count++;
+                }
+                if(count == 0){
+                    continue;
+                }
+                out.reserve(8).putInt(i).putInt(count);
+                for(HashEntry<K, V> current = bucketArray[i]; current != null; current = current.next){
+                    writeEntry(out, current, keyCodec, valueCodec);
+                }
+            }
+            out.commit();
+        }
+    }
+
+    /**
+     * Load a dictionary back from a snapshot file, streaming the file through a buffer
+     * @param file The file written by snapshot
+     * @param keyCodec The codec used to read the keys
+     * @param valueCodec The codec used to read the values
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return HashDict - A dictionary holding the entries of the snapshot, with the same number of buckets
+     * @throws IOException if the file can't be read or doesn't hold a HashDict snapshot
+     */
+    public static <K, V> HashDict<K, V> restore(Path file, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException{
+        return restore(file, keyCodec, valueCodec, false);
+    }
+
+    /**
+     * Load a dictionary back from a snapshot file. Each bucket's run of entries is linked straight into the bucket array in
+     * the order it was written, using the stored hashes, so no key is hashed or compared along the way
+     * @param file The file written by snapshot
+     * @param keyCodec The codec used to read the keys
+     * @param valueCodec The codec used to read the values
+     * @param mapped True to read the file through a memory mapping, which skips copying it into a buffer first and is
+     *               fastest when the file is already in the page cache
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return HashDict - A dictionary holding the entries of the snapshot, with the same number of buckets
+     * @throws IOException if the file can't be read or doesn't hold a HashDict snapshot
+     */
+    public static <K, V> HashDict<K, V> restore(Path file, Codec<K> keyCodec, Codec<V> valueCodec, boolean mapped)
+            throws IOException{
+        try(Snapshot.Reader in = new Snapshot.Reader(file, SNAPSHOT_MAGIC, mapped)){
+            ByteBuffer header = in.require(12);
+            float loadFactor = header.getFloat();
+            int buckets = header.getInt();
+            int size = header.getInt();
+            if(!(loadFactor > 0) || Float.isInfinite(loadFactor) || buckets < 1 || buckets > MAXIMUM_BUCKETS
+                    || Integer.bitCount(buckets) != 1 || size < 0){
+                throw new IOException("Corrupt snapshot header: " + file);
+            }
+            HashDict<K, V> dict = new HashDict<K, V>(buckets, loadFactor);
+            HashEntry<K, V>[] table = dict.bucketArray;
+            while(dict.size < size){
+                ByteBuffer run = in.require(8);
+                int bucket = run.getInt();
+                int count = run.getInt();
+                if(bucket < 0 || bucket >= buckets || table[bucket] != null || count < 1 || count > size - dict.size){
+                    throw new IOException("Corrupt snapshot bucket " + bucket + ": " + file);
+                }
+                HashEntry<K, V> last = null;
+                for(int i = 0; i < count; i++){
+                    int hash = in.require(4).getInt();
+                    K key = in.getValue(keyCodec);
+                    V value = in.getValue(valueCodec);
+                    if(key == null || (hash & (buckets - 1)) != bucket){
+                        throw new IOException("Corrupt snapshot entry in bucket " + bucket + ": " + file);
+                    }
+                    HashEntry<K, V> entry = new HashEntry<K, V>(hash, key, value, null);
+                    if(last == null){
+                        table[bucket] = entry;
+                    } else{
+                        last.next = entry;
+                    }
+                    last = entry;
+                }
+                dict.size += count;
+                if(count >= TREEIFY_THRESHOLD){
+                    dict.treeifyBucket(bucket);
+                }
+            }
+            return dict;
+        }
+    }
+
+    /**
+     * Write one entry of a snapshot as its hash, key and value
+     * @param out The snapshot being written
+     * @param entry The entry to be written
+     * @param keyCodec The codec used to write the key
+     * @param valueCodec The codec used to write the value
+     * @throws IOException if the snapshot can't be written
+     */
+    private static <K, V> void writeEntry(Snapshot.Writer out, HashEntry<K, V> entry, Codec<K> keyCodec,
+                                          Codec<V> valueCodec) throws IOException{
+        out.reserve(4).putInt(entry.hash);
+        out.putValue(keyCodec, entry.key);
+        out.putValue(valueCodec, entry.value);
+    }
+
+    /**
+     * Give an entry held in the dictionary a new value, moving its key over in the value index if the index is on
+     * @param entry The entry to be changed
+     * @param value The new value
+     */
+    private void setEntryValue(HashEntry<K, V> entry, V value){
+        if(valueIndex != null && !Objects.equals(entry.value, value)){
+            unindexValue(entry.key, entry.value);
+            indexValue(entry.key, value);
+        }
+        entry.value = value;
+    }
+
+    /**
+     * Add a key to the keys the value index holds for a value
+     * @param key The key now holding the value
+     * @param value The value held
+     */
+    private void indexValue(K key, V value){
+        Set<K> keys = valueIndex.get(value);
+        if(keys == null){
+            valueIndex.put(value, Collections.singleton(key));
+            return;
+        }
+        if(!(keys instanceof HashSet)){
+            keys = new HashSet<K>(keys);
+            valueIndex.put(value, keys);
+        }
+        keys.add(key);
+    }
+
+    /**
+     * Take a key out of the keys the value index holds for a value, dropping the value once no key holds it
+     * @param key The key that no longer holds the value
+     * @param value The value it held
+     */
+    private void unindexValue(K key, V value){
+        Set<K> keys = valueIndex.get(value);
+        if(keys instanceof HashSet && keys.size() > 1){
+            keys.remove(key);
+            if(keys.size() == 1){
+                valueIndex.put(value, Collections.singleton(keys.iterator().next()));
+            }
+            return;
+        }
+        valueIndex.remove(value);
+    }
+
+    /**
+     * Method that gives the proper placement of which bucket to place a specified key using Java's hashCode() method
+     * @param key The key to be evaluated and given a proper bucket
+     * @return Int - The proper bucket to place the input key
+     */
+    public int hashFunction(Object key){
+        return spread(key) & (bucketArray.length - 1);
+    }
+
+    /**
+     * Mix the bits of a key's hash code so that every bit has a say in the low bits used to pick a bucket. Without this,
+     * keys whose hash codes only differ in their high bits would all land in the same bucket once masked to the table size
+     * @param key The key to be hashed
+     * @return Int - The mixed hash of the key
+     */
+    private static int spread(Object key){
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Find the entry held at the input key, looking in the table being drained if a rehash is in progress
+     * @param key The key to be searched for
+     * @return HashEntry - The entry holding the input key, null if the key is not in the dictionary
+     */
+    private HashEntry<K, V> findEntry(Object key){
+        probes = 0;
+        int hash = spread(key);
+        HashEntry<K, V> current = findEntry(bucketArray, hash, key);
+        if(current == null && oldBuckets != null){
+            current = findEntry(oldBuckets, hash, key);
+        }
+        return current;
+    }
+
+    /**
+     * Find the entry held at the input key within one table
+     * @param table The bucket array to be searched
+     * @param hash The mixed hash of the key
+     * @param key The key to be searched for
+     * @return HashEntry - The entry holding the input key, null if the key is not in the table
+     */
+    private HashEntry<K, V> findEntry(HashEntry<K, V>[] table, int hash, Object key){
+        HashEntry<K, V> current = table[hash & (table.length - 1)];
+        if(current instanceof TreeBin){
+            TreeBin<K, V> bin = (TreeBin<K, V>) current;
+            probes += treeDepth(bin);
+            return bin.find(hash, key);
+        }
+        int count = 0;
+        while(current != null){
+            count++;
+            if(current.hash == hash && current.key.equals(key)){
+                probes += count;
+                return current;
+            }
+            current = current.next;
+        }
+        probes += count;
+        return null;
+    }
+
+    /**
+     * Add every entry of another dictionary's table to this one, reusing the stored hashes
+     * @param table The bucket array to be copied from
+     */
+    private void putAllFrom(HashEntry<? extends K, ? extends V>[] table){
+        for(int i = 0; i < table.length; i++){
+            if(table[i] instanceof TreeBin){
+                for(HashEntry<? extends K, ? extends V> current : ((TreeBin<? extends K, ? extends V>) table[i]).entries()){
+                    putHashed(current.hash, current.key, current.value);
+                }
+                continue;
+            }
+            for(HashEntry<? extends K, ? extends V> current = table[i]; current != null; current = current.next){
+                putHashed(current.hash, current.key, current.value);
+            }
+        }
+    }
+
+    /**
+     * Hash every key of a batch
+     * @param keys The keys to be hashed
+     * @return int[] - The mixed hash of each key, in the same order as the keys
+     */
+    private static int[] hashAll(Object[] keys){
+        int[] hashes = new int[keys.length];
+        for(int i = 0; i < keys.length; i++){
+            hashes[i] = spread(keys[i]);
+        }
+        return hashes;
+    }
+
+    /**
+     * Work out the order to visit a batch of keys in so that bucketArray is swept from front to back. The keys are split
+     * into runs of neighbouring buckets, each small enough that its slice of bucketArray stays in cache, with one counting
+     * sort pass. Keys in the same run keep their order in the batch, so repeated keys are still handled in batch order
+     * @param hashes The mixed hash of each key in the batch
+     * @return int[] - The positions of the keys in the batch, grouped by bucket run
+     */
+    private int[] bucketOrder(int[] hashes){
+        int shift = Math.max(0, Integer.numberOfTrailingZeros(bucketArray.length) - BATCH_RUN_BITS);
+        int mask = bucketArray.length - 1;
+        int[] starts = new int[(bucketArray.length >>> shift) + 1];
+        for(int hash : hashes){
+            starts[((hash & mask) >>> shift) + 1]++;
+        }
+        for(int run = 1; run < starts.length; run++){
+            starts[run] += starts[run - 1];
+        }
+        int[] order = new int[hashes.length];
+        for(int i = 0; i < hashes.length; i++){
+            order[starts[(hashes[i] & mask) >>> shift]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Move every remaining old bucket into bucketArray, ending any rehash that is in progress
+     */
+    private void finishRehash(){
+        if(oldBuckets == null){
+            return;
+        }
+        while(rehashIndex < oldBuckets.length){
+            moveBucket(rehashIndex++);
+        }
+        oldBuckets = null;
+        rehashIndex = 0;
+    }
+
+    /**
+     * Get the table ready for a mutating call on the input key. While a rehash is in progress this moves a bounded
+     * number of old buckets over, plus the old bucket of the key itself, so the key only ever has to be looked for in bucketArray
+     * @param key The key that is about to be changed
+     */
+    private void prepareMutation(Object key){
+        if(oldBuckets == null){
+            return;
+        }
+        HashEntry<K, V>[] old = oldBuckets;
+        moveBucket(spread(key) & (old.length - 1));
+        for(int i = 0; i < REHASH_STEP && rehashIndex < old.length; i++){
+            moveBucket(rehashIndex++);
+        }
+        if(rehashIndex == old.length){
+            oldBuckets = null;
+            rehashIndex = 0;
+        }
+    }
+
+    /**
+     * Move every entry of one old bucket into bucketArray. Since the table doubles, the entries of old bucket i can only
+     * land in bucket i or bucket i + oldBuckets.length, and both of those are still empty because a key's old bucket is
+     * always moved before the key is touched in the new table
+     * @param index The old bucket to be emptied
+     */
+    private void moveBucket(int index){
+        HashEntry<K, V> head = oldBuckets[index];
+        if(head == null){
+            return;
+        }
+        oldBuckets[index] = null;
+        int oldLength = oldBuckets.length;
+        HashEntry<K, V> low = null;
+        HashEntry<K, V> high = null;
+        int lowCount = 0;
+        int highCount = 0;
+        HashEntry<K, V> current = head instanceof TreeBin ? ((TreeBin<K, V>) head).untreeify() : head;
+        while(current != null){
+            HashEntry<K, V> next = current.next;
+            if((current.hash & oldLength) == 0){
+                current.next = low;
+                low = current;
+                lowCount++;
+            } else{
+                current.next = high;
+                high = current;
+                highCount++;
+            }
+            current = next;
+        }
+        bucketArray[index] = low;
+        bucketArray[index + oldLength] = high;
+        if(lowCount >= TREEIFY_THRESHOLD){
+            treeifyBucket(index);
+        }
+        if(highCount >= TREEIFY_THRESHOLD){
+            treeifyBucket(index + oldLength);
+        }
+    }
+
+    /**
+     * Start growing the bucket array once the number of entries passes the load factor threshold. Only a new, empty
+     * table is allocated here, the entries are moved over a few buckets at a time by later mutating calls
+     */
+    private void growIfNeeded(){
+        if(size <= threshold || bucketArray.length == MAXIMUM_BUCKETS){
+            return;
+        }
+        //A rehash that hasn't caught up yet is finished before starting the next one
+        finishRehash();
+        int newLength = bucketArray.length << 1;
+        oldBuckets = bucketArray;
+        rehashIndex = 0;
+        bucketArray = newTable(newLength);
+        threshold = thresholdFor(newLength);
+        modCount++;
+        if(listener != null){
+            listener.resized(oldBuckets.length, newLength);
+        }
+    }
+
+    /**
+     * Turn a long chain in bucketArray into a tree, as long as every key in it is of the same class C and C implements
+     * Comparable<C>, so compareTo can always be called on two of its keys
+     * @param bucket The bucket holding the chain
+     */
+    private void treeifyBucket(int bucket){
+        HashEntry<K, V> head = bucketArray[bucket];
+        if(bucketArray.length < MIN_TREEIFY_BUCKETS || head == null || head instanceof TreeBin){
+            return;
+        }
+        Class<?> keyClass = comparableClassFor(head.key);
+        if(keyClass == null){
+            return;
+        }
+        for(HashEntry<K, V> current = head; current != null; current = current.next){
+            if(current.key.getClass() != keyClass){
+                return;
+            }
+        }
+        TreeBin<K, V> bin = new TreeBin<K, V>(keyClass);
+        HashEntry<K, V> current = head;
+        while(current != null){
+            HashEntry<K, V> next = current.next;
+            bin.add(current);
+            current = next;
+        }
+        bucketArray[bucket] = bin;
+    }
+
+    /**
+     * Get the class of a key if it can be ordered against other keys of its class, which is when the class itself is
+     * declared to implement Comparable of that same class. A class implementing Comparable of some other type, or only
+     * inheriting its Comparable, could throw a ClassCastException from compareTo and is left out
+     * @param key The key to be checked
+     * @return Class - The class of the key, null if its keys can't be put in a tree
+     */
+    private static Class<?> comparableClassFor(Object key){
+        if(!(key instanceof Comparable)){
+            return null;
+        }
+        Class<?> keyClass = key.getClass();
+        if(keyClass == String.class){
+            return keyClass;
+        }
+        for(Type type : keyClass.getGenericInterfaces()){
+            if(type instanceof ParameterizedType){
+                ParameterizedType parameterized = (ParameterizedType) type;
+                Type[] arguments = parameterized.getActualTypeArguments();
+                if(parameterized.getRawType() == Comparable.class && arguments.length == 1 && arguments[0] == keyClass){
+                    return keyClass;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of entries a table with the input number of buckets can hold before it has to grow
+     * @param buckets The number of buckets in the table
+     * @return Int - The largest size allowed before the table is grown
+     */
+    private int thresholdFor(int buckets){
+        return (int) Math.min(Integer.MAX_VALUE, (long) (buckets * (double) loadFactor));
+    }
+
+    /**
+     * Make an empty bucket array, which Java can't do for a generic type without an unchecked cast
+     * @param buckets The number of buckets
+     * @return HashEntry[] - An array of empty buckets
+     */
+    @SuppressWarnings("unchecked")
+    private HashEntry<K, V>[] newTable(int buckets){
+        return (HashEntry<K, V>[]) new HashEntry<?, ?>[buckets];
+    }
+
+    /**
+     * Round the input number of buckets up to a power of two, so a bucket can be picked with a mask instead of a modulo
+     * @param buckets The smallest number of buckets wanted
+     * @return Int - The smallest power of two that is at least the input, clamped between 1 and the maximum number of buckets
+     */
+    private static int tableSizeFor(int buckets){
+        if(buckets >= MAXIMUM_BUCKETS){
+            return MAXIMUM_BUCKETS;
+        }
+        return buckets <= 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
+    }
+
+    /**
+     * Get a bucket by its position across both tables, where positions past the end of bucketArray carry on into oldBuckets
+     * @param table The bucketArray the caller started with
+     * @param old The oldBuckets the caller started with, null if no rehash was in progress
+     * @param index The position of the bucket
+     * @return HashEntry - The head of the bucket, null if it is empty
+     */
+    private static <K, V> HashEntry<K, V> bucketAt(HashEntry<K, V>[] table, HashEntry<K, V>[] old, int index){
+        return index < table.length ? table[index] : old[index - table.length];
+    }
+
+    /**
+     * Finish any rehash in progress and get the bucket array, for an iterator or spliterator that is about to walk it. With
+     * no old table left, buckets can only move again once an insert grows the table, which bumps modCount, so an iterator
+     * never has to cope with entries being moved around under it
+     * @return HashEntry[] - The bucket array holding every entry
+     */
+    private HashEntry<K, V>[] rehashedTable(){
+        finishRehash();
+        return bucketArray;
+    }
+
+    /**
+     * Private class to walk every entry of the dictionary, bucket by bucket. It fails fast, throwing a
+     * ConcurrentModificationException if the dictionary is changed other than through the iterator's own remove, and
+     * overwriting the values of keys already held doesn't count as a change
+     * @param <T> The type handed out for each entry, the key, the value or the entry itself
+     */
+    private final class EntryIterator<T> implements Iterator<T>{
+        //Private fields
+        private final Function<HashEntry<K, V>, T> extract;
+        private final HashEntry<K, V>[] table = rehashedTable();
+        private int index;
+        private int expectedModCount = modCount;
+        private HashEntry<K, V> next;
+        //The entries of a TreeBin are copied out, so removing one can't disturb the walk if the tree turns back into a chain
+        private HashEntry<K, V>[] treeEntries;
+        private int treeIndex;
+        private HashEntry<K, V> lastReturned;
+
+        /**
+         * Constructor for an EntryIterator positioned before the first entry
+         * @param extract Turns each entry into the object handed out by next
+         */
+        EntryIterator(Function<HashEntry<K, V>, T> extract){
+            this.extract = extract;
+            advance();
+        }
+
+        /**
+         * Check to see if there are any entries left to walk
+         * @return Boolean - True if next will return another entry, otherwise false
+         */
+        public boolean hasNext(){
+            return next != null;
+        }
+
+        /**
+         * Get the next entry of the walk
+         * @return T - The next entry, in the form given by the extract function
+         * @throws NoSuchElementException if every entry has already been returned
+         * @throws ConcurrentModificationException if the dictionary was changed other than through this iterator
+         */
+        public T next(){
+            if(modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+            if(next == null){
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            advance();
+            return extract.apply(lastReturned);
+        }
+
+        /**
+         * Remove the entry last returned by next from the dictionary. This never moves any buckets, so the walk carries on
+         * where it left off
+         * @throws IllegalStateException if next hasn't been called, or remove has already been called since
+         * @throws ConcurrentModificationException if the dictionary was changed other than through this iterator
+         */
+        public void remove(){
+            if(lastReturned == null){
+                throw new IllegalStateException();
+            }
+            if(modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+            removeHashed(table, lastReturned.hash, lastReturned.key, null, false);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Move next on to the following entry, or to null once every bucket has been walked
+         */
+        private void advance(){
+            if(treeEntries != null && treeIndex < treeEntries.length){
+                next = treeEntries[treeIndex++];
+                return;
+            }
+            if(treeEntries == null && next != null && next.next != null){
+                next = next.next;
+                return;
+            }
+            treeEntries = null;
+            while(index < table.length){
+                HashEntry<K, V> head = table[index++];
+                if(head instanceof TreeBin){
+                    treeEntries = ((TreeBin<K, V>) head).entries().toArray(newTable(0));
+                    treeIndex = 1;
+                    next = treeEntries[0];
+                    return;
+                }
+                if(head != null){
+                    next = head;
+                    return;
+                }
+            }
+            next = null;
+        }
+    }
+
+    /**
+     * Private class to split the entries of the dictionary by ranges of buckets, so a parallel stream can hand each range
+     * to a different thread. Any rehash in progress is finished when the first spliterator is made, so every entry is in
+     * bucketArray. It fails fast once a traversal finds the dictionary has been changed
+     * @param <T> The type handed out for each entry, the key, the value or the entry itself
+     */
+    private final class BucketSpliterator<T> implements Spliterator<T>{
+        //Private fields
+        private final Function<HashEntry<K, V>, T> extract;
+        private final int characteristics;
+        private final HashEntry<K, V>[] table;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+        private long estimate;
+        private boolean exactSize;
+        //Where tryAdvance has got to within the current bucket
+        private HashEntry<K, V> current;
+        private Iterator<HashEntry<K, V>> treeEntries;
+
+        /**
+         * Constructor for a BucketSpliterator covering every bucket
+         * @param extract Turns each entry into the object handed to the action
+         * @param characteristics Characteristics besides SIZED, DISTINCT for the keys and entries
+         */
+        BucketSpliterator(Function<HashEntry<K, V>, T> extract, int characteristics){
+            this(extract, characteristics, rehashedTable(), modCount, 0, bucketArray.length, size, true);
+        }
+
+        /**
+         * Constructor for a BucketSpliterator covering a range of buckets
+         * @param extract Turns each entry into the object handed to the action
+         * @param characteristics Characteristics besides SIZED
+         * @param table The bucketArray the first spliterator started with
+         * @param expectedModCount The modCount the first spliterator started with
+         * @param index The first bucket position of the range
+         * @param fence The bucket position just past the end of the range
+         * @param estimate The estimated number of entries in the range
+         * @param exactSize True if the estimate is the exact number of entries in the range
+         */
+        private BucketSpliterator(Function<HashEntry<K, V>, T> extract, int characteristics, HashEntry<K, V>[] table,
+                                  int expectedModCount, int index, int fence, long estimate, boolean exactSize){
+            this.extract = extract;
+            this.characteristics = characteristics;
+            this.table = table;
+            this.expectedModCount = expectedModCount;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exactSize = exactSize;
+        }
+
+        /**
+         * Hand the first half of the remaining buckets to a new spliterator
+         * @return Spliterator - A spliterator over the first half of the range, null if the range is too small to split or
+         *                       a bucket is partly walked
+         */
+        public Spliterator<T> trySplit(){
+            int mid = (index + fence) >>> 1;
+            if(mid <= index || current != null || treeEntries != null){
+                return null;
+            }
+            estimate >>>= 1;
+            exactSize = false;
+            int start = index;
+            index = mid;
+            return new BucketSpliterator<T>(extract, characteristics, table, expectedModCount, start, mid, estimate, false);
+        }
+
+        /**
+         * Hand the next entry of the range to an action
+         * @param action The action to be run on the entry
+         * @return Boolean - True if an entry was handed over, false if the range has been used up
+         * @throws ConcurrentModificationException if the dictionary has been changed since the spliterator was made
+         */
+        public boolean tryAdvance(Consumer<? super T> action){
+            while(true){
+                if(modCount != expectedModCount){
+                    throw new ConcurrentModificationException();
+                }
+                HashEntry<K, V> entry = null;
+                if(treeEntries != null){
+                    if(treeEntries.hasNext()){
+                        entry = treeEntries.next();
+                    } else{
+                        treeEntries = null;
+                    }
+                } else if(current != null){
+                    entry = current;
+                    current = current.next;
+                }
+                if(entry != null){
+                    action.accept(extract.apply(entry));
+                    return true;
+                }
+                if(index >= fence){
+                    return false;
+                }
+                HashEntry<K, V> head = table[index++];
+                if(head instanceof TreeBin){
+                    treeEntries = ((TreeBin<K, V>) head).entries().iterator();
+                } else{
+                    current = head;
+                }
+            }
+        }
+
+        /**
+         * Hand every remaining entry of the range to an action, walking the buckets directly
+         * @param action The action to be run on each entry
+         * @throws ConcurrentModificationException if the dictionary has been changed since the spliterator was made
+         */
+        public void forEachRemaining(Consumer<? super T> action){
+            //Finish off a bucket tryAdvance has already started on
+            for(HashEntry<K, V> entry = current; entry != null; entry = entry.next){
+                action.accept(extract.apply(entry));
+            }
+            current = null;
+            if(treeEntries != null){
+                while(treeEntries.hasNext()){
+                    action.accept(extract.apply(treeEntries.next()));
+                }
+                treeEntries = null;
+            }
+            for(int i = index; i < fence; i++){
+                HashEntry<K, V> head = table[i];
+                if(head instanceof TreeBin){
+                    for(HashEntry<K, V> entry : ((TreeBin<K, V>) head).entries()){
+                        action.accept(extract.apply(entry));
+                    }
+                    continue;
+                }
+                for(HashEntry<K, V> entry = head; entry != null; entry = entry.next){
+                    action.accept(extract.apply(entry));
+                }
+            }
+            index = fence;
+            if(modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Get the estimated number of entries left in the range
+         * @return Long - The estimate, exact for a spliterator that hasn't been split
+         */
+        public long estimateSize(){
+            return estimate;
+        }
+
+        /**
+         * Get the characteristics of the entries handed out
+         * @return Int - The characteristics passed in, plus SIZED for a spliterator that hasn't been split
+         */
+        public int characteristics(){
+            return characteristics | (exactSize ? Spliterator.SIZED : 0);
+        }
+    }
+
+    /**
+     * Private class to instantiate a HashEntry object that acts as a Linked list to be placed in buckets
+     * @param <K> The key to be associated with this object
+     * @param <V> The value to be associated with this object
+     */
+    private static class HashEntry<K, V> implements Map.Entry<K, V>{
+        //Private fields
+        private final int hash;
+        private final K key;
+        private V value;
+        private HashEntry<K, V> next;
+
+        /**
+         * Constructor for a HashEntry object
+         * @param hash The mixed hash of the key, kept so chains can skip equals calls and rehashing never hashes again
+         * @param key The key to be associated with this object
+         * @param value The value to be associated with this object
+         * @param next The HashEntry object to be linked to this HashEntry
+         */
+        HashEntry(int hash, K key, V value, HashEntry<K, V> next){
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * Get the key of this entry
+         * @return K - The key associated with this object
+         */
+        public K getKey(){
+            return key;
+        }
+
+        /**
+         * Get the value of this entry
+         * @return V - The value associated with this object
+         */
+        public V getValue(){
+            return value;
+        }
+
+        /**
+         * Replace the value of this entry, which writes straight through to the dictionary holding it
+         * @param value The value to be associated with this object
+         * @return V - The value that was previously associated with this object
+         */
+        public V setValue(V value){
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        /**
+         * Check to see if another Map.Entry holds an equal key and value
+         * @param o The object to be compared against
+         * @return Boolean - True if the object is a Map.Entry with an equal key and value, otherwise false
+         */
+        public boolean equals(Object o){
+            if(!(o instanceof Map.Entry)){
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return key.equals(other.getKey()) && value.equals(other.getValue());
+        }
+
+        /**
+         * Get a hash code for this entry in the form used by every Map.Entry
+         * @return Int - The hash code of the key xor the hash code of the value
+         */
+        public int hashCode(){
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        /**
+         * A string representation of the entry in the form key:value
+         * @return String - A string representation of the entry
+         */
+        public String toString(){
+            return key + ":" + value;
+        }
+    }
+
+    /**
+     * Private class handed out by the entry set while the value index is on, so that setValue goes through the dictionary
+     * and keeps the index up to date. Everything else is read straight from the entry it wraps
+     */
+    private final class IndexedEntry implements Map.Entry<K, V>{
+        //Private fields
+        private final HashEntry<K, V> entry;
+
+        /**
+         * Constructor for an IndexedEntry
+         * @param entry The entry held in the dictionary
+         */
+        IndexedEntry(HashEntry<K, V> entry){
+            this.entry = entry;
+        }
+
+        /**
+         * Get the key of the entry
+         * @return K - The key associated with the entry
+         */
+        public K getKey(){
+            return entry.key;
+        }
+
+        /**
+         * Get the value of the entry
+         * @return V - The value associated with the entry
+         */
+        public V getValue(){
+            return entry.value;
+        }
+
+        /**
+         * Replace the value of the entry, updating the value index to match
+         * @param value The value to be associated with the entry
+         * @return V - The value that was previously associated with the entry
+         */
+        public V setValue(V value){
+            V oldValue = entry.value;
+            setEntryValue(entry, value);
+            return oldValue;
+        }
+
+        /**
+         * Check to see if another Map.Entry holds an equal key and value
+         * @param o The object to be compared against
+         * @return Boolean - True if the object is a Map.Entry with an equal key and value, otherwise false
+         */
+        public boolean equals(Object o){
+            return entry.equals(o);
+        }
+
+        /**
+         * Get the hash code of the entry, as defined by Map.Entry
+         * @return Int - The hash code of the key xor the hash code of the value
+         */
+        public int hashCode(){
+            return entry.hashCode();
+        }
+
+        /**
+         * Get a string representation of the entry
+         * @return String - The entry in the form key:value
+         */
+        public String toString(){
+            return entry.toString();
+        }
+    }
+
+    /**
+     * Private class that stands in a bucket in place of a chain once the chain has grown too long. The entries are kept in
+     * a red-black tree ordered by the hash stored in each entry and then by the keys' own compareTo, so even a bucket full
+     * of colliding keys is searched in O(log n) without calling hashCode again on the way down. Keys that tie on both, but aren't equal, share a tree node as a short chain that is searched
+     * with equals, so a compareTo that doesn't agree with equals only costs speed, never entries
+     * @param <K> The type of the keys held in the tree
+     * @param <V> The type of the values held in the tree
+     */
+    private static final class TreeBin<K, V> extends HashEntry<K, V>{
+        //Private fields
+        //Each node is keyed by, and holds, the first entry of a chain of entries whose keys tie in TREE_ORDER
+        private final TreeMap<HashEntry<?, ?>, HashEntry<K, V>> tree;
+        private final Class<?> keyClass;
+        private int count;
+
+        /**
+         * Constructor for an empty TreeBin
+         * @param keyClass The class every key in the tree belongs to
+         */
+        TreeBin(Class<?> keyClass){
+            super(0, null, null, null);
+            this.keyClass = keyClass;
+            this.tree = new TreeMap<HashEntry<?, ?>, HashEntry<K, V>>(TREE_ORDER);
+        }
+
+        /**
+         * Get the number of entries held in the tree
+         * @return Int - The number of entries, counting every entry of each node's chain
+         */
+        int size(){
+            return count;
+        }
+
+        /**
+         * Check to see if a key can be ordered against the keys already held in the tree
+         * @param key The key to be checked
+         * @return Boolean - True if the key is of the same class as the keys in the tree, otherwise false
+         */
+        boolean accepts(Object key){
+            return key.getClass() == keyClass;
+        }
+
+        /**
+         * Find the entry held at the input key
+         * @param hash The mixed hash of the key
+         * @param key The key to be searched for
+         * @return HashEntry - The entry holding the input key, null if the key is not in the tree
+         */
+        HashEntry<K, V> find(int hash, Object key){
+            if(!accepts(key)){
+                return null;
+            }
+            HashEntry<Object, Object> probe = new HashEntry<Object, Object>(hash, key, null, null);
+            for(HashEntry<K, V> current = tree.get(probe); current != null; current = current.next){
+                if(current.key.equals(key)){
+                    return current;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Add an entry whose key isn't held in the tree yet, at the end of the chain of any keys it ties with so the node
+         * stays keyed by its chain's first entry
+         * @param entry The entry to be added
+         */
+        void add(HashEntry<K, V> entry){
+            entry.next = null;
+            HashEntry<K, V> head = tree.putIfAbsent(entry, entry);
+            if(head != null){
+                while(head.next != null){
+                    head = head.next;
+                }
+                head.next = entry;
+            }
+            count++;
+        }
+
+        /**
+         * Unlink an entry held in the tree
+         * @param entry The entry to be removed, as found by find
+         */
+        void remove(HashEntry<K, V> entry){
+            HashEntry<K, V> head = tree.get(entry);
+            if(head == entry){
+                //The node is keyed by its chain's first entry, so the next entry takes the node over under itself
+                tree.remove(entry);
+                if(entry.next != null){
+                    tree.put(entry.next, entry.next);
+                }
+            } else{
+                HashEntry<K, V> prev = head;
+                while(prev.next != entry){
+                    prev = prev.next;
+                }
+                prev.next = entry.next;
+            }
+            entry.next = null;
+            count--;
+        }
+
+        /**
+         * Get every entry held in the tree, in tree order
+         * @return List - A copy of the entries, so the tree may be changed while the list is walked
+         */
+        List<HashEntry<K, V>> entries(){
+            List<HashEntry<K, V>> entries = new ArrayList<HashEntry<K, V>>(count);
+            for(HashEntry<K, V> head : tree.values()){
+                for(HashEntry<K, V> current = head; current != null; current = current.next){
+                    entries.add(current);
+                }
+            }
+            return entries;
+        }
+
+        /**
+         * Link every entry of the tree back up into a plain chain
+         * @return HashEntry - The first entry of the chain
+         */
+        HashEntry<K, V> untreeify(){
+            HashEntry<K, V> head = null;
+            for(HashEntry<K, V> current : entries()){
+                current.next = head;
+                head = current;
+            }
+            return head;
+        }
+
+        //Orders entries by their stored hash first, then by their keys' compareTo, so equal keys always compare as 0
+        @SuppressWarnings("unchecked")
+        private static final Comparator<HashEntry<?, ?>> TREE_ORDER = (a, b) -> {
+            int result = Integer.compare(a.hash, b.hash);
+            return result != 0 ? result : ((Comparable<Object>) a.key).compareTo(b.key);
+        };
+    }
+}
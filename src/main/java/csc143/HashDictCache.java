@@ -0,0 +1,507 @@
+package csc143;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Class to create a bounded cache on top of HashDict storage. The cache holds entries up to a maximum total weight (by
+ * default every entry weighs 1, so this is a maximum entry count) and evicts the least recently used entry whenever it
+ * goes over. Entries can also be given a time to live, counted from when they were last written. Every entry sits in two
+ * intrusive doubly linked lists, one in access order for LRU eviction and one in write order for expiry, so all of the
+ * bookkeeping is O(1) per operation. Every method locks the cache, except that getOrLoad runs its loader outside the lock
+ */
+public class HashDictCache<K, V> implements IDict<K, V>{
+    //private fields
+    private final HashDict<K, CacheEntry<K, V>> entries;
+    //Keys whose value is being loaded by getOrLoad right now, so that other callers wait instead of loading it again. A
+    //write to a key drops its marker, which tells the load not to cache its now stale value
+    private final HashDict<K, CompletableFuture<V>> loading;
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    //Sentinels of the two lists, the eldest entry is always right after the sentinel
+    private final CacheEntry<K, V> accessOrder;
+    private final CacheEntry<K, V> writeOrder;
+    private long totalWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long loadCount;
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    /**
+     * Constructor for a HashDictCache with full control over sizing, expiry and time
+     * @param maximumWeight The largest total weight the cache may hold before it starts evicting
+     * @param weigher Gives the weight of an entry, must not be negative
+     * @param expireAfterWrite How long an entry lives after it was last written, null for entries that never expire
+     * @param ticker The clock used for expiry, in nanoseconds
+     * @throws IllegalArgumentException if the maximum weight or the expiry time is negative
+     */
+    public HashDictCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, Duration expireAfterWrite,
+                         LongSupplier ticker){
+        if(maximumWeight < 0){
+            throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+        }
+        if(expireAfterWrite != null && expireAfterWrite.isNegative()){
+            throw new IllegalArgumentException("Illegal expiry: " + expireAfterWrite);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = expireAfterWrite == null ? NO_EXPIRY : saturatedNanos(expireAfterWrite);
+        this.ticker = ticker;
+        this.entries = new HashDict<>();
+        this.loading = new HashDict<>();
+        this.accessOrder = new CacheEntry<>(null, null, 0, 0);
+        this.writeOrder = new CacheEntry<>(null, null, 0, 0);
+        accessOrder.accessPrev = accessOrder;
+        accessOrder.accessNext = accessOrder;
+        writeOrder.writePrev = writeOrder;
+        writeOrder.writeNext = writeOrder;
+    }
+
+    /**
+     * Constructor for a HashDictCache that holds up to a number of entries, each living for a fixed time after it is written
+     * @param maximumSize The largest number of entries the cache may hold
+     * @param expireAfterWrite How long an entry lives after it was last written, null for entries that never expire
+     */
+    public HashDictCache(long maximumSize, Duration expireAfterWrite){
+        this(maximumSize, (key, value) -> 1, expireAfterWrite, System::nanoTime);
+    }
+
+    /**
+     * Constructor for a HashDictCache that holds up to a number of entries, which never expire
+     * @param maximumSize The largest number of entries the cache may hold
+     */
+    public HashDictCache(long maximumSize){
+        this(maximumSize, null);
+    }
+
+    /**
+     * Return the size of the number of objects currently held in the cache
+     * @return Int - The number of objects that are currently stored in the cache
+     */
+    public synchronized int size(){
+        expireEntries();
+        return entries.size();
+    }
+
+    /**
+     * Check to see if there are any objects held in the cache
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    public synchronized boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * Get the value currently cached at the input key, marking it as the most recently used. Counts as a hit or a miss
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present or has expired return null
+     */
+    public synchronized V get(K key){
+        CacheEntry<K, V> entry = liveEntry(key);
+        if(entry == null){
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        moveToNewest(entry);
+        return entry.value;
+    }
+
+    /**
+     * Get the value cached at the input key, loading it with the loader if it is missing. However many threads ask for the
+     * same missing key at the same time, the loader runs once and every caller gets its result. The loader runs without the
+     * cache being locked, so other keys can be read and written while it works. A put, remove or clear of the key while the
+     * loader runs cancels the load, the callers still get the loaded value but it isn't cached over the newer write
+     * @param key The key to be searched for
+     * @param loader Gives the value for a missing key, must not return null
+     * @return V - The cached or freshly loaded value
+     * @throws NullPointerException if the loader returns null
+     * @throws RuntimeException whatever the loader threw, for every caller that was waiting on it
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader){
+        CompletableFuture<V> future;
+        boolean loaderOwner = false;
+        synchronized(this){
+            CacheEntry<K, V> entry = liveEntry(key);
+            if(entry != null){
+                hitCount++;
+                moveToNewest(entry);
+                return entry.value;
+            }
+            missCount++;
+            future = loading.get(key);
+            if(future == null){
+                future = new CompletableFuture<>();
+                loading.put(key, future);
+                loaderOwner = true;
+            }
+        }
+        if(!loaderOwner){
+            try{
+                return future.join();
+            } catch(CompletionException e){
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        V value;
+        try{
+            value = loader.apply(key);
+            if(value == null){
+                throw new NullPointerException("Loader returned null for " + key);
+            }
+        } catch(RuntimeException | Error e){
+            synchronized(this){
+                loading.remove(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+        synchronized(this){
+            loadCount++;
+            //The marker is gone if the key was written or removed while the loader ran, and the loaded value is then stale
+            if(loading.remove(key, future)){
+                store(key, value);
+            }
+        }
+        future.complete(value);
+        return value;
+    }
+
+    /**
+     * Add a key value pair to the cache, evicting the least recently used entries if it is now over its maximum weight
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously cached at the key, null if there was none or it had expired
+     */
+    public synchronized V put(K key, V value){
+        loading.remove(key);
+        return store(key, value);
+    }
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the cache
+     */
+    public synchronized V replace(K key, V value){
+        if(liveEntry(key) == null){
+            return null;
+        }
+        loading.remove(key);
+        return store(key, value);
+    }
+
+    /**
+     * Find the object that has the associated key and remove it from the cache
+     * @param key The key to be searched for within the cache
+     * @return V - The value that was held at the input key, return null if the input key was not in the cache
+     */
+    public synchronized V remove(K key){
+        loading.remove(key);
+        CacheEntry<K, V> entry = liveEntry(key);
+        if(entry == null){
+            return null;
+        }
+        discard(entry);
+        return entry.value;
+    }
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the cache but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    public synchronized boolean remove(K key, V value){
+        CacheEntry<K, V> entry = liveEntry(key);
+        if(entry == null || !entry.value.equals(value)){
+            return false;
+        }
+        loading.remove(key);
+        discard(entry);
+        return true;
+    }
+
+    /**
+     * Check to see if the input value is currently cached at any key. This walks every entry
+     * @param value The value to check if held within any key in the cache
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    public synchronized boolean containsValue(V value){
+        expireEntries();
+        for(CacheEntry<K, V> entry = accessOrder.accessNext; entry != accessOrder; entry = entry.accessNext){
+            if(entry.value.equals(value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input key is currently cached. Doesn't count as a hit or a miss or change the LRU order
+     * @param key The key to check if held within the cache
+     * @return Boolean - Return true if the key is currently held within the cache, otherwise false
+     */
+    public synchronized boolean containsKey(K key){
+        return liveEntry(key) != null;
+    }
+
+    /**
+     * Clear the entired contents of the cache, cancelling any loads in flight. The hit, miss, eviction and load counters are
+     * kept
+     */
+    public synchronized void clear(){
+        entries.clear();
+        loading.clear();
+        accessOrder.accessPrev = accessOrder;
+        accessOrder.accessNext = accessOrder;
+        writeOrder.writePrev = writeOrder;
+        writeOrder.writeNext = writeOrder;
+        totalWeight = 0;
+    }
+
+    /**
+     * Get the number of lookups that found a live entry
+     * @return Long - The number of hits so far
+     */
+    public synchronized long hitCount(){
+        return hitCount;
+    }
+
+    /**
+     * Get the number of lookups that found no live entry
+     * @return Long - The number of misses so far
+     */
+    public synchronized long missCount(){
+        return missCount;
+    }
+
+    /**
+     * Get the number of entries removed to get back under the maximum weight. Expired entries aren't counted
+     * @return Long - The number of evictions so far
+     */
+    public synchronized long evictionCount(){
+        return evictionCount;
+    }
+
+    /**
+     * Get the number of times a getOrLoad loader ran and gave a value
+     * @return Long - The number of successful loads so far
+     */
+    public synchronized long loadCount(){
+        return loadCount;
+    }
+
+    /**
+     * Get the total weight of the entries currently held
+     * @return Long - The sum of the weights of every entry
+     */
+    public synchronized long weight(){
+        expireEntries();
+        return totalWeight;
+    }
+
+    /**
+     * A string representation of the cache in the form of { key:value }, from least to most recently used
+     * @return String - A string representation of the contents of the cache
+     */
+    public synchronized String toString(){
+        expireEntries();
+        StringBuilder dataEntries = new StringBuilder("{ ");
+        for(CacheEntry<K, V> entry = accessOrder.accessNext; entry != accessOrder; entry = entry.accessNext){
+            dataEntries.append(entry.key).append(':').append(entry.value).append(' ');
+        }
+        return dataEntries.append('}').toString();
+    }
+
+    /**
+     * Write a value into the cache, then drop expired entries and evict until the cache is back under its maximum weight
+     * @param key The key to be written
+     * @param value The value to be written
+     * @return V - The live value that was replaced, null if there was none
+     */
+    private V store(K key, V value){
+        if(key == null || value == null){
+            throw new NullPointerException();
+        }
+        int weight = weigher.applyAsInt(key, value);
+        if(weight < 0){
+            throw new IllegalArgumentException("Negative weight for " + key);
+        }
+        long now = ticker.getAsLong();
+        CacheEntry<K, V> entry = entries.get(key);
+        V previous = null;
+        if(entry == null){
+            entry = new CacheEntry<>(key, value, weight, now);
+            entries.put(key, entry);
+            linkNewest(entry);
+            totalWeight += weight;
+        } else{
+            if(!isExpired(entry, now)){
+                previous = entry.value;
+            }
+            entry.value = value;
+            totalWeight += weight - entry.weight;
+            entry.weight = weight;
+            entry.writeTime = now;
+            moveToNewest(entry);
+            unlinkWrite(entry);
+            linkWriteNewest(entry);
+        }
+        expireEntries();
+        while(totalWeight > maximumWeight && accessOrder.accessNext != accessOrder){
+            discard(accessOrder.accessNext);
+            evictionCount++;
+        }
+        return previous;
+    }
+
+    /**
+     * Find the entry at a key, dropping it first if it has expired
+     * @param key The key to be searched for
+     * @return CacheEntry - The live entry at the key, null if there is none
+     */
+    private CacheEntry<K, V> liveEntry(K key){
+        CacheEntry<K, V> entry = entries.get(key);
+        if(entry != null && isExpired(entry, ticker.getAsLong())){
+            discard(entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Drop every expired entry from the front of the write order list. The list is in write order, so this stops at the
+     * first entry that is still live
+     */
+    private void expireEntries(){
+        if(expireAfterWriteNanos == NO_EXPIRY){
+            return;
+        }
+        long now = ticker.getAsLong();
+        while(writeOrder.writeNext != writeOrder && isExpired(writeOrder.writeNext, now)){
+            discard(writeOrder.writeNext);
+        }
+    }
+
+    /**
+     * Check to see if an entry has outlived its time to live
+     * @param entry The entry to be checked
+     * @param now The current time of the ticker
+     * @return Boolean - True if the entry has expired, otherwise false
+     */
+    private boolean isExpired(CacheEntry<K, V> entry, long now){
+        return expireAfterWriteNanos != NO_EXPIRY && now - entry.writeTime >= expireAfterWriteNanos;
+    }
+
+    /**
+     * Remove an entry from the storage and from both lists
+     * @param entry The entry to be removed
+     */
+    private void discard(CacheEntry<K, V> entry){
+        entries.remove(entry.key);
+        entry.accessPrev.accessNext = entry.accessNext;
+        entry.accessNext.accessPrev = entry.accessPrev;
+        unlinkWrite(entry);
+        totalWeight -= entry.weight;
+    }
+
+    /**
+     * Link a new entry at the newest end of both lists
+     * @param entry The entry to be linked
+     */
+    private void linkNewest(CacheEntry<K, V> entry){
+        entry.accessPrev = accessOrder.accessPrev;
+        entry.accessNext = accessOrder;
+        accessOrder.accessPrev.accessNext = entry;
+        accessOrder.accessPrev = entry;
+        linkWriteNewest(entry);
+    }
+
+    /**
+     * Move an entry to the most recently used end of the access order list
+     * @param entry The entry that was just used
+     */
+    private void moveToNewest(CacheEntry<K, V> entry){
+        if(entry.accessNext == accessOrder){
+            return;
+        }
+        entry.accessPrev.accessNext = entry.accessNext;
+        entry.accessNext.accessPrev = entry.accessPrev;
+        entry.accessPrev = accessOrder.accessPrev;
+        entry.accessNext = accessOrder;
+        accessOrder.accessPrev.accessNext = entry;
+        accessOrder.accessPrev = entry;
+    }
+
+    /**
+     * Link an entry at the newest end of the write order list
+     * @param entry The entry that was just written
+     */
+    private void linkWriteNewest(CacheEntry<K, V> entry){
+        entry.writePrev = writeOrder.writePrev;
+        entry.writeNext = writeOrder;
+        writeOrder.writePrev.writeNext = entry;
+        writeOrder.writePrev = entry;
+    }
+
+    /**
+     * Unlink an entry from the write order list
+     * @param entry The entry to be unlinked
+     */
+    private void unlinkWrite(CacheEntry<K, V> entry){
+        entry.writePrev.writeNext = entry.writeNext;
+        entry.writeNext.writePrev = entry.writePrev;
+    }
+
+    /**
+     * Convert a duration to nanoseconds, capping it instead of overflowing
+     * @param duration The duration to be converted
+     * @return Long - The duration in nanoseconds
+     */
+    private static long saturatedNanos(Duration duration){
+        try{
+            return duration.toNanos();
+        } catch(ArithmeticException e){
+            return NO_EXPIRY;
+        }
+    }
+
+    /**
+     * Private class for one cached value, linked into both the access order and write order lists
+     * @param <K> The key to be associated with this object
+     * @param <V> The value to be associated with this object
+     */
+    private static final class CacheEntry<K, V>{
+        final K key;
+        V value;
+        int weight;
+        long writeTime;
+        CacheEntry<K, V> accessPrev;
+        CacheEntry<K, V> accessNext;
+        CacheEntry<K, V> writePrev;
+        CacheEntry<K, V> writeNext;
+
+        /**
+         * Constructor for a CacheEntry object
+         * @param key The key to be associated with this object
+         * @param value The value to be associated with this object
+         * @param weight The weight of the entry
+         * @param writeTime The ticker time the value was written at
+         */
+        CacheEntry(K key, V value, int weight, long writeTime){
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package csc143;
+
+/**
+ * Interface for watching what a HashDict does, set with HashDict.setListener. The dictionary calls it on the thread making
+ * the call being reported, after the call is done, so an implementation should be quick and must not change the
+ * dictionary. HashDictMetrics is an implementation that keeps counts and histograms and publishes them over JMX
+ */
+public interface HashDictListener{
+    /**
+     * The calls that are reported to operation. GET covers both get and containsKey, and REMOVE both forms of remove.
+     * The batch putAll, getAll and removeAll calls and changes made through the views aren't reported
+     */
+    enum Operation{
+        GET, PUT, REPLACE, REMOVE
+    }
+
+    /**
+     * Called after each get, containsKey, put, replace and remove
+     * @param operation Which call was made
+     * @param nanos How long the call took, in nanoseconds
+     * @param probes The number of entries the call compared against the key while searching its bucket, up to and
+     *               including the key if it was found, or every entry of the bucket if it wasn't, so a put of a new key
+     *               counts every entry it passed over before linking the key in. While a rehash is in progress a lookup
+     *               that misses bucketArray adds the entries of the old bucket it goes on to search. For a bucket that
+     *               has been turned into a tree this is the depth of a balanced tree of the same size
+     */
+    void operation(Operation operation, long nanos, int probes);
+
+    /**
+     * Called whenever the bucket array starts growing
+     * @param oldBuckets The number of buckets before the resize
+     * @param newBuckets The number of buckets after the resize
+     */
+    void resized(int oldBuckets, int newBuckets);
+}
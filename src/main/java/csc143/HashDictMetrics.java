@@ -0,0 +1,166 @@
+package csc143;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that keeps metrics on a HashDict: how often each operation is called, how long it takes, how deep into its bucket
+ * it has to search and how often the table grows, along with the current chain lengths and load factor. Start it with
+ * dict.setListener(metrics), and publish it over JMX with
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName("...:type=HashDict,name=...")).
+ * The counts can be read from any thread while the dictionary is in use
+ */
+public class HashDictMetrics implements HashDictListener, HashDictMetricsMXBean{
+    //Private fields
+    private final HashDict<?, ?> dict;
+    private final Map<Operation, Log2Histogram> latencies;
+    private final Log2Histogram probeDepths;
+    private final AtomicInteger maxProbeDepth;
+    private final AtomicLong resizes;
+    //Chains at least this long are counted together in the last entry of the chain length histogram
+    private static final int LONGEST_CHAIN = 16;
+
+    /**
+     * Constructor for HashDictMetrics watching a dictionary. The metrics only start counting once they are set as the
+     * dictionary's listener
+     * @param dict The dictionary the chain lengths and load factor are read from
+     */
+    public HashDictMetrics(HashDict<?, ?> dict){
+        this.dict = dict;
+        latencies = new EnumMap<Operation, Log2Histogram>(Operation.class);
+        for(Operation operation : Operation.values()){
+            latencies.put(operation, new Log2Histogram());
+        }
+        probeDepths = new Log2Histogram();
+        maxProbeDepth = new AtomicInteger();
+        resizes = new AtomicLong();
+    }
+
+    /**
+     * Count a call to the dictionary
+     * @param operation Which call was made
+     * @param nanos How long the call took, in nanoseconds
+     * @param probes The number of entries searched through
+     */
+    public void operation(Operation operation, long nanos, int probes){
+        latencies.get(operation).record(nanos);
+        probeDepths.record(probes);
+        if(probes > maxProbeDepth.get()){
+            maxProbeDepth.accumulateAndGet(probes, Math::max);
+        }
+    }
+
+    /**
+     * Count a resize of the dictionary
+     * @param oldBuckets The number of buckets before the resize
+     * @param newBuckets The number of buckets after the resize
+     */
+    public void resized(int oldBuckets, int newBuckets){
+        resizes.incrementAndGet();
+    }
+
+    /**
+     * Get the number of calls of each operation
+     * @return Map - The number of calls, by operation name
+     */
+    public Map<String, Long> getOperationCounts(){
+        Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        for(Map.Entry<Operation, Log2Histogram> entry : latencies.entrySet()){
+            counts.put(entry.getKey().name(), entry.getValue().count());
+        }
+        return counts;
+    }
+
+    /**
+     * Get the median latency of each operation
+     * @return Map - The median latency in nanoseconds, by operation name
+     */
+    public Map<String, Long> getMedianLatencyNanos(){
+        return percentiles(50);
+    }
+
+    /**
+     * Get the 99th percentile latency of each operation
+     * @return Map - The 99th percentile latency in nanoseconds, by operation name
+     */
+    public Map<String, Long> getP99LatencyNanos(){
+        return percentiles(99);
+    }
+
+    /**
+     * Get how many calls searched through each number of entries, across every operation
+     * @return long[] - The number of calls, by power-of-two bin of probe depth
+     */
+    public long[] getProbeDepthHistogram(){
+        return probeDepths.toArray();
+    }
+
+    /**
+     * Get the most entries any one call has had to search through
+     * @return Int - The maximum probe depth seen
+     */
+    public int getMaxProbeDepth(){
+        return maxProbeDepth.get();
+    }
+
+    /**
+     * Get how many buckets currently hold each number of entries. The dictionary is read without stopping it, so while it
+     * is being changed this is an estimate
+     * @return long[] - The number of buckets, by the number of entries they hold
+     */
+    public long[] getChainLengthHistogram(){
+        return dict.chainLengths(LONGEST_CHAIN);
+    }
+
+    /**
+     * Get the ratio of entries to buckets the dictionary is at now
+     * @return Double - The current size divided by the current number of buckets
+     */
+    public double getLoadFactor(){
+        return (double) dict.size() / dict.bucketCount();
+    }
+
+    /**
+     * Get the number of times the bucket array has grown
+     * @return Long - The number of resize events
+     */
+    public long getResizeCount(){
+        return resizes.get();
+    }
+
+    /**
+     * Get the number of buckets the dictionary has now
+     * @return Int - The current number of buckets
+     */
+    public int getBucketCount(){
+        return dict.bucketCount();
+    }
+
+    /**
+     * Set every count and histogram back to 0
+     */
+    public void reset(){
+        for(Log2Histogram latency : latencies.values()){
+            latency.reset();
+        }
+        probeDepths.reset();
+        maxProbeDepth.set(0);
+        resizes.set(0);
+    }
+
+    /**
+     * Get a percentile of the latency of each operation
+     * @param percentile The percentile wanted, between 0 and 100
+     * @return Map - The percentile latency in nanoseconds, by operation name
+     */
+    private Map<String, Long> percentiles(double percentile){
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for(Map.Entry<Operation, Log2Histogram> entry : latencies.entrySet()){
+            result.put(entry.getKey().name(), entry.getValue().percentile(percentile));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package csc143;
+
+import java.util.Map;
+
+/**
+ * Management interface HashDictMetrics is published through over JMX. Operation names are those of
+ * HashDictListener.Operation, and latencies are upper bounds accurate to within a factor of two
+ */
+public interface HashDictMetricsMXBean{
+    /**
+     * Get the number of calls of each operation
+     * @return Map - The number of calls, by operation name
+     */
+    Map<String, Long> getOperationCounts();
+
+    /**
+     * Get the median latency of each operation
+     * @return Map - The median latency in nanoseconds, by operation name
+     */
+    Map<String, Long> getMedianLatencyNanos();
+
+    /**
+     * Get the 99th percentile latency of each operation
+     * @return Map - The 99th percentile latency in nanoseconds, by operation name
+     */
+    Map<String, Long> getP99LatencyNanos();
+
+    /**
+     * Get how many calls searched through each number of entries, across every operation
+     * @return long[] - The number of calls, by power-of-two bin of probe depth: 0, 1, 2-3, 4-7 and so on
+     */
+    long[] getProbeDepthHistogram();
+
+    /**
+     * Get the most entries any one call has had to search through
+     * @return Int - The maximum probe depth seen
+     */
+    int getMaxProbeDepth();
+
+    /**
+     * Get how many buckets currently hold each number of entries, read from the dictionary as it is now
+     * @return long[] - The number of buckets, by the number of entries they hold, with the last one counting every
+     *                  bucket at least that long
+     */
+    long[] getChainLengthHistogram();
+
+    /**
+     * Get the ratio of entries to buckets the dictionary is at now
+     * @return Double - The current size divided by the current number of buckets
+     */
+    double getLoadFactor();
+
+    /**
+     * Get the number of times the bucket array has grown
+     * @return Long - The number of resize events
+     */
+    long getResizeCount();
+
+    /**
+     * Get the number of buckets the dictionary has now
+     * @return Int - The current number of buckets
+     */
+    int getBucketCount();
+
+    /**
+     * Set every count and histogram back to 0
+     */
+    void reset();
+}
@@ -0,0 +1,77 @@
+package csc143;
+
+/**
+ * Interface for a dictionary that holds objects as key/value pairs, where each key is held at most once
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public interface IDict<K, V>{
+    /**
+     * Return the size of the number of objects currently held in the dictionary
+     * @return Int - The number of objects that are currently stored in the dictionary
+     */
+    int size();
+
+    /**
+     * Check to see if there are any objects held in the dictionary
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    boolean isEmpty();
+
+    /**
+     * Get the value currently associated with the input key without removing the value
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present return null
+     */
+    V get(K key);
+
+    /**
+     * Add a key value pair to the dictionary. If the key already exists replace its current value with the input value
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     */
+    V put(K key, V value);
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the dictionary
+     */
+    V replace(K key, V value);
+
+    /**
+     * Find the object that has the associated key and remove it from the dictionary
+     * @param key The key to be searched for within the dictionary
+     * @return V - The value that was held at the input key, return null if the input key was not in the dictionary
+     */
+    V remove(K key);
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the dictionary but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    boolean remove(K key, V value);
+
+    /**
+     * Check to see if the input value is currently held by any key
+     * @param value The value to check if held within any key in the dictionary
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    boolean containsValue(V value);
+
+    /**
+     * Check to see if the input key is currently held anywhere within the dictionary
+     * @param key The key to check if held within the dictionary
+     * @return Boolean - Return true if the key is currently held within the dictionary, otherwise false
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Clear the entire contents of the dictionary and reset the size to 0
+     */
+    void clear();
+}
@@ -0,0 +1,83 @@
+package csc143;
+
+/**
+ * Interface for a list that keeps its objects in ascending order, as given by their compareTo
+ * @param <E> The type of the objects held in the list
+ */
+public interface ISortedList<E extends Comparable<E>> extends Iterable<E>{
+    /**
+     * Gets the current number of objects stored in the list
+     * @return int - The current size of the list
+     */
+    int size();
+
+    /**
+     * Method to test if the list is currently holding onto any elements
+     * @return boolean - True if the list is empty, otherwise false
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets the smallest object held in the list
+     * @return E - The object that is currently being held at the beginning of the list
+     */
+    E getHead();
+
+    /**
+     * Gets the largest object held in the list
+     * @return E - The object that is currently being held at the end of the list
+     */
+    E getTail();
+
+    /**
+     * Method to find the index in the list where the passed in object is located
+     * @param value The object that we want to find the index of
+     * @return int - The index where the input object is located, -1 if it's not held in the list
+     */
+    int indexOf(E value);
+
+    /**
+     * Method to check to see if an object is currently being held within the list
+     * @param value The object that we want to know is contained in our list
+     * @return boolean - True if the list contains the value passed in, otherwise false
+     */
+    boolean contains(E value);
+
+    /**
+     * Method that adds an object to the list, in ascending order among the objects already held
+     * @param value The object that we want to add to the list
+     */
+    void add(E value);
+
+    /**
+     * Method to add all the contents of another sorted list to this list
+     * @param other The list that we want to add the contents of to this list
+     */
+    void addAll(ISortedList<E> other);
+
+    /**
+     * Method to remove the first object in the list
+     * @return E - The object that was previously held at the beginning of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    E removeHead() throws NullPointerException;
+
+    /**
+     * Method to remove the last object in the list
+     * @return E - The object that was previously held at the end of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    E removeTail() throws NullPointerException;
+
+    /**
+     * Method to remove one copy of an object from the list
+     * @param value The object that we want to remove
+     * @return boolean - True if the object was held and one copy of it has been removed, otherwise false
+     */
+    boolean remove(E value);
+
+    /**
+     * Clears the contents of the entire list, size is reset to 0
+     */
+    void clear();
+}
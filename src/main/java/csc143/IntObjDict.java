@@ -0,0 +1,344 @@
+package csc143;
+
+/**
+ * Class to create a dictionary keyed by primitive ints. It follows the IDict contract, but keys are kept unboxed in an int
+ * array next to a flat value array and found by linear probing, so get and put never allocate and each entry costs one int
+ * and one reference instead of a boxed Integer plus a HashEntry. The key 0 is used to mark an empty slot, so an entry with
+ * the key 0 is held to the side of the arrays
+ */
+public class IntObjDict<V>{
+    //private fields
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private final float loadFactor;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Constructor for an IntObjDict object with a user desired capacity and load factor
+     * @param initialCapacity The number of entries the dictionary should be able to hold before it has to grow
+     * @param loadFactor The ratio of entries to slots that triggers the arrays to grow, must be greater than 0 and less than 1
+     * @throws IllegalArgumentException if the capacity is negative or the load factor is out of range
+     */
+    public IntObjDict(int initialCapacity, float loadFactor){
+        if(initialCapacity < 0){
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if(!(loadFactor > 0 && loadFactor < 1)){
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((long) Math.ceil(initialCapacity / (double) loadFactor)));
+    }
+
+    /**
+     * Constructor for an IntObjDict object with a user desired capacity
+     * @param initialCapacity The number of entries the dictionary should be able to hold before it has to grow
+     */
+    public IntObjDict(int initialCapacity){
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor for an IntObjDict object with a default capacity of 16 entries
+     */
+    public IntObjDict(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Return the size of the number of objects currently held in the dictionary
+     * @return Int - The number of objects that are currently stored in the dictionary
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Check to see if there are any objects held in the dictionary
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Get the value currently associated with the input key without removing the value
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present return null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key){
+        if(key == 0){
+            return zeroValue;
+        }
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Add a key value pair to the dictionary. If the key already exists replace its current value with the input value
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value){
+        if(key == 0){
+            V tempValue = zeroValue;
+            zeroValue = value;
+            if(!hasZeroKey){
+                hasZeroKey = true;
+                size++;
+            }
+            return tempValue;
+        }
+        int slot = slotFor(key);
+        int current;
+        while((current = keys[slot]) != 0){
+            if(current == key){
+                V tempValue = (V) values[slot];
+                values[slot] = value;
+                return tempValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if(++size > threshold){
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the dictionary
+     */
+    @SuppressWarnings("unchecked")
+    public V replace(int key, V value){
+        if(key == 0){
+            return hasZeroKey ? put(0, value) : null;
+        }
+        int slot = findSlot(key);
+        if(slot < 0){
+            return null;
+        }
+        V returnValue = (V) values[slot];
+        values[slot] = value;
+        return returnValue;
+    }
+
+    /**
+     * Find the object that has the associated key and remove it from the dictionary
+     * @param key The key to be searched for within the dictionary
+     * @return V - The value that was held at the input key, return null if the input key was not in the dictionary
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key){
+        if(key == 0){
+            V returnValue = zeroValue;
+            if(hasZeroKey){
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return returnValue;
+        }
+        int slot = findSlot(key);
+        if(slot < 0){
+            return null;
+        }
+        V returnValue = (V) values[slot];
+        removeSlot(slot);
+        return returnValue;
+    }
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the dictionary but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    public boolean remove(int key, V value){
+        if(key == 0){
+            if(!hasZeroKey || !zeroValue.equals(value)){
+                return false;
+            }
+            remove(0);
+            return true;
+        }
+        int slot = findSlot(key);
+        if(slot < 0 || !values[slot].equals(value)){
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Check to see if the input value is currently held by any key
+     * @param value The value to check if held within any key in the dictionary
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    public boolean containsValue(V value){
+        if(hasZeroKey && zeroValue.equals(value)){
+            return true;
+        }
+        for(int i = 0; i < keys.length; i++){
+            if(keys[i] != 0 && values[i].equals(value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input key is currently held anywhere within the dictionary
+     * @param key The key to check if held within the dictionary
+     * @return Boolean - Return true if the key is currently held within the dictionary, otherwise false
+     */
+    public boolean containsKey(int key){
+        return key == 0 ? hasZeroKey : findSlot(key) >= 0;
+    }
+
+    /**
+     * Clear the entired contents of the dictionary and reset the size to 0
+     */
+    public void clear(){
+        for(int i = 0; i < keys.length; i++){
+            keys[i] = 0;
+            values[i] = null;
+        }
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * A string representation of the dictionary in the form of { key:value }
+     * @return String - A string representation of the contents of the dictionary
+     */
+    public String toString(){
+        StringBuilder dataEntries = new StringBuilder("{ ");
+        if(hasZeroKey){
+            dataEntries.append(0).append(':').append(zeroValue).append(' ');
+        }
+        for(int i = 0; i < keys.length; i++){
+            if(keys[i] != 0){
+                dataEntries.append(keys[i]).append(':').append(values[i]).append(' ');
+            }
+        }
+        return dataEntries.append('}').toString();
+    }
+
+    /**
+     * Find the slot currently holding the input key
+     * @param key The key to be searched for, must not be 0
+     * @return Int - The slot holding the key, -1 if the key is not in the dictionary
+     */
+    private int findSlot(int key){
+        int slot = slotFor(key);
+        int current;
+        while((current = keys[slot]) != 0){
+            if(current == key){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empty a slot and shift any entries further along the same probe run back into the gap
+     * @param slot The slot to be emptied
+     */
+    private void removeSlot(int slot){
+        int gap = slot;
+        int current = (gap + 1) & mask;
+        int key;
+        while((key = keys[current]) != 0){
+            int home = slotFor(key);
+            //The entry may only move back if the gap lies between its home slot and where it sits now
+            if(((current - home) & mask) >= ((current - gap) & mask)){
+                keys[gap] = key;
+                values[gap] = values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+    }
+
+    /**
+     * Give the home slot of a key, mixing its bits so that sequential ids are spread over the whole table
+     * @param key The key to be evaluated and given a proper slot
+     * @return Int - The first slot to probe for the input key
+     */
+    private int slotFor(int key){
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Move every entry into a new pair of arrays with the input number of slots
+     * @param newLength The number of slots in the new arrays, must be a power of two
+     */
+    private void resize(int newLength){
+        if(keys.length == MAXIMUM_CAPACITY){
+            if(size - (hasZeroKey ? 1 : 0) == keys.length){
+                throw new IllegalStateException("IntObjDict is full");
+            }
+            threshold = keys.length - 1;
+            return;
+        }
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newLength);
+        for(int i = 0; i < oldKeys.length; i++){
+            int key = oldKeys[i];
+            if(key != 0){
+                int slot = slotFor(key);
+                while(keys[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Replace the key and value arrays with empty arrays of the input length
+     * @param length The number of slots in the new arrays, must be a power of two
+     */
+    private void allocate(int length){
+        keys = new int[length];
+        values = new Object[length];
+        mask = length - 1;
+        threshold = Math.min(length - 1, (int) (length * (double) loadFactor));
+    }
+
+    /**
+     * Round the input number of slots up to a power of two
+     * @param slots The smallest number of slots wanted
+     * @return Int - The smallest power of two that is at least the input, clamped between 2 and the maximum capacity
+     */
+    private static int tableSizeFor(long slots){
+        if(slots >= MAXIMUM_CAPACITY){
+            return MAXIMUM_CAPACITY;
+        }
+        int n = Math.max(2, (int) slots);
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+}
@@ -0,0 +1,82 @@
+package csc143;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class to count samples in power-of-two sized bins, so a whole distribution from 0 up to Long.MAX_VALUE fits in 64
+ * counters. Bin 0 counts samples of 0, and bin i counts samples from 2^(i-1) up to 2^i - 1. Recording is one atomic add,
+ * and the counts can be read from another thread, such as a JMX client, while samples are still being recorded
+ */
+final class Log2Histogram{
+    //Private fields
+    private final AtomicLongArray bins = new AtomicLongArray(64);
+
+    /**
+     * Count one sample
+     * @param sample The value to be counted, negative values are counted as 0
+     */
+    void record(long sample){
+        bins.incrementAndGet(sample <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(sample));
+    }
+
+    /**
+     * Get the number of samples recorded so far
+     * @return Long - The total of every bin
+     */
+    long count(){
+        long count = 0;
+        for(int i = 0; i < 64; i++){
+            count += bins.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get an upper bound for a percentile of the samples, accurate to within a factor of two
+     * @param percentile The percentile wanted, between 0 and 100
+     * @return Long - The largest value the bin holding the percentile can count, 0 if nothing has been recorded
+     */
+    long percentile(double percentile){
+        long[] counts = toArray();
+        long total = 0;
+        for(long count : counts){
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++){
+            seen += counts[i];
+            if(seen >= rank && seen > 0){
+                return i == 0 ? 0 : i == 63 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Get a copy of the bins, trimmed after the last one that has counted anything
+     * @return long[] - The count of every bin up to the last non-empty one
+     */
+    long[] toArray(){
+        long[] counts = new long[64];
+        int length = 0;
+        for(int i = 0; i < 64; i++){
+            counts[i] = bins.get(i);
+            if(counts[i] != 0){
+                length = i + 1;
+            }
+        }
+        long[] trimmed = new long[length];
+        System.arraycopy(counts, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    /**
+     * Set every bin back to 0
+     */
+    void reset(){
+        for(int i = 0; i < 64; i++){
+            bins.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,710 @@
+package csc143;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class to create a dictionary that can hold object with a key/value pair outside the Java heap. It keeps the HashDict bucket
+ * model, but the buckets and entries live in two memory-mapped files inside a directory:
+ * <ul>
+ *     <li>index, a header followed by one 8 byte offset per bucket pointing at the first record of the bucket's chain</li>
+ *     <li>data, an append-only run of records, each holding the offset of the next record in its chain, the key's hash,
+ *     and the key and value bytes written by the dictionary's codecs. Once the table has grown n times this is data.n,
+ *     and the index header names the one it belongs to</li>
+ * </ul>
+ * Keys are hashed from their encoded bytes, so they don't need a hashCode that stays the same between runs.
+ * Since nothing but the two mappings is kept on the heap, the dictionary can hold far more than the heap could, adds no work
+ * for the garbage collector, and reopening the directory brings the whole table back without rebuilding it. Values that are
+ * overwritten with a different length, and entries that are removed, leave their old record behind in the data file until
+ * the table next grows, which copies only the live records into the next data file.
+ * Like HashDict this class is not thread safe. Changes are written straight into the mapped files, but they are only
+ * guaranteed to be on disk, and the files to be consistent for reopening, after force or close has returned
+ */
+public class OffHeapHashDict<K, V> implements IDict<K, V>, Closeable{
+    //private fields
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final Path directory;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private FileChannel dataChannel;
+    private MappedByteBuffer[] dataChunks;
+    //Which data file the index belongs to, bumped each time growIndex writes a new one
+    private int dataGeneration;
+    private int bucketCount;
+    private int size;
+    private long dataEnd;
+    //Scratch space the probe key is encoded into, so lookups compare bytes instead of decoding every stored key
+    private ByteBuffer keyScratch = ByteBuffer.allocate(64);
+    private static final long MAGIC = 0x4F4648617368446CL;
+    //Version 2 added the data generation to the header, version 1 indexes always use the first data file
+    private static final int VERSION = 2;
+    private static final int INDEX_HEADER = 64;
+    private static final int DEFAULT_BUCKETS = 1 << 10;
+    //Keeps the whole index within one 1GB mapping
+    private static final int MAXIMUM_BUCKETS = 1 << 27;
+    private static final float LOAD_FACTOR = 0.75f;
+    //Data is mapped in 64MB chunks, and a record never straddles two chunks
+    private static final int CHUNK_SHIFT = 26;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    //Offset 0 marks the end of a chain, so the first record starts after it
+    private static final long DATA_START = 8;
+    //Record layout: next offset, hash, key length, value length, key bytes, value bytes
+    private static final int RECORD_HEADER = 20;
+    private static final String INDEX_FILE = "index";
+    private static final String DATA_FILE = "data";
+    //growIndex copies records into the new data file through a buffer of this many bytes
+    private static final int COPY_BUFFER = 1 << 20;
+
+    /**
+     * Constructor that opens the dictionary stored in a directory, creating an empty one if the directory holds none
+     * @param directory The directory holding the index and data files
+     * @param keyCodec The codec used to store keys, equal keys must encode to equal bytes
+     * @param valueCodec The codec used to store values
+     * @throws IOException if the files can't be created, opened or mapped, or hold a dictionary of another format
+     */
+    public OffHeapHashDict(Path directory, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException{
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        Files.createDirectories(directory);
+        Path indexPath = directory.resolve(INDEX_FILE);
+        boolean existing = Files.exists(indexPath);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        dataChunks = new MappedByteBuffer[0];
+        if(existing && indexChannel.size() >= INDEX_HEADER){
+            MappedByteBuffer header = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, INDEX_HEADER);
+            int version = header.getInt(8);
+            if(header.getLong(0) != MAGIC || version < 1 || version > VERSION){
+                indexChannel.close();
+                throw new IOException("Not an OffHeapHashDict index: " + indexPath);
+            }
+            bucketCount = header.getInt(12);
+            size = header.getInt(16);
+            dataEnd = header.getLong(24);
+            dataGeneration = version == 1 ? 0 : header.getInt(32);
+            index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER + (long) bucketCount * Long.BYTES);
+        } else{
+            bucketCount = DEFAULT_BUCKETS;
+            size = 0;
+            dataEnd = DATA_START;
+            dataGeneration = 0;
+            index = newIndex(indexChannel, bucketCount);
+        }
+        try{
+            dataChannel = FileChannel.open(dataPath(dataGeneration), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch(IOException e){
+            indexChannel.close();
+            throw e;
+        }
+        writeHeader();
+    }
+
+    /**
+     * Return the size of the number of objects currently held in the dictionary
+     * @return Int - The number of objects that are currently stored in the dictionary
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Check to see if there are any objects held in the dictionary
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Get the value currently associated with the input key without removing the value
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present return null
+     */
+    public V get(K key){
+        int keyLength = encodeKey(key);
+        int hash = keyHash(keyLength);
+        for(long record = bucketHead(hash); record != 0; record = recordNext(record)){
+            if(recordMatches(record, hash, keyLength)){
+                return readValue(record);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add a key value pair to the dictionary. If the key already exists replace its current value with the input value
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     */
+    public V put(K key, V value){
+        int keyLength = encodeKey(key);
+        int hash = keyHash(keyLength);
+        long prev = 0;
+        for(long record = bucketHead(hash); record != 0; record = recordNext(record)){
+            if(recordMatches(record, hash, keyLength)){
+                V tempValue = readValue(record);
+                overwriteValue(prev, hash, record, keyLength, value);
+                return tempValue;
+            }
+            prev = record;
+        }
+        long record = appendRecord(hash, keyLength, value, bucketHead(hash));
+        setBucketHead(hash, record);
+        size++;
+        if(size > bucketCount * LOAD_FACTOR && bucketCount < MAXIMUM_BUCKETS){
+            growIndex();
+        }
+        writeHeader();
+        return null;
+    }
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the dictionary
+     */
+    public V replace(K key, V value){
+        int keyLength = encodeKey(key);
+        int hash = keyHash(keyLength);
+        long prev = 0;
+        for(long record = bucketHead(hash); record != 0; record = recordNext(record)){
+            if(recordMatches(record, hash, keyLength)){
+                V returnValue = readValue(record);
+                overwriteValue(prev, hash, record, keyLength, value);
+                return returnValue;
+            }
+            prev = record;
+        }
+        return null;
+    }
+
+    /**
+     * Find the object that has the associated key and remove it from the dictionary
+     * @param key The key to be searched for within the dictionary
+     * @return V - The value that was held at the input key, return null if the input key was not in the dictionary
+     */
+    public V remove(K key){
+        int keyLength = encodeKey(key);
+        int hash = keyHash(keyLength);
+        long prev = 0;
+        for(long record = bucketHead(hash); record != 0; record = recordNext(record)){
+            if(recordMatches(record, hash, keyLength)){
+                V returnValue = readValue(record);
+                unlink(prev, hash, record);
+                return returnValue;
+            }
+            prev = record;
+        }
+        return null;
+    }
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the dictionary but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    public boolean remove(K key, V value){
+        int keyLength = encodeKey(key);
+        int hash = keyHash(keyLength);
+        long prev = 0;
+        for(long record = bucketHead(hash); record != 0; record = recordNext(record)){
+            if(recordMatches(record, hash, keyLength)){
+                if(!readValue(record).equals(value)){
+                    return false;
+                }
+                unlink(prev, hash, record);
+                return true;
+            }
+            prev = record;
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input value is currently held by any key. Every stored value is decoded, so this is slow
+     * @param value The value to check if held within any key in the dictionary
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    public boolean containsValue(V value){
+        for(int bucket = 0; bucket < bucketCount; bucket++){
+            for(long record = index.getLong(INDEX_HEADER + bucket * Long.BYTES); record != 0; record = recordNext(record)){
+                if(readValue(record).equals(value)){
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input key is currently held anywhere within the dictionary
+     * @param key The key to check if held within the dictionary
+     * @return Boolean - Return true if the key is currently held within the dictionary, otherwise false
+     */
+    public boolean containsKey(K key){
+        int keyLength = encodeKey(key);
+        int hash = keyHash(keyLength);
+        for(long record = bucketHead(hash); record != 0; record = recordNext(record)){
+            if(recordMatches(record, hash, keyLength)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clear the entired contents of the dictionary and reset the size to 0. The data file is written over from the start again
+     */
+    public void clear(){
+        for(int bucket = 0; bucket < bucketCount; bucket++){
+            index.putLong(INDEX_HEADER + bucket * Long.BYTES, 0L);
+        }
+        size = 0;
+        dataEnd = DATA_START;
+        writeHeader();
+    }
+
+    /**
+     * Get the number of bytes the data file is using, including the records left behind by overwrites and removals
+     * @return Long - The number of bytes written to the data file
+     */
+    public long dataBytes(){
+        return dataEnd;
+    }
+
+    /**
+     * Write every change made so far out to the files on disk
+     */
+    public void force(){
+        index.force();
+        for(MappedByteBuffer chunk : dataChunks){
+            chunk.force();
+        }
+    }
+
+    /**
+     * Flush every change to disk and close the files. The dictionary can't be used after this, but a new OffHeapHashDict
+     * on the same directory picks up where this one left off
+     * @throws IOException if the files can't be closed
+     */
+    public void close() throws IOException{
+        if(index != null){
+            force();
+        }
+        index = null;
+        dataChunks = new MappedByteBuffer[0];
+        try{
+            indexChannel.close();
+        } finally{
+            dataChannel.close();
+        }
+    }
+
+    /**
+     * A string representation of the dictionary in the form of { key:value }
+     * @return String - A string representation of the contents of the dictionary
+     */
+    public String toString(){
+        StringBuilder dataEntries = new StringBuilder("{ ");
+        for(int bucket = 0; bucket < bucketCount; bucket++){
+            for(long record = index.getLong(INDEX_HEADER + bucket * Long.BYTES); record != 0; record = recordNext(record)){
+                dataEntries.append(readKey(record)).append(':').append(readValue(record)).append(' ');
+            }
+        }
+        return dataEntries.append('}').toString();
+    }
+
+    /**
+     * Encode a key into the scratch buffer, growing the buffer if the key doesn't fit
+     * @param key The key to be encoded
+     * @return Int - The number of bytes the key encoded into
+     */
+    private int encodeKey(K key){
+        int length = keyCodec.encodedSize(key);
+        if(keyScratch.capacity() < length){
+            keyScratch = ByteBuffer.allocate(Math.max(length, keyScratch.capacity() << 1));
+        }
+        keyScratch.clear();
+        keyCodec.encode(key, keyScratch);
+        return length;
+    }
+
+    /**
+     * Check to see if a record holds the key currently in the scratch buffer
+     * @param record The offset of the record
+     * @param hash The mixed hash of the key
+     * @param keyLength The number of bytes in the encoded key
+     * @return Boolean - True if the record's key bytes match the scratch buffer, otherwise false
+     */
+    private boolean recordMatches(long record, int hash, int keyLength){
+        ByteBuffer chunk = chunkFor(record);
+        int position = chunkPosition(record);
+        if(chunk.getInt(position + 8) != hash || chunk.getInt(position + 12) != keyLength){
+            return false;
+        }
+        int start = position + RECORD_HEADER;
+        for(int i = 0; i < keyLength; i++){
+            if(chunk.get(start + i) != keyScratch.get(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode the key held in a record
+     * @param record The offset of the record
+     * @return K - The key held in the record
+     */
+    private K readKey(long record){
+        ByteBuffer chunk = chunkFor(record).duplicate();
+        int position = chunkPosition(record);
+        chunk.position(position + RECORD_HEADER);
+        return keyCodec.decode(chunk, chunk.getInt(position + 12));
+    }
+
+    /**
+     * Decode the value held in a record
+     * @param record The offset of the record
+     * @return V - The value held in the record
+     */
+    private V readValue(long record){
+        ByteBuffer chunk = chunkFor(record).duplicate();
+        int position = chunkPosition(record);
+        chunk.position(position + RECORD_HEADER + chunk.getInt(position + 12));
+        return valueCodec.decode(chunk, chunk.getInt(position + 16));
+    }
+
+    /**
+     * Give a key a new value. A value that encodes to the same length is written over the old one in place, any other value
+     * gets a new record that takes the old record's place in its chain
+     * @param prev The record before the key's record in the chain, 0 if it is the first
+     * @param hash The mixed hash of the key
+     * @param record The offset of the key's record
+     * @param keyLength The number of bytes in the encoded key, which is still in the scratch buffer
+     * @param value The new value
+     */
+    private void overwriteValue(long prev, int hash, long record, int keyLength, V value){
+        ByteBuffer chunk = chunkFor(record);
+        int position = chunkPosition(record);
+        int valueLength = valueCodec.encodedSize(value);
+        if(valueLength == chunk.getInt(position + 16)){
+            ByteBuffer target = chunk.duplicate();
+            target.position(position + RECORD_HEADER + keyLength);
+            valueCodec.encode(value, target);
+            return;
+        }
+        long replacement = appendRecord(hash, keyLength, value, recordNext(record));
+        if(prev == 0){
+            setBucketHead(hash, replacement);
+        } else{
+            setRecordNext(prev, replacement);
+        }
+        writeHeader();
+    }
+
+    /**
+     * Unlink a record from its chain and lower the size
+     * @param prev The record before it in the chain, 0 if it is the first
+     * @param hash The mixed hash of the record's key
+     * @param record The offset of the record to be unlinked
+     */
+    private void unlink(long prev, int hash, long record){
+        if(prev == 0){
+            setBucketHead(hash, recordNext(record));
+        } else{
+            setRecordNext(prev, recordNext(record));
+        }
+        size--;
+        writeHeader();
+    }
+
+    /**
+     * Write a new record to the end of the data file for the key in the scratch buffer
+     * @param hash The mixed hash of the key
+     * @param keyLength The number of bytes in the encoded key
+     * @param value The value to be stored with the key
+     * @param next The offset of the record that follows this one in its chain
+     * @return Long - The offset of the new record
+     */
+    private long appendRecord(int hash, int keyLength, V value, long next){
+        int valueLength = valueCodec.encodedSize(value);
+        long recordLength = (long) RECORD_HEADER + keyLength + valueLength;
+        if(recordLength > CHUNK_SIZE){
+            throw new IllegalArgumentException("Entry of " + recordLength + " bytes is larger than a data chunk");
+        }
+        long record = dataEnd;
+        //Start a fresh chunk rather than straddle two
+        if((record & (CHUNK_SIZE - 1)) + recordLength > CHUNK_SIZE){
+            record = ((record >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT;
+        }
+        ByteBuffer chunk = chunkFor(record).duplicate();
+        chunk.position(chunkPosition(record));
+        chunk.putLong(next).putInt(hash).putInt(keyLength).putInt(valueLength);
+        chunk.put(keyScratch.array(), 0, keyLength);
+        valueCodec.encode(value, chunk);
+        dataEnd = record + recordLength;
+        return record;
+    }
+
+    /**
+     * Double the number of buckets. The live records are copied, relinked into their new chains, into the next data file,
+     * and a new index for it is filled in next to the old one and then moved over it. The old index and data file are
+     * never written to, so until the move the directory still holds the old table, and after it the new one
+     */
+    private void growIndex(){
+        int newCount = bucketCount << 1;
+        int newGeneration = dataGeneration + 1;
+        Path temporary = directory.resolve(INDEX_FILE + ".resize");
+        FileChannel newIndexChannel = null;
+        FileChannel newDataChannel = null;
+        try{
+            newIndexChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            newDataChannel = FileChannel.open(dataPath(newGeneration), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer newIndex = newIndex(newIndexChannel, newCount);
+            long newEnd = copyRecords(newIndex, newCount, newDataChannel);
+            newIndex.putInt(12, newCount);
+            newIndex.putInt(16, size);
+            newIndex.putLong(24, newEnd);
+            newIndex.putInt(32, newGeneration);
+            newDataChannel.force(true);
+            newIndex.force();
+            Files.move(temporary, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            FileChannel oldIndexChannel = indexChannel;
+            FileChannel oldDataChannel = dataChannel;
+            Path oldData = dataPath(dataGeneration);
+            indexChannel = newIndexChannel;
+            dataChannel = newDataChannel;
+            newIndexChannel = null;
+            newDataChannel = null;
+            index = newIndex;
+            dataChunks = new MappedByteBuffer[0];
+            dataEnd = newEnd;
+            bucketCount = newCount;
+            dataGeneration = newGeneration;
+            try{
+                oldIndexChannel.close();
+                oldDataChannel.close();
+                Files.deleteIfExists(oldData);
+            } catch(IOException e){
+                //The new table is already in place, the old data file is only left behind to be written over by a later grow
+            }
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        } finally{
+            closeQuietly(newIndexChannel);
+            closeQuietly(newDataChannel);
+        }
+    }
+
+    /**
+     * Copy every live record into a new data file, linking each one into its chain in the new index. The records are
+     * packed from the start of the file, so those left behind by overwrites and removals aren't carried over
+     * @param newIndex The new, empty index
+     * @param newCount The number of buckets in the new index
+     * @param newData The new, empty data file
+     * @return Long - The end of the data written to the new file
+     * @throws IOException if the new data file can't be written
+     */
+    private long copyRecords(MappedByteBuffer newIndex, int newCount, FileChannel newData) throws IOException{
+        ByteBuffer out = ByteBuffer.allocate(COPY_BUFFER);
+        long outStart = DATA_START;
+        long newEnd = DATA_START;
+        for(int bucket = 0; bucket < bucketCount; bucket++){
+            for(long record = index.getLong(INDEX_HEADER + bucket * Long.BYTES); record != 0; record = recordNext(record)){
+                ByteBuffer chunk = chunkFor(record).duplicate();
+                int position = chunkPosition(record);
+                int hash = chunk.getInt(position + 8);
+                int length = RECORD_HEADER + chunk.getInt(position + 12) + chunk.getInt(position + 16);
+                long target = newEnd;
+                //Start a fresh chunk rather than straddle two, just as appendRecord does
+                if((target & (CHUNK_SIZE - 1)) + length > CHUNK_SIZE){
+                    target = ((target >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT;
+                }
+                if(target != outStart + out.position() || out.remaining() < length){
+                    writeFully(newData, out.flip(), outStart);
+                    out.clear();
+                    outStart = target;
+                }
+                int slot = INDEX_HEADER + (hash & (newCount - 1)) * Long.BYTES;
+                chunk.limit(position + length).position(position + Long.BYTES);
+                if(length <= out.capacity()){
+                    out.putLong(newIndex.getLong(slot)).put(chunk);
+                } else{
+                    //Too big for the buffer, which is empty by now, so the record is written straight to the file
+                    out.putLong(newIndex.getLong(slot));
+                    writeFully(newData, out.flip(), target);
+                    writeFully(newData, chunk, target + Long.BYTES);
+                    out.clear();
+                    outStart = target + length;
+                }
+                newIndex.putLong(slot, target);
+                newEnd = target + length;
+            }
+        }
+        writeFully(newData, out.flip(), outStart);
+        return newEnd;
+    }
+
+    /**
+     * Write every remaining byte of a buffer to a file, since a positional write may stop short
+     * @param channel The file to be written
+     * @param buffer The buffer holding the bytes between its position and limit
+     * @param position Where in the file the bytes go
+     * @throws IOException if the file can't be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException{
+        while(buffer.hasRemaining()){
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Close a file left open by a failed grow, ignoring any error since the grow has already failed
+     * @param channel The file to be closed, null if it was never opened or has been handed over
+     */
+    private static void closeQuietly(FileChannel channel){
+        if(channel == null){
+            return;
+        }
+        try{
+            channel.close();
+        } catch(IOException e){
+            //Nothing more can be done with it
+        }
+    }
+
+    /**
+     * Get the path of a generation of the data file
+     * @param generation The number of times the table had grown when the file was written
+     * @return Path - The data file, data for the first generation and data.n after that
+     */
+    private Path dataPath(int generation){
+        return directory.resolve(generation == 0 ? DATA_FILE : DATA_FILE + "." + generation);
+    }
+
+    /**
+     * Size an index file for the input number of buckets and map it, with every bucket empty
+     * @param channel The index file
+     * @param buckets The number of buckets
+     * @return MappedByteBuffer - The mapped index
+     * @throws IOException if the file can't be mapped
+     */
+    private static MappedByteBuffer newIndex(FileChannel channel, int buckets) throws IOException{
+        long length = INDEX_HEADER + (long) buckets * Long.BYTES;
+        channel.truncate(0);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        mapped.putLong(0, MAGIC);
+        mapped.putInt(8, VERSION);
+        return mapped;
+    }
+
+    /**
+     * Write the bucket count, size, end of data and data generation into the index header
+     */
+    private void writeHeader(){
+        index.putInt(12, bucketCount);
+        index.putInt(16, size);
+        index.putLong(24, dataEnd);
+        index.putInt(32, dataGeneration);
+    }
+
+    /**
+     * Get the first record in the bucket for a hash
+     * @param hash The mixed hash of a key
+     * @return Long - The offset of the first record, 0 if the bucket is empty
+     */
+    private long bucketHead(int hash){
+        return index.getLong(INDEX_HEADER + (hash & (bucketCount - 1)) * Long.BYTES);
+    }
+
+    /**
+     * Set the first record in the bucket for a hash
+     * @param hash The mixed hash of a key
+     * @param record The offset of the new first record, 0 to empty the bucket
+     */
+    private void setBucketHead(int hash, long record){
+        index.putLong(INDEX_HEADER + (hash & (bucketCount - 1)) * Long.BYTES, record);
+    }
+
+    /**
+     * Get the record that follows a record in its chain
+     * @param record The offset of the record
+     * @return Long - The offset of the next record, 0 if it is the last in the chain
+     */
+    private long recordNext(long record){
+        return chunkFor(record).getLong(chunkPosition(record));
+    }
+
+    /**
+     * Set the record that follows a record in its chain
+     * @param record The offset of the record
+     * @param next The offset of the next record, 0 to end the chain
+     */
+    private void setRecordNext(long record, long next){
+        chunkFor(record).putLong(chunkPosition(record), next);
+    }
+
+    /**
+     * Get the mapped chunk of the data file that holds an offset, mapping it (and growing the file) if needed
+     * @param offset An offset into the data file
+     * @return MappedByteBuffer - The chunk the offset falls in
+     */
+    private MappedByteBuffer chunkFor(long offset){
+        int chunk = (int) (offset >>> CHUNK_SHIFT);
+        if(chunk >= dataChunks.length || dataChunks[chunk] == null){
+            if(chunk >= dataChunks.length){
+                dataChunks = Arrays.copyOf(dataChunks, chunk + 1);
+            }
+            try{
+                dataChunks[chunk] = dataChannel.map(FileChannel.MapMode.READ_WRITE, chunk * CHUNK_SIZE, CHUNK_SIZE);
+            } catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+        return dataChunks[chunk];
+    }
+
+    /**
+     * Get where in its chunk an offset falls
+     * @param offset An offset into the data file
+     * @return Int - The position of the offset within its chunk
+     */
+    private static int chunkPosition(long offset){
+        return (int) (offset & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Hash the encoded key in the scratch buffer. The bytes are hashed rather than the key's hashCode, since hashCode is
+     * only promised to stay the same within one run and the hashes stored in the files have to hold up across restarts
+     * @param keyLength The number of bytes in the encoded key
+     * @return Int - The hash of the key's bytes
+     */
+    private int keyHash(int keyLength){
+        //FNV-1a over the bytes, then the same final mix HashDict uses
+        int h = 0x811C9DC5;
+        for(int i = 0; i < keyLength; i++){
+            h = (h ^ (keyScratch.get(i) & 0xFF)) * 0x01000193;
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,742 @@
+package csc143;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Class to create a dictionary that finds keys by hash and also keeps them in ascending order. Every entry is a single
+ * node that holds its key and value, is chained into a bucket of the hash table, and is also linked into a skip list in
+ * key order, the same way SkipListSortedList links its nodes. get, containsKey and replace go through the buckets as in a
+ * HashDict, adding or removing a key costs an extra expected O(log n) to link it into the order, and ordered walks, forEach
+ * and the navigation methods follow the entries' own links without looking a key up again. Keys can be walked in order,
+ * from any starting point, or by position. Keys can't be null, and as with a TreeMap their compareTo must agree with
+ * their equals
+ * @param <K> The type of the keys, which have to be Comparable
+ * @param <V> The type of the values
+ */
+public class OrderedHashDict<K extends Comparable<K>, V> implements IDict<K, V>{
+    //Private fields
+    private static final int MAX_LEVEL = 32;
+    private static final int DEFAULT_BUCKETS = 16;
+    private static final int MAXIMUM_BUCKETS = 1 << 30;
+    private static final float LOAD_FACTOR = 0.75f;
+    private Entry<K, V>[] buckets;
+    private int threshold;
+    //Sentinel whose next array is the first entry of every level of the key order, it never holds a key
+    private final Entry<K, V> head;
+    private Entry<K, V> tail;
+    private int level;
+    private int size;
+    private int randomSeed;
+
+    /**
+     * Constructor for an OrderedHashDict with a user desired capacity
+     * @param initialCapacity The total capacity for the number of buckets available, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public OrderedHashDict(int initialCapacity){
+        if(initialCapacity < 0){
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        buckets = newEntries(tableSizeFor(initialCapacity));
+        threshold = thresholdFor(buckets.length);
+        head = new Entry<K, V>(0, null, null, MAX_LEVEL);
+        tail = null;
+        level = 1;
+        size = 0;
+        randomSeed = (int) System.nanoTime() | 1;
+    }
+
+    /**
+     * Constructor for an OrderedHashDict with a default capacity of 16 buckets
+     */
+    public OrderedHashDict(){
+        this(DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Return the size of the number of objects currently held in the dictionary
+     * @return Int - The number of objects that are currently stored in the dictionary
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Check to see if there are any objects held in the dictionary
+     * @return Boolean - True if there are no objects currently held, otherwise false
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Get the value currently associated with the input key without removing the value
+     * @param key The key to be searched for
+     * @return V - The value that is associated with the input key, if key is not present return null
+     */
+    public V get(K key){
+        Entry<K, V> entry = find(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Add a key value pair to the dictionary. If the key already exists replace its current value with the input value,
+     * otherwise a new entry is chained into its bucket and linked into its place in the key order
+     * @param key The key to be searched for
+     * @param value The value to be placed with the associated key
+     * @return V - The value that was previously held at the associated key, if there was no key previously there return null
+     * @throws NullPointerException if the key is null
+     */
+    public V put(K key, V value) throws NullPointerException{
+        if(key == null){
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        Entry<K, V> current = find(hash, key);
+        if(current != null){
+            V previous = current.value;
+            current.value = value;
+            return previous;
+        }
+        int[] positions = new int[MAX_LEVEL];
+        Entry<K, V>[] update = pathTo(key, positions);
+        int entryLevel = randomLevel();
+        if(entryLevel > level){
+            //A new level starts out as one link from the sentinel that spans the whole order
+            for(int i = level; i < entryLevel; i++){
+                update[i] = head;
+                positions[i] = 0;
+                head.width[i] = size;
+            }
+            level = entryLevel;
+        }
+        Entry<K, V> entry = new Entry<K, V>(hash, key, value, entryLevel);
+        for(int i = 0; i < entryLevel; i++){
+            //The link update[i] had is cut in two at the new entry, which sits positions[0] - positions[i] + 1 steps on
+            entry.next[i] = update[i].next[i];
+            update[i].next[i] = entry;
+            entry.width[i] = update[i].width[i] - (positions[0] - positions[i]);
+            update[i].width[i] = positions[0] - positions[i] + 1;
+        }
+        //Links on the levels above the new entry now step over one more entry
+        for(int i = entryLevel; i < level; i++){
+            update[i].width[i]++;
+        }
+        entry.prev = update[0] == head ? null : update[0];
+        if(entry.next[0] == null){
+            tail = entry;
+        } else{
+            entry.next[0].prev = entry;
+        }
+        linkBucket(entry);
+        size++;
+        if(size > threshold){
+            resize(buckets.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Find the currently matching key/value pair and replace the value held with the input value
+     * @param key The key to be searched for
+     * @param value The value to replace the current value held at the input key
+     * @return V - The value that was previously held at the input key, return null if the key wasn't in the dictionary
+     */
+    public V replace(K key, V value){
+        Entry<K, V> entry = find(key);
+        if(entry == null){
+            return null;
+        }
+        V previous = entry.value;
+        entry.value = value;
+        return previous;
+    }
+
+    /**
+     * Find the object that has the associated key and remove it from the dictionary
+     * @param key The key to be searched for within the dictionary
+     * @return V - The value that was held at the input key, return null if the input key was not in the dictionary
+     */
+    public V remove(K key){
+        Entry<K, V> entry = find(key);
+        if(entry == null){
+            return null;
+        }
+        unlink(entry);
+        return entry.value;
+    }
+
+    /**
+     * Remove a specific key/value pair, don't remove if the key is within the dictionary but doesn't have the matching value
+     * @param key The key to be searched for
+     * @param value The value to be checked to see if the key is holding on to
+     * @return Boolean - Return true if the key/value pair was removed, otherwise false
+     */
+    public boolean remove(K key, V value){
+        Entry<K, V> entry = find(key);
+        if(entry == null || !Objects.equals(entry.value, value)){
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Add a batch of key value pairs whose keys are in strictly ascending order, where keys[i] is paired with values[i].
+     * The table is grown once up front, and every key above the current last key is linked onto the end of the key order
+     * in O(1), so loading a whole dictionary from sorted data takes O(n) rather than O(n log n). Keys that aren't above the
+     * current last key are put one at a time
+     * @param keys The keys to be added, in strictly ascending order
+     * @param values The values to be paired with the keys
+     * @throws IllegalArgumentException if the two arrays are not the same length, or the keys are not in strictly
+     *                                  ascending order
+     */
+    public void putAllSorted(K[] keys, V[] values) throws IllegalArgumentException{
+        if(keys.length != values.length){
+            throw new IllegalArgumentException("Got " + keys.length + " keys but " + values.length + " values");
+        }
+        for(int i = 1; i < keys.length; i++){
+            if(keys[i - 1].compareTo(keys[i]) >= 0){
+                throw new IllegalArgumentException("Keys are not in strictly ascending order at index " + i);
+            }
+        }
+        int start = 0;
+        if(tail != null){
+            while(start < keys.length && keys[start].compareTo(tail.key) <= 0){
+                put(keys[start], values[start]);
+                start++;
+            }
+        }
+        if(start == keys.length){
+            return;
+        }
+        int needed = size + keys.length - start;
+        if(needed > threshold){
+            resize(tableSizeFor((int) Math.min(MAXIMUM_BUCKETS, (long) Math.ceil(needed / (double) LOAD_FACTOR))));
+        }
+        //The last entry on each level and its position, the ones every appended entry is linked after
+        Entry<K, V>[] last = newEntries(MAX_LEVEL);
+        int[] positions = new int[MAX_LEVEL];
+        int position = 0;
+        Entry<K, V> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            while(current.next[i] != null){
+                position += current.width[i];
+                current = current.next[i];
+            }
+            last[i] = current;
+            positions[i] = position;
+        }
+        for(int k = start; k < keys.length; k++){
+            int entryLevel = randomLevel();
+            if(entryLevel > level){
+                for(int i = level; i < entryLevel; i++){
+                    last[i] = head;
+                    positions[i] = 0;
+                    head.width[i] = size;
+                }
+                level = entryLevel;
+            }
+            Entry<K, V> entry = new Entry<K, V>(spread(keys[k]), keys[k], values[k], entryLevel);
+            for(int i = 0; i < entryLevel; i++){
+                //The link now reaches the new entry at position size + 1, and the new entry has nothing after it
+                last[i].next[i] = entry;
+                last[i].width[i] = size + 1 - positions[i];
+                last[i] = entry;
+                positions[i] = size + 1;
+            }
+            //Levels the entry doesn't reach end in a link that counts one more entry after it
+            for(int i = entryLevel; i < level; i++){
+                last[i].width[i]++;
+            }
+            entry.prev = tail;
+            tail = entry;
+            linkBucket(entry);
+            size++;
+        }
+    }
+
+    /**
+     * Check to see if the input value is currently held by any key. This walks every entry in key order
+     * @param value The value to check if held within any key in the dictionary
+     * @return Boolean - Return true if the value is held in any key, otherwise false
+     */
+    public boolean containsValue(V value){
+        for(Entry<K, V> entry = head.next[0]; entry != null; entry = entry.next[0]){
+            if(Objects.equals(entry.value, value)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check to see if the input key is currently held anywhere within the dictionary
+     * @param key The key to check if held within the dictionary
+     * @return Boolean - Return true if the key is currently held within the dictionary, otherwise false
+     */
+    public boolean containsKey(K key){
+        return find(key) != null;
+    }
+
+    /**
+     * Clear the entire contents of the dictionary and reset the size to 0
+     */
+    public void clear(){
+        Arrays.fill(buckets, null);
+        for(int i = 0; i < MAX_LEVEL; i++){
+            head.next[i] = null;
+            head.width[i] = 0;
+        }
+        tail = null;
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * Gets the smallest key in the dictionary
+     * @return K - The first key in ascending order
+     * @throws NullPointerException if the dictionary is empty
+     */
+    public K firstKey() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        return head.next[0].key;
+    }
+
+    /**
+     * Gets the largest key in the dictionary
+     * @return K - The last key in ascending order
+     * @throws NullPointerException if the dictionary is empty
+     */
+    public K lastKey() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        return tail.key;
+    }
+
+    /**
+     * Find the largest key less than or equal to the input, in O(log n)
+     * @param key The key to be searched around
+     * @return K - The largest key held that is at most the input, null if there is none
+     */
+    public K floorKey(K key){
+        return lastBefore(key, true).key;
+    }
+
+    /**
+     * Find the largest key strictly less than the input, in O(log n)
+     * @param key The key to be searched around
+     * @return K - The largest key held that is below the input, null if there is none
+     */
+    public K lowerKey(K key){
+        return lastBefore(key, false).key;
+    }
+
+    /**
+     * Find the smallest key greater than or equal to the input, in O(log n)
+     * @param key The key to be searched around
+     * @return K - The smallest key held that is at least the input, null if there is none
+     */
+    public K ceilingKey(K key){
+        Entry<K, V> found = lastBefore(key, false).next[0];
+        return found == null ? null : found.key;
+    }
+
+    /**
+     * Find the smallest key strictly greater than the input, in O(log n)
+     * @param key The key to be searched around
+     * @return K - The smallest key held that is above the input, null if there is none
+     */
+    public K higherKey(K key){
+        Entry<K, V> found = lastBefore(key, true).next[0];
+        return found == null ? null : found.key;
+    }
+
+    /**
+     * Get the key at a position in ascending order, in O(log n)
+     * @param index The position of the key, from 0 for the smallest
+     * @return K - The key at that position
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+     */
+    public K keyAt(int index) throws IndexOutOfBoundsException{
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        //Positions here count the sentinel as 0, so the key at index sits at position index + 1
+        int target = index + 1;
+        int position = 0;
+        Entry<K, V> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            while(current.next[i] != null && position + current.width[i] <= target){
+                position += current.width[i];
+                current = current.next[i];
+            }
+            if(position == target){
+                break;
+            }
+        }
+        return current.key;
+    }
+
+    /**
+     * Get the position of a key in ascending order, in O(log n)
+     * @param key The key to be searched for
+     * @return Int - The number of keys smaller than the input, -1 if the key isn't held
+     */
+    public int indexOfKey(K key){
+        int position = 0;
+        Entry<K, V> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Entry<K, V> next = current.next[i];
+            while(next != null && next.key.compareTo(key) < 0){
+                position += current.width[i];
+                current = next;
+                next = current.next[i];
+            }
+        }
+        Entry<K, V> found = current.next[0];
+        return found != null && found.key.compareTo(key) == 0 ? position : -1;
+    }
+
+    /**
+     * Get every key in ascending order. Removing through the view's iterator removes the key and its value from the
+     * dictionary
+     * @return Iterable - The keys held in the dictionary, in ascending order
+     */
+    public Iterable<K> keys(){
+        return () -> new OrderedIterator(head.next[0], null);
+    }
+
+    /**
+     * Get a view of the keys between two bounds, found in O(log n) and then walked in order. Removing through the view's
+     * iterator removes the key and its value from the dictionary
+     * @param from The lowest key in the view, inclusive
+     * @param to The key the view stops at, exclusive
+     * @return Iterable - The keys that are at least from and less than to, in ascending order
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public Iterable<K> keyRange(K from, K to) throws IllegalArgumentException{
+        if(from.compareTo(to) > 0){
+            throw new IllegalArgumentException("from " + from + " is greater than to " + to);
+        }
+        return () -> new OrderedIterator(lastBefore(from, false).next[0], to);
+    }
+
+    /**
+     * Run an action on every key/value pair in ascending key order
+     * @param action The action to be run on each key/value pair
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action){
+        for(Entry<K, V> entry = head.next[0]; entry != null; entry = entry.next[0]){
+            action.accept(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Run an action on every key/value pair whose key is between two bounds, in ascending key order
+     * @param from The lowest key to visit, inclusive
+     * @param to The key to stop at, exclusive
+     * @param action The action to be run on each key/value pair
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public void forEachInRange(K from, K to, BiConsumer<? super K, ? super V> action) throws IllegalArgumentException{
+        if(from.compareTo(to) > 0){
+            throw new IllegalArgumentException("from " + from + " is greater than to " + to);
+        }
+        for(Entry<K, V> entry = lastBefore(from, false).next[0]; entry != null && entry.key.compareTo(to) < 0;
+            entry = entry.next[0]){
+            action.accept(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * A string representation of the dictionary in the form of { key:value }, in ascending key order
+     * @return String - A string representation of the contents of the dictionary
+     */
+    public String toString(){
+        StringBuilder result = new StringBuilder("{ ");
+        forEach((key, value) -> result.append(key).append(':').append(value).append(' '));
+        return result.append('}').toString();
+    }
+
+    /**
+     * Find the entry held at the input key through its bucket
+     * @param key The key to be searched for
+     * @return Entry - The entry holding the input key, null if the key is not in the dictionary
+     */
+    private Entry<K, V> find(Object key){
+        return key == null ? null : find(spread(key), key);
+    }
+
+    /**
+     * Find the entry held at the input key through its bucket, given the key's mixed hash
+     * @param hash The mixed hash of the key
+     * @param key The key to be searched for
+     * @return Entry - The entry holding the input key, null if the key is not in the dictionary
+     */
+    private Entry<K, V> find(int hash, Object key){
+        for(Entry<K, V> entry = buckets[hash & (buckets.length - 1)]; entry != null; entry = entry.hashNext){
+            if(entry.hash == hash && entry.key.equals(key)){
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Chain an entry onto the front of its bucket
+     * @param entry The entry to be chained
+     */
+    private void linkBucket(Entry<K, V> entry){
+        int index = entry.hash & (buckets.length - 1);
+        entry.hashNext = buckets[index];
+        buckets[index] = entry;
+    }
+
+    /**
+     * Remove an entry from its bucket and from every level of the key order it is linked into
+     * @param entry The entry to be removed
+     */
+    private void unlink(Entry<K, V> entry){
+        int index = entry.hash & (buckets.length - 1);
+        if(buckets[index] == entry){
+            buckets[index] = entry.hashNext;
+        } else{
+            Entry<K, V> pred = buckets[index];
+            while(pred.hashNext != entry){
+                pred = pred.hashNext;
+            }
+            pred.hashNext = entry.hashNext;
+        }
+        entry.hashNext = null;
+        Entry<K, V>[] update = pathTo(entry.key, null);
+        for(int i = 0; i < level; i++){
+            if(update[i].next[i] == entry){
+                update[i].width[i] += entry.width[i] - 1;
+                update[i].next[i] = entry.next[i];
+            } else{
+                update[i].width[i]--;
+            }
+        }
+        Entry<K, V> succ = entry.next[0];
+        if(succ == null){
+            tail = entry.prev;
+        } else{
+            succ.prev = entry.prev;
+        }
+        while(level > 1 && head.next[level - 1] == null){
+            level--;
+        }
+        size--;
+    }
+
+    /**
+     * Move every entry into a new bucket array. The entries are found by walking the key order rather than the old
+     * buckets, and keep their place in the order
+     * @param length The number of buckets in the new array
+     */
+    private void resize(int length){
+        if(length <= buckets.length){
+            return;
+        }
+        buckets = newEntries(length);
+        threshold = thresholdFor(length);
+        for(Entry<K, V> entry = head.next[0]; entry != null; entry = entry.next[0]){
+            linkBucket(entry);
+        }
+    }
+
+    /**
+     * Find, on every level, the last entry holding a key smaller than the input
+     * @param key The key to be searched for
+     * @param positions Filled in with the position of the entry found on each level, or null if they aren't needed
+     * @return Entry[] - The last entry before the key on each level, the sentinel where there is none
+     */
+    private Entry<K, V>[] pathTo(K key, int[] positions){
+        Entry<K, V>[] update = newEntries(MAX_LEVEL);
+        int position = 0;
+        Entry<K, V> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Entry<K, V> next = current.next[i];
+            while(next != null && next.key.compareTo(key) < 0){
+                position += current.width[i];
+                current = next;
+                next = current.next[i];
+            }
+            update[i] = current;
+            if(positions != null){
+                positions[i] = position;
+            }
+        }
+        return update;
+    }
+
+    /**
+     * Find the last entry holding a key below the input, dropping through the levels without recording the path
+     * @param key The key to be searched around
+     * @param inclusive True to also step past a key equal to the input
+     * @return Entry - The last entry before the input, the sentinel, whose key is null, if there is none
+     */
+    private Entry<K, V> lastBefore(K key, boolean inclusive){
+        int limit = inclusive ? 1 : 0;
+        Entry<K, V> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Entry<K, V> next = current.next[i];
+            while(next != null && next.key.compareTo(key) < limit){
+                current = next;
+                next = current.next[i];
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Pick the number of levels for a new entry, where each extra level is half as likely as the one before it
+     * @return Int - A level between 1 and the maximum level
+     */
+    private int randomLevel(){
+        int x = randomSeed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        randomSeed = x;
+        return Math.min(Integer.numberOfTrailingZeros(x) + 1, Math.min(level + 1, MAX_LEVEL));
+    }
+
+    /**
+     * Get the number of entries a bucket array can hold before it has to grow
+     * @param length The number of buckets
+     * @return Int - The largest size allowed for that many buckets
+     */
+    private static int thresholdFor(int length){
+        return length >= MAXIMUM_BUCKETS ? Integer.MAX_VALUE : (int) (length * LOAD_FACTOR);
+    }
+
+    /**
+     * Round a number of buckets up to a power of two
+     * @param buckets The number of buckets wanted
+     * @return Int - The smallest power of two that is at least the input, capped at the maximum number of buckets
+     */
+    private static int tableSizeFor(int buckets){
+        if(buckets >= MAXIMUM_BUCKETS){
+            return MAXIMUM_BUCKETS;
+        }
+        return buckets <= 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
+    }
+
+    /**
+     * Mix the bits of a key's hash code so that every bit has a say in the low bits used to pick a bucket
+     * @param key The key to be hashed
+     * @return Int - The mixed hash of the key
+     */
+    private static int spread(Object key){
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Make an array of entry links, used for both the buckets and each entry's levels, which Java can't do for a generic
+     * type without an unchecked cast
+     * @param length The number of links
+     * @return Entry[] - An array of null links
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Entry<K, V>[] newEntries(int length){
+        return (Entry<K, V>[]) new Entry<?, ?>[length];
+    }
+
+    /**
+     * Private class for one key/value pair, chained into its bucket and linked into the bottom level of the key order and
+     * a random number of levels above it
+     * @param <K> The key to be associated with this object
+     * @param <V> The value to be associated with this object
+     */
+    private static final class Entry<K, V>{
+        //Private fields
+        private final int hash;
+        private final K key;
+        private V value;
+        //The next entry in the same bucket
+        private Entry<K, V> hashNext;
+        private final Entry<K, V>[] next;
+        //width[i] is how many bottom level steps next[i] is away, or how many entries follow this one if next[i] is null
+        private final int[] width;
+        private Entry<K, V> prev;
+
+        /**
+         * Constructor for an entry that isn't chained or linked to anything yet
+         * @param hash The mixed hash of the key
+         * @param key The key to be associated with this object
+         * @param value The value to be associated with this object
+         * @param levels The number of levels of the key order the entry will be linked into
+         */
+        Entry(int hash, K key, V value, int levels){
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = newEntries(levels);
+            this.width = new int[levels];
+        }
+    }
+
+    /**
+     * Private class to walk the entries in key order from a starting entry up to, but not including, a bound
+     */
+    private class OrderedIterator implements Iterator<K>{
+        //Private fields
+        private Entry<K, V> current;
+        private Entry<K, V> lastReturned;
+        private final K to;
+
+        /**
+         * Constructor for an OrderedIterator
+         * @param start The first entry to return, null if there are none
+         * @param to The key to stop at, exclusive, or null to walk to the last key
+         */
+        OrderedIterator(Entry<K, V> start, K to){
+            this.current = start;
+            this.to = to;
+        }
+
+        /**
+         * Method to check to see if there is another key to be iterated over
+         * @return boolean - True if there is another key to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return current != null && (to == null || current.key.compareTo(to) < 0);
+        }
+
+        /**
+         * Method to get the next key in ascending order
+         * @return K - The next key
+         * @throws NoSuchElementException if there are no keys to be iterated over
+         */
+        public K next() throws NoSuchElementException{
+            if(!hasNext()){
+                throw new NoSuchElementException("There is no element to iterate over");
+            }
+            lastReturned = current;
+            current = current.next[0];
+            return lastReturned.key;
+        }
+
+        /**
+         * Method to remove the key that was just iterated over, along with its value
+         * @throws IllegalStateException if there is not a key to be removed
+         */
+        public void remove() throws IllegalStateException{
+            if(lastReturned == null){
+                throw new IllegalStateException();
+            }
+            unlink(lastReturned);
+            lastReturned = null;
+        }
+    }
+}
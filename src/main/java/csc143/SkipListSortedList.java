@@ -0,0 +1,674 @@
+package csc143;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class that creates a sorted list backed by a skip list. Every node is linked into the bottom level in ascending order,
+ * just like SortedLinkedList, and a random number of the nodes are also linked into the levels above it. Searches start at
+ * the top level and drop down a level each time they would overshoot, so add, contains and remove take expected O(log n)
+ * time instead of a walk from the head. Each forward link also records its width, the number of bottom level steps it
+ * skips, so positions can be found in O(log n) as well: get, indexOf, rank, select and countRange never walk the bottom
+ * level. Equal values may be held more than once. As with a TreeMap, the values' compareTo must agree with their equals
+ */
+public class SkipListSortedList<E extends Comparable<E>> implements ISortedList<E> {
+    //Private fields
+    private static final int MAX_LEVEL = 32;
+    //Sentinel whose next array is the first node of every level, it never holds a value and sits at position 0
+    private final Node<E> head;
+    private Node<E> tail;
+    private int level;
+    private int size;
+    private int randomSeed;
+
+    /**
+     * Constructor for an empty SkipListSortedList
+     */
+    public SkipListSortedList(){
+        head = new Node<E>(null, MAX_LEVEL);
+        tail = null;
+        level = 1;
+        size = 0;
+        randomSeed = (int) System.nanoTime() | 1;
+    }
+
+    /**
+     * Gets the current number of values currently stored in the list
+     * @return int - The current size of the list
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Method to test if the list is currently holding onto any elements
+     * @return boolean - True if the list is empty, otherwise false
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Gets the smallest value in the list
+     * @return E - The object that is currently being held at the beginning of the list
+     * @throws NullPointerException if the list is empty
+     */
+    public E getHead() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        return head.next[0].value;
+    }
+
+    /**
+     * Gets the largest value in the list
+     * @return E - The object that is currently being held at the end of the list
+     * @throws NullPointerException if the list is empty
+     */
+    public E getTail() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        return tail.value;
+    }
+
+    /**
+     * Gets the value held at a position in the list
+     * @param index The position of the value, counting from 0 at the head
+     * @return E - The object held at the input position
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size of the list
+     */
+    public E get(int index) throws IndexOutOfBoundsException{
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        //Positions here count the sentinel as 0, so the value at index sits at position index + 1
+        int target = index + 1;
+        int position = 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            while(current.next[i] != null && position + current.width[i] <= target){
+                position += current.width[i];
+                current = current.next[i];
+            }
+            if(position == target){
+                break;
+            }
+        }
+        return current.value;
+    }
+
+    /**
+     * Gets the k-th smallest value in the list. This is the same lookup as get, named to pair with rank for order
+     * statistic queries, so a percentile p of the list is select((int) (p * (size() - 1)))
+     * @param k The number of values that come before the wanted one
+     * @return E - The k-th smallest object, counting from 0
+     * @throws IndexOutOfBoundsException if k is negative or not less than the size of the list
+     */
+    public E select(int k) throws IndexOutOfBoundsException{
+        return get(k);
+    }
+
+    /**
+     * Count the values in the list that are smaller than the input, which works whether or not the input is held
+     * @param value The object to be ranked
+     * @return int - The number of values strictly less than the input, which is also the index it would be added at
+     */
+    public int rank(E value){
+        int position = 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Node<E> next = current.next[i];
+            while(next != null && next.value.compareTo(value) < 0){
+                position += current.width[i];
+                current = next;
+                next = current.next[i];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Count the values in the list that fall between two bounds
+     * @param from The lowest value to be counted, inclusive
+     * @param to The value to stop counting at, exclusive
+     * @return int - The number of values that are at least from and less than to
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public int countRange(E from, E to) throws IllegalArgumentException{
+        if(from.compareTo(to) > 0){
+            throw new IllegalArgumentException("from " + from + " is greater than to " + to);
+        }
+        return rank(to) - rank(from);
+    }
+
+    /**
+     * Method to find the index in the list where the passed in object is located
+     * @param value The object that we want to find the index of
+     * @return int - The index of the first copy of the input object, -1 if it's not held in the list
+     */
+    public int indexOf(E value){
+        int position = 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Node<E> next = current.next[i];
+            while(next != null && next.value.compareTo(value) < 0){
+                position += current.width[i];
+                current = next;
+                next = current.next[i];
+            }
+        }
+        Node<E> found = current.next[0];
+        return found != null && found.value.compareTo(value) == 0 ? position : -1;
+    }
+
+    /**
+     * Gets the largest value in the list that is not greater than the input
+     * @param value The object to be searched around
+     * @return E - The greatest value less than or equal to the input, null if there is none
+     */
+    public E floor(E value){
+        return lastBefore(value, true).value;
+    }
+
+    /**
+     * Gets the largest value in the list that is less than the input
+     * @param value The object to be searched around
+     * @return E - The greatest value strictly less than the input, null if there is none
+     */
+    public E lower(E value){
+        return lastBefore(value, false).value;
+    }
+
+    /**
+     * Gets the smallest value in the list that is not less than the input
+     * @param value The object to be searched around
+     * @return E - The least value greater than or equal to the input, null if there is none
+     */
+    public E ceiling(E value){
+        Node<E> found = lastBefore(value, false).next[0];
+        return found == null ? null : found.value;
+    }
+
+    /**
+     * Gets the smallest value in the list that is greater than the input
+     * @param value The object to be searched around
+     * @return E - The least value strictly greater than the input, null if there is none
+     */
+    public E higher(E value){
+        Node<E> found = lastBefore(value, true).next[0];
+        return found == null ? null : found.value;
+    }
+
+    /**
+     * Get a view of the values between two bounds. Nothing is copied: each iterator finds its starting point in O(log n)
+     * and then walks the bottom level, so it always reflects the list as it is when iterated
+     * @param from The lowest value in the view, inclusive
+     * @param to The value the view stops at, exclusive
+     * @return Iterable - The values that are at least from and less than to, in ascending order
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public Iterable<E> subList(E from, E to) throws IllegalArgumentException{
+        if(from.compareTo(to) > 0){
+            throw new IllegalArgumentException("from " + from + " is greater than to " + to);
+        }
+        return () -> new RangeIterator(lastBefore(from, false).next[0], to);
+    }
+
+    /**
+     * Get a view of the values below a bound, in the same way as subList
+     * @param to The value the view stops at, exclusive
+     * @return Iterable - The values less than to, in ascending order
+     */
+    public Iterable<E> headList(E to){
+        return () -> new RangeIterator(head.next[0], to);
+    }
+
+    /**
+     * Get a view of the values from a bound onwards, in the same way as subList
+     * @param from The lowest value in the view, inclusive
+     * @return Iterable - The values that are at least from, in ascending order
+     */
+    public Iterable<E> tailList(E from){
+        return () -> new RangeIterator(lastBefore(from, false).next[0], null);
+    }
+
+    /**
+     * Method to check to see if an object is currently being held within the list
+     * @param value The object that we want to know is contained in our list
+     * @return boolean - True if the list contains the value passed in, otherwise false
+     */
+    public boolean contains(E value){
+        Node<E> found = pathTo(value, null)[0].next[0];
+        return found != null && found.value.compareTo(value) == 0;
+    }
+
+    /**
+     * Method that adds an object to the list in ascending order, in front of any copies of it already held
+     * @param value The object that we want to add to the list
+     */
+    public void add(E value){
+        int[] positions = new int[MAX_LEVEL];
+        Node<E>[] update = pathTo(value, positions);
+        int nodeLevel = randomLevel();
+        if(nodeLevel > level){
+            //A new level starts out as one link from the sentinel that spans the whole list
+            for(int i = level; i < nodeLevel; i++){
+                update[i] = head;
+                positions[i] = 0;
+                head.width[i] = size;
+            }
+            level = nodeLevel;
+        }
+        Node<E> node = new Node<E>(value, nodeLevel);
+        for(int i = 0; i < nodeLevel; i++){
+            //The link update[i] had is cut in two at the new node, which sits positions[0] - positions[i] + 1 steps on
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.width[i] = update[i].width[i] - (positions[0] - positions[i]);
+            update[i].width[i] = positions[0] - positions[i] + 1;
+        }
+        //Links on the levels above the new node now step over one more node
+        for(int i = nodeLevel; i < level; i++){
+            update[i].width[i]++;
+        }
+        //The bottom level is also linked backwards, with the first node pointing back at null rather than the sentinel
+        node.prev = update[0] == head ? null : update[0];
+        if(node.next[0] == null){
+            tail = node;
+        } else{
+            node.next[0].prev = node;
+        }
+        size++;
+    }
+
+    /**
+     * Method to add all the contents of another sorted list to this list
+     * @param other The list that we want to add the contents of to this list
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(ISortedList<E> other){
+        if(other == this){
+            //Copy the values out first, otherwise the walk would run into the values it just added
+            Object[] values = new Object[size];
+            int i = 0;
+            for(E value : this){
+                values[i++] = value;
+            }
+            for(Object value : values){
+                add((E) value);
+            }
+            return;
+        }
+        for(E value : other){
+            add(value);
+        }
+    }
+
+    /**
+     * Method to add values that are already in ascending order and no smaller than the tail. Each value is linked onto the
+     * end of every level it reaches without searching for its place, so the whole batch takes O(m) time after an O(log n)
+     * walk to the end of the list. Values before one that is out of order have already been added when the exception
+     * is thrown
+     * @param values The values to be added, in ascending order
+     * @throws IllegalArgumentException if a value is smaller than the one before it, or than the tail
+     */
+    public void appendSorted(Iterable<? extends E> values) throws IllegalArgumentException{
+        //The last node on each level and its position, the ones every appended node is linked after
+        Node<E>[] last = newNodes(MAX_LEVEL);
+        int[] positions = new int[MAX_LEVEL];
+        int position = 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            while(current.next[i] != null){
+                position += current.width[i];
+                current = current.next[i];
+            }
+            last[i] = current;
+            positions[i] = position;
+        }
+        for(E value : values){
+            if(tail != null && tail.value.compareTo(value) > 0){
+                throw new IllegalArgumentException(value + " is smaller than " + tail.value);
+            }
+            int nodeLevel = randomLevel();
+            if(nodeLevel > level){
+                for(int i = level; i < nodeLevel; i++){
+                    last[i] = head;
+                    positions[i] = 0;
+                    head.width[i] = size;
+                }
+                level = nodeLevel;
+            }
+            Node<E> node = new Node<E>(value, nodeLevel);
+            for(int i = 0; i < nodeLevel; i++){
+                //The link now reaches the new node at position size + 1, and the new node has nothing after it
+                last[i].next[i] = node;
+                last[i].width[i] = size + 1 - positions[i];
+                last[i] = node;
+                positions[i] = size + 1;
+            }
+            //Levels the node doesn't reach end in a link that counts one more node after it
+            for(int i = nodeLevel; i < level; i++){
+                last[i].width[i]++;
+            }
+            node.prev = tail;
+            tail = node;
+            size++;
+        }
+    }
+
+    /**
+     * Method to remove the first object in the list
+     * @return E - The object that was previously held at the beginning of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeHead() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        Node<E> first = head.next[0];
+        unlink(first, pathTo(1));
+        return first.value;
+    }
+
+    /**
+     * Method to remove the last object in the list
+     * @return E - The object that was previously held at the end of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeTail() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        Node<E> last = tail;
+        unlink(last, pathTo(size));
+        return last.value;
+    }
+
+    /**
+     * Method to remove one copy of a desired object from the list
+     * @param value The object in the list that we want to remove
+     * @return boolean - True if the value was successfully removed, otherwise false
+     */
+    public boolean remove(E value){
+        Node<E>[] update = pathTo(value, null);
+        Node<E> found = update[0].next[0];
+        if(found == null || found.value.compareTo(value) != 0){
+            return false;
+        }
+        unlink(found, update);
+        return true;
+    }
+
+    /**
+     * Clears the contents of the entire list, size is reset to 0
+     */
+    public void clear(){
+        for(int i = 0; i < MAX_LEVEL; i++){
+            head.next[i] = null;
+            head.width[i] = 0;
+        }
+        tail = null;
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * Method to give a string representation of the list
+     * @return String - The string representation of the list in the form [a, b, c]
+     */
+    public String toString(){
+        StringBuilder result = new StringBuilder("[");
+        for(Node<E> current = head.next[0]; current != null; current = current.next[0]){
+            if(current != head.next[0]){
+                result.append(", ");
+            }
+            result.append(current.value);
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * Creates an Iterator that walks the list in ascending order
+     * @return Iterator - An Iterator object to iterate over the list
+     */
+    public Iterator<E> iterator(){
+        return new SkipListIterator();
+    }
+
+    /**
+     * Find, on every level, the last node holding a value smaller than the input. The node after the one found on the
+     * bottom level is then the first copy of the value, if it is held at all
+     * @param value The object to be searched for
+     * @param positions Filled in with the position of the node found on each level, or null if they aren't needed
+     * @return Node[] - The last node before the value on each level, the sentinel where there is none
+     */
+    private Node<E>[] pathTo(E value, int[] positions){
+        Node<E>[] update = newNodes(MAX_LEVEL);
+        int position = 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Node<E> next = current.next[i];
+            while(next != null && next.value.compareTo(value) < 0){
+                position += current.width[i];
+                current = next;
+                next = current.next[i];
+            }
+            update[i] = current;
+            if(positions != null){
+                positions[i] = position;
+            }
+        }
+        return update;
+    }
+
+    /**
+     * Find the last node holding a value below the input, dropping through the levels without recording the path
+     * @param value The object to be searched around
+     * @param inclusive True to also step past values equal to the input
+     * @return Node - The last node before the input, the sentinel, whose value is null, if there is none
+     */
+    private Node<E> lastBefore(E value, boolean inclusive){
+        int limit = inclusive ? 1 : 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            Node<E> next = current.next[i];
+            while(next != null && next.value.compareTo(value) < limit){
+                current = next;
+                next = current.next[i];
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Find, on every level, the last node that comes before a position. Going by position rather than value picks out
+     * the right node even when it is one of several copies of a value
+     * @param target The position to find the path to, from 1 at the head to size at the tail
+     * @return Node[] - The last node before the position on each level, the sentinel where there is none
+     */
+    private Node<E>[] pathTo(int target){
+        Node<E>[] update = newNodes(MAX_LEVEL);
+        int position = 0;
+        Node<E> current = head;
+        for(int i = level - 1; i >= 0; i--){
+            while(current.next[i] != null && position + current.width[i] < target){
+                position += current.width[i];
+                current = current.next[i];
+            }
+            update[i] = current;
+        }
+        return update;
+    }
+
+    /**
+     * Unlink a node from every level it is linked into and shorten the links that stepped over it
+     * @param node The node to be removed
+     * @param update The last node before the node on each level
+     */
+    private void unlink(Node<E> node, Node<E>[] update){
+        for(int i = 0; i < level; i++){
+            if(update[i].next[i] == node){
+                update[i].width[i] += node.width[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else{
+                update[i].width[i]--;
+            }
+        }
+        Node<E> succ = node.next[0];
+        if(succ == null){
+            tail = node.prev;
+        } else{
+            succ.prev = node.prev;
+        }
+        while(level > 1 && head.next[level - 1] == null){
+            level--;
+        }
+        size--;
+    }
+
+    /**
+     * Pick the number of levels for a new node, where each extra level is half as likely as the one before it
+     * @return Int - A level between 1 and the maximum level
+     */
+    private int randomLevel(){
+        //Xorshift, since only a few random bits are needed per add and Random would cost a CAS each time
+        int x = randomSeed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        randomSeed = x;
+        return Math.min(Integer.numberOfTrailingZeros(x) + 1, Math.min(level + 1, MAX_LEVEL));
+    }
+
+    /**
+     * Make an array of node links, which Java can't do for a generic type without an unchecked cast
+     * @param length The number of links
+     * @return Node[] - An array of null links
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] newNodes(int length){
+        return (Node<E>[]) new Node<?>[length];
+    }
+
+    /**
+     * Private class to create a Node object that is linked into the bottom level and a random number of levels above it
+     * @param <E> The type of the value held in the node
+     */
+    private static final class Node<E>{
+        //Private fields
+        private final E value;
+        private final Node<E>[] next;
+        //width[i] is how many bottom level steps next[i] is away, or how many nodes follow this one if next[i] is null
+        private final int[] width;
+        private Node<E> prev;
+
+        /**
+         * Constructor for a node that isn't linked to anything yet
+         * @param value The object to be held in the node
+         * @param levels The number of levels the node will be linked into
+         */
+        Node(E value, int levels){
+            this.value = value;
+            this.next = newNodes(levels);
+            this.width = new int[levels];
+        }
+    }
+
+    /**
+     * Private class to walk the bottom level from a starting node up to, but not including, a bound
+     */
+    private class RangeIterator implements Iterator<E>{
+        //Private fields
+        private Node<E> current;
+        private final E to;
+
+        /**
+         * Constructor for a RangeIterator
+         * @param start The first node of the range, null if the range is empty
+         * @param to The value to stop at, exclusive, or null to walk to the end of the list
+         */
+        RangeIterator(Node<E> start, E to){
+            this.to = to;
+            current = start;
+        }
+
+        /**
+         * Method to check to see if there is another object in the range
+         * @return boolean - True if there is another object to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return current != null && (to == null || current.value.compareTo(to) < 0);
+        }
+
+        /**
+         * Method to get the next object in the range
+         * @return E - The next object in the range
+         * @throws NoSuchElementException if there are no objects left in the range
+         */
+        public E next() throws NoSuchElementException{
+            if(!hasNext()){
+                throw new NoSuchElementException("There is no element to iterate over");
+            }
+            E result = current.value;
+            current = current.next[0];
+            return result;
+        }
+    }
+
+    /**
+     * Private class to walk the list along the bottom level in ascending order
+     */
+    private class SkipListIterator implements Iterator<E>{
+        //Private fields
+        private Node<E> current;
+        private Node<E> lastReturned;
+        //Position of the node next will return, so remove can find lastReturned among equal copies
+        private int position;
+
+        /**
+         * Constructor for SkipListIterator that starts at the first node of the list
+         */
+        SkipListIterator(){
+            current = head.next[0];
+            position = 1;
+        }
+
+        /**
+         * Method to check to see if there is another object to be iterated over
+         * @return boolean - True if there is another object to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return current != null;
+        }
+
+        /**
+         * Method to get the next object that is held in the list
+         * @return E - The next object in the list
+         * @throws NoSuchElementException if there are no objects to be iterated over
+         */
+        public E next() throws NoSuchElementException{
+            if(current == null){
+                throw new NoSuchElementException("There is no element to iterate over");
+            }
+            lastReturned = current;
+            current = current.next[0];
+            position++;
+            return lastReturned.value;
+        }
+
+        /**
+         * Method to remove the object that was just iterated over
+         * @throws IllegalStateException if there is not an object to be removed
+         */
+        public void remove() throws IllegalStateException{
+            if(lastReturned == null){
+                throw new IllegalStateException();
+            }
+            position--;
+            unlink(lastReturned, pathTo(position));
+            lastReturned = null;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package csc143;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class holding the file handling shared by the binary snapshots of HashDict and SortedLinkedList. A snapshot starts with
+ * an 8 byte magic number naming the collection and a 4 byte format version, followed by whatever header and records the
+ * collection writes. Objects are stored as a 4 byte length, -1 for null, followed by the bytes written by a Codec. All
+ * numbers are big-endian
+ */
+final class Snapshot{
+    //private fields
+    static final int VERSION = 1;
+    //Snapshots are written and streamed back through a buffer of this many bytes
+    private static final int BUFFER = 1 << 16;
+    //Mapped reads look at the file through windows of at most this many bytes
+    private static final long WINDOW = 1L << 30;
+
+    /**
+     * Snapshot only has static members
+     */
+    private Snapshot(){
+    }
+
+    /**
+     * Class to write a snapshot through a FileChannel. The snapshot is written next to the target file and only moved over
+     * it by commit, so a crash part way through never leaves a half written snapshot behind
+     */
+    static final class Writer implements Closeable{
+        //Private fields
+        private final Path file;
+        private final Path temporary;
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+        private boolean committed;
+
+        /**
+         * Constructor that starts a snapshot with its magic number and version
+         * @param file The file the snapshot will be moved to once committed
+         * @param magic The number naming the collection the snapshot holds
+         * @throws IOException if the temporary file can't be created
+         */
+        Writer(Path file, long magic) throws IOException{
+            this.file = file;
+            temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            buffer = ByteBuffer.allocateDirect(BUFFER);
+            buffer.putLong(magic).putInt(VERSION);
+        }
+
+        /**
+         * Make room in the buffer for a number of bytes, writing out what it holds first if they don't fit
+         * @param bytes The number of bytes about to be put into the buffer
+         * @return ByteBuffer - The buffer, with at least the input number of bytes remaining
+         * @throws IOException if the buffer can't be written out
+         */
+        ByteBuffer reserve(int bytes) throws IOException{
+            if(buffer.remaining() < bytes){
+                flush();
+                if(buffer.capacity() < bytes){
+                    buffer = ByteBuffer.allocateDirect(bytes);
+                }
+            }
+            return buffer;
+        }
+
+        /**
+         * Write an object as its length followed by its encoded bytes
+         * @param codec The codec used to encode the object
+         * @param value The object to be written, may be null
+         * @param <T> The type of the object
+         * @throws IOException if the buffer can't be written out
+         */
+        <T> void putValue(Codec<T> codec, T value) throws IOException{
+            if(value == null){
+                reserve(Integer.BYTES).putInt(-1);
+                return;
+            }
+            int length = codec.encodedSize(value);
+            codec.encode(value, reserve(Integer.BYTES + length).putInt(length));
+        }
+
+        /**
+         * Write everything buffered out to disk, then move the snapshot over the target file
+         * @throws IOException if the snapshot can't be written or moved
+         */
+        void commit() throws IOException{
+            flush();
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        /**
+         * Close the file, throwing the snapshot away if it was never committed
+         * @throws IOException if the temporary file can't be closed or deleted
+         */
+        public void close() throws IOException{
+            if(!committed){
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        /**
+         * Write out everything held in the buffer
+         * @throws IOException if the channel fails to take the bytes
+         */
+        private void flush() throws IOException{
+            buffer.flip();
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Class to read a snapshot back, either streamed through a buffer or straight out of the page cache through a read only
+     * memory mapping
+     */
+    static final class Reader implements Closeable{
+        //Private fields
+        private final FileChannel channel;
+        private final boolean mapped;
+        private final long fileSize;
+        private ByteBuffer buffer;
+        //Where in the file the mapped window starts
+        private long windowStart;
+
+        /**
+         * Constructor that opens a snapshot and checks its magic number and version
+         * @param file The snapshot file
+         * @param magic The number naming the collection the snapshot should hold
+         * @param mapped True to read through a memory mapping, false to stream the file through a buffer
+         * @throws IOException if the file can't be opened, or doesn't hold a snapshot of this collection and version
+         */
+        Reader(Path file, long magic, boolean mapped) throws IOException{
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.mapped = mapped;
+            fileSize = channel.size();
+            buffer = mapped ? ByteBuffer.allocate(0) : ByteBuffer.allocateDirect(BUFFER).flip();
+            try{
+                ByteBuffer header = require(Long.BYTES + Integer.BYTES);
+                if(header.getLong() != magic){
+                    throw new IOException("Not a snapshot of this collection: " + file);
+                }
+                int version = header.getInt();
+                if(version != VERSION){
+                    throw new IOException("Unsupported snapshot version " + version + ": " + file);
+                }
+            } catch(IOException e){
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Make sure a number of bytes can be read from the buffer, moving the mapped window along or reading more of the
+         * file in if they can't
+         * @param bytes The number of bytes about to be read
+         * @return ByteBuffer - The buffer, with at least the input number of bytes remaining
+         * @throws IOException if the file ends before that many bytes
+         */
+        ByteBuffer require(int bytes) throws IOException{
+            if(buffer.remaining() >= bytes){
+                return buffer;
+            }
+            if(mapped){
+                long start = windowStart + buffer.position();
+                long length = Math.min(Math.max(WINDOW, bytes), fileSize - start);
+                if(length < bytes){
+                    throw new EOFException("Snapshot is truncated");
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                windowStart = start;
+                return buffer;
+            }
+            if(buffer.capacity() < bytes){
+                buffer = ByteBuffer.allocateDirect(bytes).put(buffer);
+            } else{
+                buffer.compact();
+            }
+            while(buffer.position() < bytes){
+                if(channel.read(buffer) < 0){
+                    throw new EOFException("Snapshot is truncated");
+                }
+            }
+            return buffer.flip();
+        }
+
+        /**
+         * Read an object written by Writer.putValue
+         * @param codec The codec used to decode the object
+         * @param <T> The type of the object
+         * @return T - The decoded object, null if null was written
+         * @throws IOException if the file ends part way through the object or holds a negative length
+         */
+        <T> T getValue(Codec<T> codec) throws IOException{
+            int length = require(Integer.BYTES).getInt();
+            if(length < 0){
+                if(length != -1){
+                    throw new IOException("Corrupt snapshot: object length " + length);
+                }
+                return null;
+            }
+            return codec.decode(require(length), length);
+        }
+
+        /**
+         * Close the file
+         * @throws IOException if the file can't be closed
+         */
+        public void close() throws IOException{
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,959 @@
+package csc143;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Class that creates a LinkedList of sorted data. In counted mode every distinct value is held by a single node that keeps
+ * a count of its copies, so heavily duplicated input costs one node per distinct value instead of one per copy. A counted
+ * list still behaves as a list of every copy: size, indexOf, the iterator, remove and removeHead/removeTail all see each copy
+ */
+public class SortedLinkedList<E extends Comparable<E>> implements ISortedList<E> {
+    // Private fields
+    private int size;
+    private E value;
+    private Node<E> head;
+    private Node<E> tail;
+    //Most values the list will hold before it starts dropping its largest, Integer.MAX_VALUE if there is no limit
+    private final int capacity;
+    //True if copies of a value share one node and its count, rather than getting a node each
+    private final boolean counted;
+    //Told how far every add, remove and indexOf walks when set, null when metrics are off
+    private SortedListListener listener;
+    //writeTo hands its output on in pieces of about this many characters
+    private static final int WRITE_BUFFER = 8192;
+    //Opens every snapshot file, "SortList" in ASCII
+    private static final long SNAPSHOT_MAGIC = 0x536F72744C697374L;
+    //Constructor for initializing a SortedLinkedList
+    public SortedLinkedList(){
+        this(false);
+    }
+
+    /**
+     * Constructor for an unbounded SortedLinkedList, choosing whether copies of a value are counted in a single node
+     * @param counted True to keep one node per distinct value holding a count of its copies, false for a node per copy
+     */
+    public SortedLinkedList(boolean counted){
+        head = null;
+        tail = null;
+        capacity = Integer.MAX_VALUE;
+        this.counted = counted;
+    }
+
+    /**
+     * Constructor for a bounded SortedLinkedList that only keeps the smallest values it is given, for use as a top-K
+     * tracker. Once the list is full, a value that isn't smaller than the tail is turned away with a single compare, and
+     * any other value is added and the tail dropped to make room
+     * @param capacity The most values the list will hold
+     * @throws IllegalArgumentException if the capacity is less than 1
+     */
+    public SortedLinkedList(int capacity){
+        if(capacity < 1){
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        head = null;
+        tail = null;
+        this.capacity = capacity;
+        counted = false;
+    }
+
+    /**
+     * Constructor for a SortedLinkedList holding the contents of a collection, which don't have to be in any order. The
+     * values are sorted once and then linked in a single pass, instead of each one being walked into place
+     * @param values The objects to be held in the list
+     */
+    public SortedLinkedList(Collection<? extends E> values){
+        this();
+        addAll(values);
+    }
+
+    /**
+     * Gets the most values the list will hold
+     * @return int - The capacity of the list, Integer.MAX_VALUE if it has no limit
+     */
+    public int getCapacity(){
+        return capacity;
+    }
+
+    /**
+     * Gets the current number of nodes currently stored in the list
+     * @return int - The current size of the linked list
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Method to test if the list is currently holding onto any elements
+     * @return boolean - True if the list is empty, otherwise false
+     */
+    public boolean isEmpty(){
+        return(head == null);
+    }
+
+    /**
+     * Gets the value of whatever object is currently being held at the first node in the list
+     * @return E - The object that is currently being held at the beginning of the list
+     */
+    public E getHead(){
+        return head.value;
+    }
+
+    /**
+     * Get the value of whatever object is currently being held at the last node in the list
+     * @return E - The object that is currently being held at the end of the list
+     */
+    public E getTail(){
+        return tail.value;
+    }
+
+    /**
+     * Method to find the index in the list where the passed in object is located
+     * @param value The object that we want to find the index of
+     * @return int - The index where the input object is located, -1 if it's not held in the list
+     */
+    public int indexOf(E value){
+        int index = 0;
+        int steps = 0;
+        Node<E> current = head;
+        while(current != null && !current.value.equals(value)){
+            index += current.count;
+            current = current.next;
+            steps++;
+        }
+        if(listener != null){
+            listener.traversed(SortedListListener.Operation.INDEX_OF, steps);
+        }
+        return current == null ? -1 : index;
+    }
+
+    /**
+     * Set the listener told how far every add, remove and indexOf walks from now on, such as a SortedListMetrics. With no
+     * listener set, which is the default, each of those calls only pays for checking that the listener is null
+     * @param listener The listener to be told, null to stop reporting
+     */
+    public void setListener(SortedListListener listener){
+        this.listener = listener;
+    }
+
+    /**
+     * Method to count the copies of an object held in the list
+     * @param value The object that we want to count
+     * @return int - The number of copies of the input object in the list, 0 if it's not held
+     */
+    public int count(E value){
+        int copies = 0;
+        Node<E> current = head;
+        while(current != null && current.value.compareTo(value) < 0){
+            current = current.next;
+        }
+        //In counted mode this is a single node, otherwise the copies sit next to each other
+        while(current != null && current.value.compareTo(value) == 0){
+            copies += current.count;
+            current = current.next;
+        }
+        return copies;
+    }
+
+    /**
+     * Method to check to see if an object is currently being held within the list
+     * @param value The object that we want to know is contained in our list
+     * @return boolean - True if the list contains the value passed in, otherwise false
+     */
+    public boolean contains(E value){
+        return (indexOf(value) >= 0);
+    }
+
+    /**
+     * Gets the largest value in the list that is not greater than the input
+     * @param value The object to be searched around
+     * @return E - The greatest value less than or equal to the input, null if there is none
+     */
+    public E floor(E value){
+        Node<E> found = lastBefore(value, true);
+        return found == null ? null : found.value;
+    }
+
+    /**
+     * Gets the largest value in the list that is less than the input
+     * @param value The object to be searched around
+     * @return E - The greatest value strictly less than the input, null if there is none
+     */
+    public E lower(E value){
+        Node<E> found = lastBefore(value, false);
+        return found == null ? null : found.value;
+    }
+
+    /**
+     * Gets the smallest value in the list that is not less than the input
+     * @param value The object to be searched around
+     * @return E - The least value greater than or equal to the input, null if there is none
+     */
+    public E ceiling(E value){
+        Iterator<E> range = new RangeIterator(value, true, null);
+        return range.hasNext() ? range.next() : null;
+    }
+
+    /**
+     * Gets the smallest value in the list that is greater than the input
+     * @param value The object to be searched around
+     * @return E - The least value strictly greater than the input, null if there is none
+     */
+    public E higher(E value){
+        Iterator<E> range = new RangeIterator(value, false, null);
+        return range.hasNext() ? range.next() : null;
+    }
+
+    /**
+     * Get a view of the values between two bounds. Nothing is copied: each iterator walks from the head only as far as
+     * the lower bound and then streams forward from there, stopping as soon as it reaches the upper bound, so it always
+     * reflects the list as it is when iterated
+     * @param from The lowest value in the view, inclusive
+     * @param to The value the view stops at, exclusive
+     * @return Iterable - The values that are at least from and less than to, in ascending order
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public Iterable<E> subList(E from, E to) throws IllegalArgumentException{
+        if(from.compareTo(to) > 0){
+            throw new IllegalArgumentException("from " + from + " is greater than to " + to);
+        }
+        return () -> new RangeIterator(from, true, to);
+    }
+
+    /**
+     * Get a view of the values below a bound, in the same way as subList
+     * @param to The value the view stops at, exclusive
+     * @return Iterable - The values less than to, in ascending order
+     */
+    public Iterable<E> headList(E to){
+        return () -> new RangeIterator(null, true, to);
+    }
+
+    /**
+     * Get a view of the values from a bound onwards, in the same way as subList
+     * @param from The lowest value in the view, inclusive
+     * @return Iterable - The values that are at least from, in ascending order
+     */
+    public Iterable<E> tailList(E from){
+        return () -> new RangeIterator(from, true, null);
+    }
+
+    /**
+     * Method that adds an object to the list. If the list is currently empty then the head and tail will be set to the object.
+     * Otherwise the object will be placed in ascending order within the list. A full bounded list treats this the same as
+     * offer, so the value may be turned away or the tail dropped
+     * @param value The object that we want to add to the list
+     */
+    public void add(E value){
+        offer(value);
+    }
+
+    /**
+     * Method that adds an object to the list unless the list is full and the object is no smaller than everything in it.
+     * When a full list does take the object, its largest value is dropped to make room
+     * @param value The object that we want to add to the list
+     * @return boolean - True if the object was added, false if the list is full and the object was turned away
+     */
+    public boolean offer(E value){
+        if(size >= capacity){
+            //The tail is the largest value kept, so anything not below it can't make the cut
+            if(value.compareTo(tail.value) >= 0){
+                return false;
+            }
+            insert(value, 1);
+            removeTail();
+            return true;
+        }
+        insert(value, 1);
+        return true;
+    }
+
+    /**
+     * Method that adds a number of copies of an object to the list. In counted mode this is a single walk and a count
+     * update, however many copies are added
+     * @param value The object that we want to add to the list
+     * @param n The number of copies to add
+     * @throws IllegalArgumentException if n is negative
+     */
+    public void add(E value, int n) throws IllegalArgumentException{
+        if(n < 0){
+            throw new IllegalArgumentException("Illegal number of copies: " + n);
+        }
+        if(capacity != Integer.MAX_VALUE){
+            //Each copy has to be checked against the tail of a bounded list in turn
+            for(int i = 0; i < n; i++){
+                offer(value);
+            }
+        } else if(n > 0){
+            insert(value, n);
+        }
+    }
+
+    /**
+     * Link copies of an object into their place in the list, whatever the capacity
+     * @param value The object that we want to add to the list
+     * @param n The number of copies to add, at least 1
+     */
+    private void insert(E value, int n){
+        //Find the right spot in the list, in front of the first value that isn't smaller
+        Node<E> current = head;
+        int steps = 0;
+        while(current != null && current.value.compareTo(value) < 0){
+            current = current.next;
+            steps++;
+        }
+        if(listener != null){
+            listener.traversed(SortedListListener.Operation.ADD, steps);
+        }
+        if(counted){
+            linkOrCount(current, value, n);
+            return;
+        }
+        for(int i = 0; i < n; i++){
+            linkBefore(current, value);
+        }
+    }
+
+    /**
+     * Method to add all the contents of another sorted list to this.SortedLinkedList. Both lists are already in ascending
+     * order, so they are merged in a single pass over each, O(n + m) instead of a walk from the head for every value
+     * @param other The list that we want to add the contents of to this.SortedLinkedList
+     */
+    public void addAll(ISortedList<E> other){
+        if(other.isEmpty()){
+            return;
+        }
+        if(other == this){
+            //Double every value in place, since walking the list while merging into it would never end
+            for(Node<E> current = head; current != null; current = current.next){
+                if(counted){
+                    size += current.count;
+                    current.count <<= 1;
+                } else{
+                    linkBefore(current.next, current.value);
+                    current = current.next;
+                }
+            }
+            trimToCapacity();
+            return;
+        }
+        mergeSorted(other.iterator());
+        trimToCapacity();
+    }
+
+    /**
+     * Method to add all the contents of a collection to this.SortedLinkedList. The values don't have to be in any order,
+     * they are sorted once and then merged in a single pass
+     * @param values The objects that we want to add to the list
+     */
+    public void addAll(Collection<? extends E> values){
+        E[] sorted = toArray(values);
+        Arrays.sort(sorted);
+        mergeSorted(Arrays.asList(sorted).iterator());
+        trimToCapacity();
+    }
+
+    /**
+     * Copy the values of a collection into an array, which Java can't do for a generic type without an unchecked cast
+     * @param values The objects to be copied
+     * @return E[] - A new array holding the objects
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Comparable<E>> E[] toArray(Collection<? extends E> values){
+        return (E[]) values.toArray(new Comparable<?>[0]);
+    }
+
+    /**
+     * Method to merge any number of sorted lists into a new SortedLinkedList. A heap holds the next value of each list,
+     * so every value costs O(log k) for k lists and is linked straight onto the tail
+     * @param lists The sorted lists to be merged, they are left unchanged
+     * @param <E> The type of the values held in the lists
+     * @return SortedLinkedList - A new list holding every value of every input list
+     */
+    public static <E extends Comparable<E>> SortedLinkedList<E> merge(Collection<? extends ISortedList<E>> lists){
+        SortedLinkedList<E> result = new SortedLinkedList<E>();
+        PriorityQueue<MergeCursor<E>> heap = new PriorityQueue<MergeCursor<E>>(Math.max(1, lists.size()));
+        for(ISortedList<E> list : lists){
+            if(!list.isEmpty()){
+                Iterator<E> values = list.iterator();
+                heap.add(new MergeCursor<E>(values.next(), values));
+            }
+        }
+        while(!heap.isEmpty()){
+            MergeCursor<E> cursor = heap.poll();
+            result.linkBefore(null, cursor.value);
+            if(cursor.rest.hasNext()){
+                cursor.value = cursor.rest.next();
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to remove the first object in the list, head.next then becomes the new head of the list
+     * @return E - The object that was previously held at the beginning of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeHead() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        if(head.count > 1){
+            head.count--;
+            size--;
+            return head.value;
+        }
+        Node<E> removed = head;
+        head = removed.next;
+        //Unlink the old head completely so it can't be reached from the list, or keep anything reachable itself
+        removed.next = null;
+        if(head == null){
+            tail = null;
+        } else{
+            head.prev = null;
+        }
+        size--;
+        return removed.value;
+    }
+
+    /**
+     * Method to remove the last object in the list, tail.prev then becomes the new tail of the list
+     * @return E - The object that was previously held at the end of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeTail() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        if(tail.count > 1){
+            tail.count--;
+            size--;
+            return tail.value;
+        }
+        Node<E> removed = tail;
+        tail = removed.prev;
+        //Unlink the old tail completely so it can't be reached from the list, or keep anything reachable itself
+        removed.prev = null;
+        if(tail == null){
+            head = null;
+        } else{
+            tail.next = null;
+        }
+        size--;
+        return removed.value;
+    }
+
+    /**
+     * Method to remove a single copy of a desired object from the list. In counted mode this takes one off the value's
+     * count and only unlinks its node once the last copy has gone
+     * @param value The object in the list that we want to remove
+     * @return boolean - True if a copy of the value was successfully removed, otherwise false
+     */
+    public boolean remove(E value){
+        Node<E> current = find(value);
+        if(current == null){
+            return false;
+        }
+        if(current.count > 1){
+            current.count--;
+            size--;
+        } else{
+            unlink(current);
+        }
+        return true;
+    }
+
+    /**
+     * Method to remove every copy of a desired object from the list. In counted mode this is a single unlink of the
+     * value's node, however many copies it holds
+     * @param value The object in the list that we want to remove every copy of
+     * @return int - The number of copies that were removed, 0 if the value wasn't in the list
+     */
+    public int removeAll(E value){
+        Node<E> current = find(value);
+        int removed = 0;
+        //In counted mode this is a single node, otherwise the copies sit next to each other
+        while(current != null && current.value.compareTo(value) == 0){
+            Node<E> next = current.next;
+            removed += current.count;
+            unlink(current);
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Clears the contents of the entire list, size is reset to 0
+     */
+    public void clear(){
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Method to give a string representation of the SortedLinkedList
+     * @return String - The string representation of the SortedLinkedList
+     */
+    public String toString(){
+        StringBuilder result = new StringBuilder();
+        try{
+            render(result, result, Integer.MAX_VALUE);
+        } catch(IOException e){
+            //Appending to a StringBuilder never fails
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Write the string representation of the list to a stream, file or buffer, a piece at a time rather than building the
+     * whole string first
+     * @param out Where the list is written, in the same [a, b, c] form as toString
+     * @throws IOException if out fails to take the output
+     */
+    public void writeTo(Appendable out) throws IOException{
+        writeTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Write the string representation of the list to a stream, file or buffer, a piece at a time and stopping after a
+     * number of values. Whatever the size of the list, at most a few thousand characters are buffered before being handed
+     * to out
+     * @param out Where the list is written, in the same [a, b, c] form as toString
+     * @param limit The most values to write, any further values are written as a single ...
+     * @throws IOException if out fails to take the output
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public void writeTo(Appendable out, int limit) throws IOException, IllegalArgumentException{
+        if(limit < 0){
+            throw new IllegalArgumentException("Illegal limit: " + limit);
+        }
+        render(out, new StringBuilder(WRITE_BUFFER + 256), limit);
+    }
+
+    /**
+     * Render the list through a buffer, passing the buffer on to the output whenever it fills up
+     * @param out Where the list is written, or the buffer itself to keep the whole rendering in it
+     * @param buffer The buffer each value is rendered into
+     * @param limit The most values to write
+     * @throws IOException if out fails to take the output
+     */
+    private void render(Appendable out, StringBuilder buffer, int limit) throws IOException{
+        buffer.append('[');
+        int written = 0;
+        walk:
+        for(Node<E> current = head; current != null; current = current.next){
+            for(int i = 0; i < current.count; i++){
+                if(written > 0){
+                    buffer.append(", ");
+                }
+                if(written++ == limit){
+                    buffer.append("...");
+                    break walk;
+                }
+                buffer.append(current.value);
+                if(out != buffer && buffer.length() >= WRITE_BUFFER){
+                    out.append(buffer);
+                    buffer.setLength(0);
+                }
+            }
+        }
+        buffer.append(']');
+        if(out != buffer){
+            out.append(buffer);
+        }
+    }
+
+    /**
+     * Write the list to a binary snapshot file that restore can load back. The values are written from head to tail, one
+     * record per node, along with the node's count in counted mode
+     * @param file The file to write, replaced once the whole snapshot is on disk
+     * @param codec The codec used to write the values
+     * @throws IOException if the snapshot can't be written
+     */
+    public void snapshot(Path file, Codec<E> codec) throws IOException{
+        try(Snapshot.Writer out = new Snapshot.Writer(file, SNAPSHOT_MAGIC)){
+            out.reserve(9).put((byte) (counted ? 1 : 0)).putInt(capacity).putInt(size);
+            for(Node<E> current = head; current != null; current = current.next){
+                if(counted){
+                    out.reserve(4).putInt(current.count);
+                }
+                out.putValue(codec, current.value);
+            }
+            out.commit();
+        }
+    }
+
+    /**
+     * Load a list back from a snapshot file, streaming the file through a buffer
+     * @param file The file written by snapshot
+     * @param codec The codec used to read the values
+     * @param <E> The type of the values
+     * @return SortedLinkedList - A list holding the values of the snapshot, with the same capacity and mode
+     * @throws IOException if the file can't be read or doesn't hold a SortedLinkedList snapshot
+     */
+    public static <E extends Comparable<E>> SortedLinkedList<E> restore(Path file, Codec<E> codec) throws IOException{
+        return restore(file, codec, false);
+    }
+
+    /**
+     * Load a list back from a snapshot file. The snapshot is already in order, so each value is linked onto the tail as it
+     * is read without comparing it to anything
+     * @param file The file written by snapshot
+     * @param codec The codec used to read the values
+     * @param mapped True to read the file through a memory mapping, which skips copying it into a buffer first and is
+     *               fastest when the file is already in the page cache
+     * @param <E> The type of the values
+     * @return SortedLinkedList - A list holding the values of the snapshot, with the same capacity and mode
+     * @throws IOException if the file can't be read or doesn't hold a SortedLinkedList snapshot
+     */
+    public static <E extends Comparable<E>> SortedLinkedList<E> restore(Path file, Codec<E> codec, boolean mapped)
+            throws IOException{
+        try(Snapshot.Reader in = new Snapshot.Reader(file, SNAPSHOT_MAGIC, mapped)){
+            ByteBuffer header = in.require(9);
+            boolean counted = header.get() != 0;
+            int capacity = header.getInt();
+            int size = header.getInt();
+            if(capacity < 1 || size < 0 || size > capacity || (counted && capacity != Integer.MAX_VALUE)){
+                throw new IOException("Corrupt snapshot header: " + file);
+            }
+            SortedLinkedList<E> list = counted ? new SortedLinkedList<E>(true)
+                    : capacity == Integer.MAX_VALUE ? new SortedLinkedList<E>() : new SortedLinkedList<E>(capacity);
+            while(list.size < size){
+                int count = counted ? in.require(4).getInt() : 1;
+                E value = in.getValue(codec);
+                if(count < 1 || count > size - list.size || value == null){
+                    throw new IOException("Corrupt snapshot record at value " + list.size + ": " + file);
+                }
+                list.linkBefore(null, value);
+                list.tail.count = count;
+                list.size += count - 1;
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Find the last node holding a value below the input, walking from the head
+     * @param value The object to be searched around
+     * @param inclusive True to also step past values equal to the input
+     * @return Node - The last node before the input, null if there is none
+     */
+    private Node<E> lastBefore(E value, boolean inclusive){
+        int limit = inclusive ? 1 : 0;
+        Node<E> pred = null;
+        Node<E> current = head;
+        while(current != null && current.value.compareTo(value) < limit){
+            pred = current;
+            current = current.next;
+        }
+        return pred;
+    }
+
+    /**
+     * Find the first node holding a value equal to the input
+     * @param value The object to be searched for
+     * @return Node - The node holding the value, null if it's not in the list
+     */
+    private Node<E> find(E value){
+        Node<E> current = head;
+        int steps = 0;
+        while(current != null && !current.value.equals(value)){
+            current = current.next;
+            steps++;
+        }
+        if(listener != null){
+            listener.traversed(SortedListListener.Operation.REMOVE, steps);
+        }
+        return current;
+    }
+
+    /**
+     * Unlink a node and every copy it counts from the list
+     * @param node The node to be removed
+     */
+    private void unlink(Node<E> node){
+        Node<E> pred = node.prev;
+        Node<E> succ = node.next;
+        if(pred == null){
+            head = succ;
+        } else{
+            pred.next = succ;
+        }
+        if(succ == null){
+            tail = pred;
+        } else{
+            succ.prev = pred;
+        }
+        node.next = null;
+        node.prev = null;
+        size -= node.count;
+    }
+
+    /**
+     * Drop values from the tail until a bounded list is back within its capacity
+     */
+    private void trimToCapacity(){
+        while(size > capacity){
+            removeTail();
+        }
+    }
+
+    /**
+     * Merge values that are already in ascending order into the list. The place to link each value in is found by
+     * carrying on from where the last one went, so the list is only walked once
+     * @param sorted The values to be added, in ascending order
+     */
+    private void mergeSorted(Iterator<? extends E> sorted){
+        Node<E> current = head;
+        while(sorted.hasNext()){
+            E value = sorted.next();
+            //Same placement as add, in front of the first value that isn't smaller
+            while(current != null && current.value.compareTo(value) < 0){
+                current = current.next;
+            }
+            if(counted){
+                linkOrCount(current, value, 1);
+            } else{
+                linkBefore(current, value);
+            }
+        }
+    }
+
+    /**
+     * In counted mode, add copies of a value to the node already holding it, or link in a new node for the value. The
+     * node holding it can only be the one the value would be linked in front of, or the one already in front of that
+     * @param succ The first node whose value isn't smaller than the input, null if there is none
+     * @param value The object to be added
+     * @param n The number of copies to add
+     */
+    private void linkOrCount(Node<E> succ, E value, int n){
+        Node<E> pred = succ == null ? tail : succ.prev;
+        Node<E> holder = succ != null && succ.value.compareTo(value) == 0 ? succ
+                : pred != null && pred.value.compareTo(value) == 0 ? pred : null;
+        if(holder == null){
+            linkBefore(succ, value);
+            holder = succ == null ? tail : succ.prev;
+            n--;
+        }
+        holder.count += n;
+        size += n;
+    }
+
+    /**
+     * Link a new node holding the input value in front of a node of the list, or at the end of the list
+     * @param succ The node the new node should come before, null to add it at the end
+     * @param value The object to be held in the new node
+     */
+    private void linkBefore(Node<E> succ, E value){
+        Node<E> temp = new Node<E>(value);
+        Node<E> pred = succ == null ? tail : succ.prev;
+        temp.next = succ;
+        temp.prev = pred;
+        if(pred == null){
+            head = temp;
+        } else{
+            pred.next = temp;
+        }
+        if(succ == null){
+            tail = temp;
+        } else{
+            succ.prev = temp;
+        }
+        size++;
+    }
+
+    /**
+     * Creates an Iterator that can be used over the SortedLinkedList
+     * @return Iterator - An Iterator object to iterate over the SortedLinkedList
+     */
+    public Iterator<E> iterator(){
+        return new SortedIterator();
+    }
+
+    /**
+     * Private Class to create a Node object
+     */
+    private class Node<E extends Comparable<E>>{
+        E value;
+        Node<E> next;
+        Node<E> prev;
+        //Copies of value this node stands for, always 1 unless the list is in counted mode
+        int count = 1;
+
+        /**
+         * Constructor for a new node object
+         * @param value The object to be held in the node
+         * @param next The next node that this.node will link to
+         * @param prev The previous node that this.node will link to
+         */
+        Node(E value, Node next, Node prev){
+            this.value = value;
+            this.next = next;
+            this.prev = prev;
+        }
+
+        /**
+         * Constructor that sets next and prev to null
+         * @param value The object to be held in the node
+         */
+        Node(E value){
+            this(value, null, null);
+        }
+    }
+
+    /**
+     * Private class to hold the next value of one list during a k-way merge, ordered by that value
+     * @param <E> The type of the values held in the list
+     */
+    private static final class MergeCursor<E extends Comparable<E>> implements Comparable<MergeCursor<E>>{
+        //Private fields
+        private E value;
+        private final Iterator<E> rest;
+
+        /**
+         * Constructor for a MergeCursor
+         * @param value The smallest value of the list that hasn't been merged yet
+         * @param rest The values of the list that come after it
+         */
+        MergeCursor(E value, Iterator<E> rest){
+            this.value = value;
+            this.rest = rest;
+        }
+
+        /**
+         * Compare two cursors by the value each is holding
+         * @param other The cursor to be compared against
+         * @return int - Negative, zero or positive as this cursor's value is less than, equal to or greater than the other's
+         */
+        public int compareTo(MergeCursor<E> other){
+            return value.compareTo(other.value);
+        }
+    }
+
+    /**
+     * Private class to walk the values between two bounds, skipping forward from the head to the lower bound
+     */
+    private class RangeIterator implements Iterator<E>{
+        //Private fields
+        private Node<E> current;
+        //Copies of the current node's value already returned
+        private int returned;
+        private final E to;
+
+        /**
+         * Constructor for a RangeIterator, which walks up to the lower bound straight away
+         * @param from The lowest value to be returned, or null to start at the head
+         * @param inclusive True if values equal to from are part of the range
+         * @param to The value to stop at, exclusive, or null to walk to the end of the list
+         */
+        RangeIterator(E from, boolean inclusive, E to){
+            this.to = to;
+            current = head;
+            int limit = inclusive ? 0 : 1;
+            while(from != null && current != null && current.value.compareTo(from) < limit){
+                current = current.next;
+            }
+        }
+
+        /**
+         * Method to check to see if there is another object in the range
+         * @return boolean - True if there is another object to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return current != null && (to == null || current.value.compareTo(to) < 0);
+        }
+
+        /**
+         * Method to get the next object in the range
+         * @return E - The next object in the range
+         * @throws NoSuchElementException if there are no objects left in the range
+         */
+        public E next() throws NoSuchElementException{
+            if(!hasNext()){
+                throw new NoSuchElementException("There is no element to iterate over");
+            }
+            E result = current.value;
+            if(++returned == current.count){
+                current = current.next;
+                returned = 0;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Private class to implement the Iterator interface
+     */
+    private class SortedIterator implements Iterator<E>{
+        //Private fields for SortedIterator
+        private Node<E> current;
+        //Copies of the current node's value already returned, so a counted node is handed out once per copy
+        private int returned;
+        private Node<E> lastReturned;
+        private boolean removeOK;
+
+        /**
+         * Constructor for SortedIterator that sets current to the head of the linked list
+         */
+        public SortedIterator(){
+            current = head;
+            removeOK = false;
+        }
+
+        /**
+         * Method to check to see if there is another object to be iterated over
+         * @return boolean - True if there is another object to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return(current != null);
+        }
+
+        /**
+         * Method to get the next object that is held in the linked list
+         * @return E - The next object in the Linked list
+         * @throws NoSuchElementException if there are no objects to be iterated over
+         */
+        public E next() throws NoSuchElementException{
+            if(!hasNext()){
+                throw new NoSuchElementException("There is no element to iterate over");
+            }
+            lastReturned = current;
+            if(++returned == current.count){
+                current = current.next;
+                returned = 0;
+            }
+            removeOK = true;
+            return lastReturned.value;
+        }
+
+        /**
+         * Method to remove an object that was just iterated over
+         * @throws IllegalStateException if there is not an object to be removed
+         */
+        public void remove() throws IllegalStateException{
+            if(!removeOK) {
+                throw new IllegalStateException();
+            }
+            if(lastReturned.count > 1){
+                //Still part way through the copies of a counted node, one of which has now gone
+                lastReturned.count--;
+                size--;
+                if(lastReturned == current){
+                    returned--;
+                }
+            } else{
+                unlink(lastReturned);
+            }
+            removeOK = false;
+        }
+    }
+}
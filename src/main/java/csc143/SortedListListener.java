@@ -0,0 +1,22 @@
+package csc143;
+
+/**
+ * Interface for watching what a SortedLinkedList does, set with SortedLinkedList.setListener. The list calls it on the
+ * thread making the call being reported, after the call is done, so an implementation should be quick and must not change
+ * the list. SortedListMetrics is an implementation that keeps counts and histograms and publishes them over JMX
+ */
+public interface SortedListListener{
+    /**
+     * The calls that are reported to traversed
+     */
+    enum Operation{
+        ADD, REMOVE, INDEX_OF
+    }
+
+    /**
+     * Called after each add, remove and indexOf with how far the call had to walk
+     * @param operation Which call was made
+     * @param steps The number of nodes the call stepped past from the head
+     */
+    void traversed(Operation operation, int steps);
+}
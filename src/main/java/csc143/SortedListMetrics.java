@@ -0,0 +1,117 @@
+package csc143;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that keeps metrics on a SortedLinkedList: how often add, remove and indexOf are called and how far into the list
+ * each call has to walk. Start it with list.setListener(metrics), and publish it over JMX with
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName("...:type=SortedLinkedList,name=...")).
+ * The counts can be read from any thread while the list is in use
+ */
+public class SortedListMetrics implements SortedListListener, SortedListMetricsMXBean{
+    //Private fields
+    private final SortedLinkedList<?> list;
+    private final Map<Operation, Log2Histogram> traversals;
+    private final Map<Operation, AtomicLong> totalSteps;
+    private final Map<Operation, AtomicLong> maxSteps;
+
+    /**
+     * Constructor for SortedListMetrics watching a list. The metrics only start counting once they are set as the list's
+     * listener
+     * @param list The list the size is read from
+     */
+    public SortedListMetrics(SortedLinkedList<?> list){
+        this.list = list;
+        traversals = new EnumMap<Operation, Log2Histogram>(Operation.class);
+        totalSteps = new EnumMap<Operation, AtomicLong>(Operation.class);
+        maxSteps = new EnumMap<Operation, AtomicLong>(Operation.class);
+        for(Operation operation : Operation.values()){
+            traversals.put(operation, new Log2Histogram());
+            totalSteps.put(operation, new AtomicLong());
+            maxSteps.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Count a call to the list
+     * @param operation Which call was made
+     * @param steps The number of nodes the call stepped past
+     */
+    public void traversed(Operation operation, int steps){
+        traversals.get(operation).record(steps);
+        totalSteps.get(operation).addAndGet(steps);
+        AtomicLong max = maxSteps.get(operation);
+        if(steps > max.get()){
+            max.accumulateAndGet(steps, Math::max);
+        }
+    }
+
+    /**
+     * Get the number of calls of each operation
+     * @return Map - The number of calls, by operation name
+     */
+    public Map<String, Long> getOperationCounts(){
+        Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        for(Map.Entry<Operation, Log2Histogram> entry : traversals.entrySet()){
+            counts.put(entry.getKey().name(), entry.getValue().count());
+        }
+        return counts;
+    }
+
+    /**
+     * Get the average number of nodes each operation stepped past
+     * @return Map - The mean traversal length, by operation name, 0 for an operation that hasn't been called
+     */
+    public Map<String, Double> getMeanTraversalLengths(){
+        Map<String, Double> means = new LinkedHashMap<String, Double>();
+        for(Map.Entry<Operation, Log2Histogram> entry : traversals.entrySet()){
+            long count = entry.getValue().count();
+            means.put(entry.getKey().name(), count == 0 ? 0 : (double) totalSteps.get(entry.getKey()).get() / count);
+        }
+        return means;
+    }
+
+    /**
+     * Get the longest walk each operation has made
+     * @return Map - The maximum traversal length, by operation name
+     */
+    public Map<String, Long> getMaxTraversalLengths(){
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for(Map.Entry<Operation, AtomicLong> entry : maxSteps.entrySet()){
+            result.put(entry.getKey().name(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    /**
+     * Get how many calls of an operation walked each distance
+     * @param operation The name of the operation
+     * @return long[] - The number of calls, by power-of-two bin of traversal length
+     * @throws IllegalArgumentException if the name isn't one of SortedListListener.Operation
+     */
+    public long[] traversalHistogram(String operation) throws IllegalArgumentException{
+        return traversals.get(Operation.valueOf(operation)).toArray();
+    }
+
+    /**
+     * Get the number of values the list holds now
+     * @return Int - The current size of the list
+     */
+    public int getSize(){
+        return list.size();
+    }
+
+    /**
+     * Set every count and histogram back to 0
+     */
+    public void reset(){
+        for(Operation operation : Operation.values()){
+            traversals.get(operation).reset();
+            totalSteps.get(operation).set(0);
+            maxSteps.get(operation).set(0);
+        }
+    }
+}
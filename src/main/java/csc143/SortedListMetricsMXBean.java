@@ -0,0 +1,45 @@
+package csc143;
+
+import java.util.Map;
+
+/**
+ * Management interface SortedListMetrics is published through over JMX. Operation names are those of
+ * SortedListListener.Operation
+ */
+public interface SortedListMetricsMXBean{
+    /**
+     * Get the number of calls of each operation
+     * @return Map - The number of calls, by operation name
+     */
+    Map<String, Long> getOperationCounts();
+
+    /**
+     * Get the average number of nodes each operation stepped past
+     * @return Map - The mean traversal length, by operation name
+     */
+    Map<String, Double> getMeanTraversalLengths();
+
+    /**
+     * Get the longest walk each operation has made
+     * @return Map - The maximum traversal length, by operation name
+     */
+    Map<String, Long> getMaxTraversalLengths();
+
+    /**
+     * Get how many calls of an operation walked each distance
+     * @param operation The name of the operation
+     * @return long[] - The number of calls, by power-of-two bin of traversal length: 0, 1, 2-3, 4-7 and so on
+     */
+    long[] traversalHistogram(String operation);
+
+    /**
+     * Get the number of values the list holds now
+     * @return Int - The current size of the list
+     */
+    int getSize();
+
+    /**
+     * Set every count and histogram back to 0
+     */
+    void reset();
+}
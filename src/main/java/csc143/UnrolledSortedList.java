@@ -0,0 +1,496 @@
+package csc143;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class that creates a sorted list stored as a row of array chunks, each holding a sorted run of values. Compared to
+ * SortedLinkedList, which spends a node with two links on every value, a value here only costs its slot in a chunk, and
+ * iterating reads each chunk front to back instead of chasing a pointer per value. The chunk holding a value is found by
+ * binary search over the largest value of each chunk, then the value by binary search within the chunk. A full chunk is
+ * split in two, and a chunk that falls below a quarter full is merged with or topped up from its neighbour. Equal values
+ * may be held more than once. As with a TreeMap, the values' compareTo must agree with their equals
+ */
+public class UnrolledSortedList<E extends Comparable<E>> implements ISortedList<E> {
+    //Private fields
+    private static final int DEFAULT_CHUNK_SIZE = 64;
+    private final int chunkSize;
+    private Chunk<E>[] chunks;
+    private int chunkCount;
+    private int size;
+
+    /**
+     * Constructor for an empty UnrolledSortedList with a user desired chunk size
+     * @param chunkSize The number of values each chunk can hold
+     * @throws IllegalArgumentException if the chunk size is less than 4
+     */
+    public UnrolledSortedList(int chunkSize){
+        if(chunkSize < 4){
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        chunks = newChunks(4);
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Constructor for an empty UnrolledSortedList with chunks of 64 values
+     */
+    public UnrolledSortedList(){
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Gets the current number of values currently stored in the list
+     * @return int - The current size of the list
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Method to test if the list is currently holding onto any elements
+     * @return boolean - True if the list is empty, otherwise false
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Gets the smallest value in the list
+     * @return E - The object that is currently being held at the beginning of the list
+     * @throws NullPointerException if the list is empty
+     */
+    public E getHead() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        return chunks[0].values[0];
+    }
+
+    /**
+     * Gets the largest value in the list
+     * @return E - The object that is currently being held at the end of the list
+     * @throws NullPointerException if the list is empty
+     */
+    public E getTail() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        return chunks[chunkCount - 1].last();
+    }
+
+    /**
+     * Method to find the index in the list where the passed in object is located. Finding the value is two binary
+     * searches, its index then adds up the sizes of the chunks before it
+     * @param value The object that we want to find the index of
+     * @return int - The index of the first copy of the input object, -1 if it's not held in the list
+     */
+    public int indexOf(E value){
+        if(isEmpty()){
+            return -1;
+        }
+        int c = chunkFor(value);
+        int p = chunks[c].lowerBound(value);
+        if(p == chunks[c].count || chunks[c].values[p].compareTo(value) != 0){
+            return -1;
+        }
+        int index = p;
+        for(int i = 0; i < c; i++){
+            index += chunks[i].count;
+        }
+        return index;
+    }
+
+    /**
+     * Method to check to see if an object is currently being held within the list
+     * @param value The object that we want to know is contained in our list
+     * @return boolean - True if the list contains the value passed in, otherwise false
+     */
+    public boolean contains(E value){
+        if(isEmpty()){
+            return false;
+        }
+        Chunk<E> chunk = chunks[chunkFor(value)];
+        int p = chunk.lowerBound(value);
+        return p < chunk.count && chunk.values[p].compareTo(value) == 0;
+    }
+
+    /**
+     * Method that adds an object to the list in ascending order, in front of any copies of it already held
+     * @param value The object that we want to add to the list
+     */
+    public void add(E value){
+        if(chunkCount == 0){
+            insertChunk(0, new Chunk<E>(chunkSize));
+        }
+        int c = chunkFor(value);
+        Chunk<E> chunk = chunks[c];
+        int p = chunk.lowerBound(value);
+        if(chunk.count == chunkSize){
+            //Split the full chunk in half, and carry on in whichever half the value belongs to
+            Chunk<E> upper = new Chunk<E>(chunkSize);
+            int half = chunkSize >>> 1;
+            upper.count = chunkSize - half;
+            System.arraycopy(chunk.values, half, upper.values, 0, upper.count);
+            Arrays.fill(chunk.values, half, chunkSize, null);
+            chunk.count = half;
+            insertChunk(c + 1, upper);
+            if(p > half){
+                chunk = upper;
+                p -= half;
+            }
+        }
+        System.arraycopy(chunk.values, p, chunk.values, p + 1, chunk.count - p);
+        chunk.values[p] = value;
+        chunk.count++;
+        size++;
+    }
+
+    /**
+     * Method to add all the contents of another sorted list to this list
+     * @param other The list that we want to add the contents of to this list
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(ISortedList<E> other){
+        if(other == this){
+            //Copy the values out first, otherwise the walk would run into the values it just added
+            Object[] values = new Object[size];
+            int i = 0;
+            for(E value : this){
+                values[i++] = value;
+            }
+            for(Object value : values){
+                add((E) value);
+            }
+            return;
+        }
+        for(E value : other){
+            add(value);
+        }
+    }
+
+    /**
+     * Method to remove the first object in the list
+     * @return E - The object that was previously held at the beginning of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeHead() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        E value = chunks[0].values[0];
+        removeAt(0, 0);
+        return value;
+    }
+
+    /**
+     * Method to remove the last object in the list
+     * @return E - The object that was previously held at the end of the list
+     * @throws NullPointerException if user tries to remove a value from an empty list
+     */
+    public E removeTail() throws NullPointerException{
+        if(isEmpty()){
+            throw new NullPointerException();
+        }
+        Chunk<E> last = chunks[chunkCount - 1];
+        E value = last.last();
+        removeAt(chunkCount - 1, last.count - 1);
+        return value;
+    }
+
+    /**
+     * Method to remove one copy of a desired object from the list
+     * @param value The object in the list that we want to remove
+     * @return boolean - True if the value was successfully removed, otherwise false
+     */
+    public boolean remove(E value){
+        if(isEmpty()){
+            return false;
+        }
+        int c = chunkFor(value);
+        int p = chunks[c].lowerBound(value);
+        if(p == chunks[c].count || chunks[c].values[p].compareTo(value) != 0){
+            return false;
+        }
+        removeAt(c, p);
+        return true;
+    }
+
+    /**
+     * Clears the contents of the entire list, size is reset to 0
+     */
+    public void clear(){
+        chunks = newChunks(4);
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Method to give a string representation of the list
+     * @return String - The string representation of the list in the form [a, b, c]
+     */
+    public String toString(){
+        StringBuilder result = new StringBuilder("[");
+        for(int c = 0; c < chunkCount; c++){
+            Chunk<E> chunk = chunks[c];
+            for(int p = 0; p < chunk.count; p++){
+                if(c > 0 || p > 0){
+                    result.append(", ");
+                }
+                result.append(chunk.values[p]);
+            }
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * Creates an Iterator that walks the list in ascending order, one chunk at a time
+     * @return Iterator - An Iterator object to iterate over the list
+     */
+    public Iterator<E> iterator(){
+        return new UnrolledIterator();
+    }
+
+    /**
+     * Find the chunk a value belongs in, which is the first chunk whose largest value is not smaller than it, or the last
+     * chunk if the value is larger than everything held
+     * @param value The object to be placed
+     * @return int - The index of the chunk in the chunk array
+     */
+    private int chunkFor(E value){
+        int low = 0;
+        int high = chunkCount - 1;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            if(chunks[mid].last().compareTo(value) < 0){
+                low = mid + 1;
+            } else{
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Remove a value from a chunk, then merge the chunk with a neighbour or top it up from one if it has fallen below a
+     * quarter full
+     * @param c The index of the chunk holding the value
+     * @param p The position of the value within the chunk
+     * @return Long - Where the value that came after the removed one now sits, as the chunk index in the high 32 bits
+     *                and the position within the chunk in the low 32 bits
+     */
+    private long removeAt(int c, int p){
+        Chunk<E> chunk = chunks[c];
+        System.arraycopy(chunk.values, p + 1, chunk.values, p, chunk.count - p - 1);
+        chunk.values[--chunk.count] = null;
+        size--;
+        if(chunk.count == 0){
+            removeChunk(c);
+            return (long) c << 32;
+        }
+        if(chunk.count >= chunkSize >>> 2 || chunkCount == 1){
+            return position(c, p);
+        }
+        //The lower chunk of the pair always keeps its values in place, so only the upper one's positions move
+        if(c + 1 < chunkCount){
+            Chunk<E> next = chunks[c + 1];
+            if(chunk.count + next.count <= chunkSize){
+                moveFront(next, chunk, next.count);
+                removeChunk(c + 1);
+            } else{
+                moveFront(next, chunk, (next.count - chunk.count) >>> 1);
+            }
+            return position(c, p);
+        }
+        Chunk<E> prev = chunks[c - 1];
+        if(prev.count + chunk.count <= chunkSize){
+            int offset = prev.count;
+            moveFront(chunk, prev, chunk.count);
+            removeChunk(c);
+            return position(c - 1, offset + p);
+        }
+        int moved = (prev.count - chunk.count) >>> 1;
+        moveBack(prev, chunk, moved);
+        return position(c, p + moved);
+    }
+
+    /**
+     * Encode a place in the list, moving on to the start of the next chunk if the position is past the end of its chunk
+     * @param c The index of the chunk
+     * @param p The position within the chunk
+     * @return Long - The chunk index in the high 32 bits and the position in the low 32 bits
+     */
+    private long position(int c, int p){
+        if(p == chunks[c].count){
+            return (long) (c + 1) << 32;
+        }
+        return (long) c << 32 | p;
+    }
+
+    /**
+     * Move values from the front of one chunk onto the end of the chunk before it
+     * @param from The chunk to take values from
+     * @param to The chunk before it, to add the values to
+     * @param n The number of values to move
+     */
+    private void moveFront(Chunk<E> from, Chunk<E> to, int n){
+        System.arraycopy(from.values, 0, to.values, to.count, n);
+        to.count += n;
+        System.arraycopy(from.values, n, from.values, 0, from.count - n);
+        Arrays.fill(from.values, from.count - n, from.count, null);
+        from.count -= n;
+    }
+
+    /**
+     * Move values from the end of one chunk onto the front of the chunk after it
+     * @param from The chunk to take values from
+     * @param to The chunk after it, to add the values to
+     * @param n The number of values to move
+     */
+    private void moveBack(Chunk<E> from, Chunk<E> to, int n){
+        System.arraycopy(to.values, 0, to.values, n, to.count);
+        System.arraycopy(from.values, from.count - n, to.values, 0, n);
+        to.count += n;
+        Arrays.fill(from.values, from.count - n, from.count, null);
+        from.count -= n;
+    }
+
+    /**
+     * Put a chunk into the chunk array, growing the array if it is full
+     * @param c The index the chunk should have
+     * @param chunk The chunk to be added
+     */
+    private void insertChunk(int c, Chunk<E> chunk){
+        if(chunkCount == chunks.length){
+            chunks = Arrays.copyOf(chunks, chunkCount << 1);
+        }
+        System.arraycopy(chunks, c, chunks, c + 1, chunkCount - c);
+        chunks[c] = chunk;
+        chunkCount++;
+    }
+
+    /**
+     * Take a chunk out of the chunk array
+     * @param c The index of the chunk to be removed
+     */
+    private void removeChunk(int c){
+        System.arraycopy(chunks, c + 1, chunks, c, chunkCount - c - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    /**
+     * Make an empty chunk array, which Java can't do for a generic type without an unchecked cast
+     * @param length The number of chunks the array can hold
+     * @return Chunk[] - An array of null chunks
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Comparable<E>> Chunk<E>[] newChunks(int length){
+        return (Chunk<E>[]) new Chunk<?>[length];
+    }
+
+    /**
+     * Private class to create a Chunk object holding a sorted run of values at the front of an array
+     * @param <E> The type of the values held in the chunk
+     */
+    private static final class Chunk<E extends Comparable<E>>{
+        //Private fields
+        private final E[] values;
+        private int count;
+
+        /**
+         * Constructor for an empty chunk
+         * @param capacity The number of values the chunk can hold
+         */
+        @SuppressWarnings("unchecked")
+        Chunk(int capacity){
+            values = (E[]) new Comparable<?>[capacity];
+        }
+
+        /**
+         * Get the largest value in the chunk
+         * @return E - The last value of the run
+         */
+        E last(){
+            return values[count - 1];
+        }
+
+        /**
+         * Binary search for the first value in the chunk that is not smaller than the input
+         * @param value The object to be searched for
+         * @return int - The position of the first value not smaller than the input, count if there is none
+         */
+        int lowerBound(E value){
+            int low = 0;
+            int high = count;
+            while(low < high){
+                int mid = (low + high) >>> 1;
+                if(values[mid].compareTo(value) < 0){
+                    low = mid + 1;
+                } else{
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Private class to walk the list in ascending order, reading each chunk from front to back
+     */
+    private class UnrolledIterator implements Iterator<E>{
+        //Private fields
+        private int chunk;
+        private int position;
+        private boolean removeOK;
+
+        /**
+         * Method to check to see if there is another object to be iterated over
+         * @return boolean - True if there is another object to iterate over, otherwise false
+         */
+        public boolean hasNext(){
+            return chunk < chunkCount;
+        }
+
+        /**
+         * Method to get the next object that is held in the list
+         * @return E - The next object in the list
+         * @throws NoSuchElementException if there are no objects to be iterated over
+         */
+        public E next() throws NoSuchElementException{
+            if(!hasNext()){
+                throw new NoSuchElementException("There is no element to iterate over");
+            }
+            E result = chunks[chunk].values[position++];
+            if(position == chunks[chunk].count){
+                chunk++;
+                position = 0;
+            }
+            removeOK = true;
+            return result;
+        }
+
+        /**
+         * Method to remove the object that was just iterated over
+         * @throws IllegalStateException if there is not an object to be removed
+         */
+        public void remove() throws IllegalStateException{
+            if(!removeOK){
+                throw new IllegalStateException();
+            }
+            //Step back to the value just returned, which may be the last one of the chunk before
+            int c = chunk;
+            int p = position - 1;
+            if(p < 0){
+                c--;
+                p = chunks[c].count - 1;
+            }
+            long next = removeAt(c, p);
+            chunk = (int) (next >>> 32);
+            position = (int) next;
+            removeOK = false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ConcurrentHashDict, on one thread against a HashMap and on many threads against invariants the threads keep
+ */
+class ConcurrentHashDictTest {
+    //Private fields
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Random operations on one thread, through many resizes, match a HashMap
+     */
+    @Test
+    void matchesHashMapOnOneThread(){
+        ConcurrentHashDict<Integer, Integer> dict = new ConcurrentHashDict<>(1);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for(int i = 0; i < 50_000; i++){
+            Integer key = random.nextInt(5_000);
+            switch(random.nextInt(6)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), dict.put(key, i));
+                    break;
+                case 2:
+                    assertEquals(expected.putIfAbsent(key, i), dict.putIfAbsent(key, i));
+                    break;
+                case 3:
+                    assertEquals(expected.replace(key, i), dict.replace(key, i));
+                    break;
+                case 4:
+                    assertEquals(expected.remove(key), dict.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), dict.get(key));
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Null keys and values are turned away, so a null from get always means a missing key
+     */
+    @Test
+    void rejectsNulls(){
+        ConcurrentHashDict<String, String> dict = new ConcurrentHashDict<>();
+        assertThrows(NullPointerException.class, () -> dict.put(null, "a"));
+        assertThrows(NullPointerException.class, () -> dict.put("a", null));
+        assertNull(dict.computeIfAbsent("a", key -> null));
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * Threads each writing and removing their own keys, while the table grows under them, end up with exactly the keys
+     * they left in, and readers never see a value that wasn't put for its key
+     * @throws Exception if a worker fails
+     */
+    @Test
+    void stressDisjointWritersAndReaders() throws Exception{
+        ConcurrentHashDict<Integer, Integer> dict = new ConcurrentHashDict<>(2);
+        int perThread = 20_000;
+        List<Callable<Void>> workers = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            int base = t * perThread;
+            workers.add(() -> {
+                for(int i = 0; i < perThread; i++){
+                    dict.put(base + i, -(base + i));
+                    if(i % 3 == 0){
+                        assertEquals(-(base + i), (int) dict.remove(base + i));
+                    }
+                    //Any key read, ours or another thread's, holds its own negation if it is held at all
+                    Integer other = ThreadLocalRandom.current().nextInt(THREADS * perThread);
+                    Integer value = dict.get(other);
+                    assertTrue(value == null || value == -other, "key " + other + " held " + value);
+                }
+                return null;
+            });
+        }
+        runTogether(workers);
+        int expected = 0;
+        for(int key = 0; key < THREADS * perThread; key++){
+            boolean kept = key % perThread % 3 != 0;
+            assertEquals(kept ? Integer.valueOf(-key) : null, dict.get(key));
+            expected += kept ? 1 : 0;
+        }
+        assertEquals(expected, dict.size());
+    }
+
+    /**
+     * Threads racing to put, replace and remove the same small set of keys leave a size that matches what is held, and
+     * computeIfAbsent runs its function once per key however many threads ask at once
+     * @throws Exception if a worker fails
+     */
+    @Test
+    void stressContendedKeys() throws Exception{
+        ConcurrentHashDict<Integer, Integer> dict = new ConcurrentHashDict<>();
+        ConcurrentHashDict<Integer, AtomicInteger> counters = new ConcurrentHashDict<>();
+        AtomicInteger computed = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            workers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for(int i = 0; i < 50_000; i++){
+                    Integer key = random.nextInt(64);
+                    switch(random.nextInt(4)){
+                        case 0:
+                            dict.put(key, key);
+                            break;
+                        case 1:
+                            dict.replace(key, key);
+                            break;
+                        case 2:
+                            dict.remove(key);
+                            break;
+                        default:
+                            dict.putIfAbsent(key, key);
+                    }
+                    counters.computeIfAbsent(i % 1_000, k -> {
+                        computed.incrementAndGet();
+                        return new AtomicInteger();
+                    }).incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runTogether(workers);
+        int held = 0;
+        for(int key = 0; key < 64; key++){
+            Integer value = dict.get(key);
+            assertTrue(value == null || value == key);
+            held += value == null ? 0 : 1;
+        }
+        assertEquals(held, dict.size());
+        assertEquals(1_000, computed.get());
+        int total = 0;
+        for(int key = 0; key < 1_000; key++){
+            total += counters.get(key).get();
+        }
+        assertEquals(THREADS * 50_000, total);
+    }
+
+    /**
+     * Run workers on their own threads, starting them all at once, and rethrow the first failure
+     * @param workers The work for each thread
+     * @throws Exception if a worker failed or they didn't finish in time
+     */
+    static void runTogether(List<Callable<Void>> workers) throws Exception{
+        ExecutorService pool = Executors.newFixedThreadPool(workers.size());
+        CyclicBarrier start = new CyclicBarrier(workers.size());
+        try{
+            List<Future<Void>> results = new ArrayList<>();
+            for(Callable<Void> worker : workers){
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return worker.call();
+                }));
+            }
+            for(Future<Void> result : results){
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally{
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package csc143;
+
+import static csc143.SkipListSortedListTest.assertContents;
+import static csc143.SkipListSortedListTest.insertSorted;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ConcurrentSortedList, on one thread against a sorted ArrayList and on many threads against invariants the
+ * threads keep
+ */
+class ConcurrentSortedListTest {
+    //Private fields
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Random operations on one thread, with plenty of repeated values, match a sorted ArrayList
+     */
+    @Test
+    void matchesSortedArrayListOnOneThread(){
+        ConcurrentSortedList<Integer> list = new ConcurrentSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(17);
+        for(int i = 0; i < 20_000; i++){
+            Integer value = random.nextInt(2_000);
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    list.add(value);
+                    insertSorted(expected, value);
+                    break;
+                case 2:
+                    assertEquals(expected.remove(value), list.remove(value));
+                    break;
+                case 3:
+                    if(!expected.isEmpty()){
+                        boolean head = random.nextBoolean();
+                        assertEquals(head ? expected.remove(0) : expected.remove(expected.size() - 1),
+                                head ? list.removeHead() : list.removeTail());
+                    }
+                    break;
+                default:
+                    assertEquals(expected.contains(value), list.contains(value));
+                    assertEquals(expected.indexOf(value), list.indexOf(value));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertContents(expected, list);
+        assertEquals(expected.toString(), list.toString());
+        list.addAll(list);
+        assertEquals(expected.size() * 2, list.size());
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * Threads using the list as a shared priority queue, adding values and taking the head, between them take every value
+     * that was added exactly once
+     * @throws Exception if a worker fails
+     */
+    @Test
+    void stressPriorityQueue() throws Exception{
+        ConcurrentSortedList<Integer> list = new ConcurrentSortedList<>();
+        List<Integer> added = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> taken = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> workers = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            workers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Integer> mine = new ArrayList<>();
+                List<Integer> took = new ArrayList<>();
+                for(int i = 0; i < 20_000; i++){
+                    Integer value = random.nextInt(1_000);
+                    list.add(value);
+                    mine.add(value);
+                    if(random.nextBoolean()){
+                        try{
+                            took.add(list.removeHead());
+                        } catch(NullPointerException e){
+                            //Other threads emptied the list first
+                        }
+                    }
+                }
+                added.addAll(mine);
+                taken.addAll(took);
+                return null;
+            });
+        }
+        ConcurrentHashDictTest.runTogether(workers);
+        assertEquals(added.size() - taken.size(), list.size());
+        while(!list.isEmpty()){
+            taken.add(list.removeHead());
+        }
+        Collections.sort(added);
+        Collections.sort(taken);
+        assertEquals(added, taken);
+    }
+
+    /**
+     * Threads racing to remove copies of the same few values succeed exactly once per copy, while iterators walking the
+     * list at the same time always see it in ascending order
+     * @throws Exception if a worker fails
+     */
+    @Test
+    void stressRemovingCopies() throws Exception{
+        ConcurrentSortedList<Integer> list = new ConcurrentSortedList<>();
+        for(int i = 0; i < 50_000; i++){
+            list.add(i % 10);
+        }
+        AtomicInteger removed = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            boolean reader = t == 0;
+            workers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while(!list.isEmpty()){
+                    if(reader){
+                        Integer previous = Integer.MIN_VALUE;
+                        for(Integer value : list){
+                            assertTrue(value >= previous, value + " came after " + previous);
+                            previous = value;
+                        }
+                    } else if(list.remove(random.nextInt(10))){
+                        removed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        ConcurrentHashDictTest.runTogether(workers);
+        assertEquals(50_000, removed.get());
+        assertEquals(0, list.size());
+    }
+}
@@ -0,0 +1,259 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for HashDictCache, covering LRU eviction against an access ordered LinkedHashMap, weights, expiry on a fake clock
+ * and getOrLoad running each load once
+ */
+class HashDictCacheTest {
+    //Private fields
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Random operations on a cache of 100 entries match a LinkedHashMap in access order that drops its eldest entry past
+     * 100, including which entries get evicted
+     */
+    @Test
+    void matchesAccessOrderedLinkedHashMap(){
+        HashDictCache<Integer, Integer> cache = new HashDictCache<>(100);
+        Map<Integer, Integer> expected = new LinkedHashMap<Integer, Integer>(16, 0.75f, true){
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest){
+                return size() > 100;
+            }
+        };
+        Random random = new Random(8);
+        for(int i = 0; i < 50_000; i++){
+            Integer key = random.nextInt(300);
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), cache.put(key, i));
+                    break;
+                case 2:
+                    assertEquals(expected.replace(key, i), cache.replace(key, i));
+                    break;
+                case 3:
+                    assertEquals(expected.remove(key), cache.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), cache.get(key));
+            }
+            assertEquals(expected.size(), cache.size());
+        }
+        StringBuilder order = new StringBuilder("{ ");
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()){
+            order.append(entry.getKey()).append(':').append(entry.getValue()).append(' ');
+        }
+        assertEquals(order.append('}').toString(), cache.toString());
+    }
+
+    /**
+     * A get saves an entry from eviction, and the hit, miss and eviction counters add up
+     */
+    @Test
+    void evictsLeastRecentlyUsedAndCounts(){
+        HashDictCache<String, Integer> cache = new HashDictCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, (int) cache.get("a"));
+        cache.put("d", 4);
+        assertFalse(cache.containsKey("b"));
+        assertNull(cache.get("b"));
+        cache.put("e", 5);
+        assertFalse(cache.containsKey("c"));
+        assertEquals("{ a:1 d:4 e:5 }", cache.toString());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    /**
+     * With a weigher, the cache evicts until the total weight is back under its maximum, and a rewrite changes the weight
+     * of an entry
+     */
+    @Test
+    void weigherBoundsTotalWeight(){
+        HashDictCache<String, String> cache = new HashDictCache<>(10, (key, value) -> value.length(), null, System::nanoTime);
+        cache.put("a", "xxxx");
+        cache.put("b", "xxxx");
+        assertEquals(8, cache.weight());
+        cache.put("a", "x");
+        assertEquals(5, cache.weight());
+        cache.put("c", "xxxxx");
+        assertEquals(10, cache.weight());
+        assertEquals(0, cache.evictionCount());
+        //Eleven is over, and the least recently used entry is b, since a was rewritten after it
+        cache.put("d", "x");
+        assertFalse(cache.containsKey("b"));
+        assertEquals(7, cache.weight());
+        //An entry heavier than the whole cache pushes everything out, itself included
+        cache.put("e", "xxxxxxxxxxx");
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.weight());
+        assertThrows(IllegalArgumentException.class,
+                () -> new HashDictCache<String, String>(-1, (key, value) -> 1, null, System::nanoTime));
+    }
+
+    /**
+     * Entries expire a fixed time after they were last written on the ticker, reads don't extend that, and expired entries
+     * aren't counted as evictions
+     */
+    @Test
+    void entriesExpireAfterWrite(){
+        long[] now = {0};
+        HashDictCache<String, Integer> cache = new HashDictCache<>(10, (key, value) -> 1, Duration.ofNanos(100),
+                () -> now[0]);
+        cache.put("a", 1);
+        now[0] = 50;
+        cache.put("b", 2);
+        now[0] = 99;
+        assertEquals(1, (int) cache.get("a"));
+        now[0] = 100;
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+        //Rewriting b starts its time again
+        cache.put("b", 3);
+        now[0] = 199;
+        assertEquals(3, (int) cache.get("b"));
+        assertEquals(1, cache.weight());
+        now[0] = 200;
+        assertTrue(cache.isEmpty());
+        assertNull(cache.put("b", 4));
+        assertEquals(0, cache.evictionCount());
+    }
+
+    /**
+     * However many threads ask for the same missing key at once, the loader runs once and every caller gets the value it
+     * loaded
+     * @throws Exception if a worker fails
+     */
+    @Test
+    void getOrLoadRunsTheLoaderOnce() throws Exception{
+        HashDictCache<String, Object> cache = new HashDictCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        Object loaded = new Object();
+        List<Object> results = new ArrayList<>();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            workers.add(() -> {
+                Object value = cache.getOrLoad("key", key -> {
+                    loads.incrementAndGet();
+                    awaitMisses(cache, THREADS);
+                    return loaded;
+                });
+                synchronized(results){
+                    results.add(value);
+                }
+                return null;
+            });
+        }
+        ConcurrentHashDictTest.runTogether(workers);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.loadCount());
+        assertEquals(THREADS, results.size());
+        for(Object result : results){
+            assertSame(loaded, result);
+        }
+        assertSame(loaded, cache.getOrLoad("key", key -> new Object()));
+        assertEquals(1, cache.hitCount());
+    }
+
+    /**
+     * A loader that throws fails every caller waiting on it with the same exception, caches nothing, and lets the next
+     * caller load again
+     * @throws Exception if a worker fails
+     */
+    @Test
+    void getOrLoadFailureReachesEveryWaiter() throws Exception{
+        HashDictCache<String, String> cache = new HashDictCache<>(10);
+        AtomicInteger failures = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            workers.add(() -> {
+                assertThrows(IllegalStateException.class, () -> cache.getOrLoad("key", key -> {
+                    awaitMisses(cache, THREADS);
+                    throw new IllegalStateException("load failed");
+                }));
+                failures.incrementAndGet();
+                return null;
+            });
+        }
+        ConcurrentHashDictTest.runTogether(workers);
+        assertEquals(THREADS, failures.get());
+        assertEquals(0, cache.loadCount());
+        assertTrue(cache.isEmpty());
+        assertEquals("value", cache.getOrLoad("key", key -> "value"));
+        assertThrows(NullPointerException.class, () -> cache.getOrLoad("other", key -> null));
+        assertFalse(cache.containsKey("other"));
+    }
+
+    /**
+     * A put or remove of a key while its loader runs wins over the load, the loader's caller still gets what it loaded
+     * @throws Exception if the loading thread fails
+     */
+    @Test
+    void writeDuringLoadIsNotOverwritten() throws Exception{
+        HashDictCache<String, String> cache = new HashDictCache<>(10);
+        for(boolean remove : new boolean[]{false, true}){
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch written = new CountDownLatch(1);
+            String[] result = new String[1];
+            Thread loader = new Thread(() -> result[0] = cache.getOrLoad("key", key -> {
+                started.countDown();
+                try{
+                    written.await();
+                } catch(InterruptedException e){
+                    throw new IllegalStateException(e);
+                }
+                return "loaded";
+            }));
+            loader.start();
+            assertTrue(started.await(60, TimeUnit.SECONDS));
+            if(remove){
+                cache.remove("key");
+            } else{
+                cache.put("key", "written");
+            }
+            written.countDown();
+            loader.join(60_000);
+            assertEquals("loaded", result[0]);
+            assertEquals(remove ? null : "written", cache.get("key"));
+            cache.clear();
+        }
+    }
+
+    /**
+     * Wait inside a loader until every caller has missed, so each of them is waiting on the load before it finishes
+     * @param cache The cache being loaded
+     * @param misses The number of misses to wait for
+     */
+    private static void awaitMisses(HashDictCache<?, ?> cache, int misses){
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while(cache.missCount() < misses){
+            if(System.nanoTime() > deadline){
+                throw new AssertionError("only " + cache.missCount() + " callers missed");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,572 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.io.IOException;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for HashDict, checked against a HashMap doing the same work
+ */
+class HashDictTest {
+
+    /**
+     * Random puts, replaces and removes on a dictionary that starts with one bucket, so it grows through many rehashes
+     */
+    @Test
+    void matchesHashMapUnderRandomOperations(){
+        HashDict<Integer, Integer> dict = new HashDict<>(1);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+        for(int i = 0; i < 50_000; i++){
+            Integer key = random.nextInt(5_000);
+            switch(random.nextInt(6)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), dict.put(key, i));
+                    break;
+                case 2:
+                    assertEquals(expected.replace(key, i), dict.replace(key, i));
+                    break;
+                case 3:
+                    assertEquals(expected.remove(key), dict.remove(key));
+                    break;
+                case 4:
+                    Integer value = expected.get(key);
+                    assertEquals(expected.remove(key, i - 1), dict.remove(key, i - 1));
+                    if(value != null && !value.equals(i - 1)){
+                        assertTrue(dict.containsKey(key));
+                    }
+                    break;
+                default:
+                    assertEquals(expected.get(key), dict.get(key));
+                    assertEquals(expected.containsKey(key), dict.containsKey(key));
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+        assertMatches(expected, dict);
+    }
+
+    /**
+     * Every key already added stays reachable after each put, including the puts that start a rehash and the ones that
+     * move its buckets over
+     */
+    @Test
+    void findsEveryKeyWhileRehashing(){
+        HashDict<Integer, Integer> dict = new HashDict<>(2);
+        int grows = 0;
+        for(int i = 0; i < 3_000; i++){
+            int buckets = dict.bucketCount();
+            dict.put(i, -i);
+            if(dict.bucketCount() != buckets){
+                grows++;
+            }
+            for(int j = 0; j <= i; j += 1 + i / 64){
+                assertEquals(-j, (int) dict.get(j));
+            }
+        }
+        assertTrue(grows >= 10, "grew " + grows + " times");
+        assertEquals(3_000, dict.size());
+        Set<Integer> seen = new HashSet<>();
+        for(Integer key : dict.keySet()){
+            assertTrue(seen.add(key), "key " + key + " seen twice");
+        }
+        assertEquals(3_000, seen.size());
+    }
+
+    /**
+     * Removing keys in the middle of a rehash and iterating right after it started still sees each entry once
+     */
+    @Test
+    void removesAndIteratesMidRehash(){
+        HashDict<Integer, Integer> dict = new HashDict<>(16);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for(int i = 0; i < 13; i++){
+            dict.put(i, i);
+            expected.put(i, i);
+        }
+        //The 13th entry pushed 16 buckets over the 0.75 load factor, and a rehash moves 4 old buckets per call after that,
+        //so this put and the removes below all land with the rehash still under way
+        dict.put(13, 13);
+        expected.put(13, 13);
+        assertEquals(32, dict.bucketCount());
+        assertEquals(expected.remove(2), dict.remove(2));
+        assertEquals(expected.remove(11), dict.remove(11));
+        assertMatches(expected, dict);
+    }
+
+    /**
+     * ensureCapacity grows the table once up front, so filling it to that size doesn't grow it again
+     */
+    @Test
+    void ensureCapacityGrowsOnce(){
+        HashDict<Integer, Integer> dict = new HashDict<>();
+        dict.put(-1, -1);
+        dict.ensureCapacity(10_000);
+        int buckets = dict.bucketCount();
+        assertTrue(buckets * 0.75 >= 10_000);
+        for(int i = 0; i < 9_999; i++){
+            dict.put(i, i);
+        }
+        assertEquals(buckets, dict.bucketCount());
+        assertEquals(-1, (int) dict.get(-1));
+    }
+
+    /**
+     * clear empties the dictionary and leaves it usable
+     */
+    @Test
+    void clearEmptiesTheDictionary(){
+        HashDict<String, Integer> dict = new HashDict<>();
+        for(int i = 0; i < 100; i++){
+            dict.put("key" + i, i);
+        }
+        dict.clear();
+        assertTrue(dict.isEmpty());
+        assertFalse(dict.containsKey("key1"));
+        dict.put("key1", 1);
+        assertEquals(1, dict.size());
+    }
+
+    /**
+     * Comparable keys that all share one hash code are turned into a tree bin, and stay findable while they are added,
+     * overwritten and removed until the bin turns back into a chain
+     */
+    @Test
+    void treeBinsHoldCollidingComparableKeys(){
+        HashDict<CollidingKey, Integer> dict = new HashDict<>(64);
+        HashMap<CollidingKey, Integer> expected = new HashMap<>();
+        for(int i = 0; i < 500; i++){
+            CollidingKey key = new CollidingKey(i, i);
+            assertEquals(expected.put(key, i), dict.put(key, i));
+        }
+        assertTrue(dict.chainLengths(64)[64] > 0, "no bucket was turned into a tree");
+        assertMatches(expected, dict);
+        Random random = new Random(6);
+        for(int i = 0; i < 5_000; i++){
+            int id = random.nextInt(600);
+            CollidingKey key = new CollidingKey(id, id);
+            if(random.nextBoolean()){
+                assertEquals(expected.put(key, -i), dict.put(key, -i));
+            } else{
+                assertEquals(expected.remove(key), dict.remove(key));
+            }
+        }
+        assertMatches(expected, dict);
+        for(CollidingKey key : new HashSet<>(expected.keySet())){
+            assertEquals(expected.remove(key), dict.remove(key));
+            assertEquals(expected.size(), dict.size());
+        }
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * Keys whose compareTo ties but which aren't equal share a node of the tree, and each one is still found and removed
+     * on its own
+     */
+    @Test
+    void treeBinsKeepKeysThatTieInCompareTo(){
+        HashDict<CollidingKey, Integer> dict = new HashDict<>(64);
+        HashMap<CollidingKey, Integer> expected = new HashMap<>();
+        //Ids 0 to 199 in 10 groups, where keys of a group compare as equal
+        for(int i = 0; i < 200; i++){
+            CollidingKey key = new CollidingKey(i, i % 10);
+            assertEquals(expected.put(key, i), dict.put(key, i));
+        }
+        assertMatches(expected, dict);
+        for(int i = 0; i < 200; i += 3){
+            CollidingKey key = new CollidingKey(i, i % 10);
+            assertEquals(expected.remove(key), dict.remove(key));
+        }
+        assertMatches(expected, dict);
+        assertEquals(null, dict.get(new CollidingKey(1_000, 5)));
+    }
+
+    /**
+     * A key the tree can't order, arriving in a bucket that is already a tree, turns the bucket back into a chain without
+     * losing anything
+     */
+    @Test
+    void unorderableKeyTurnsTreeBackIntoChain(){
+        HashDict<Object, Integer> dict = new HashDict<>(64);
+        HashMap<Object, Integer> expected = new HashMap<>();
+        for(int i = 0; i < 50; i++){
+            expected.put(new CollidingKey(i, i), i);
+            dict.put(new CollidingKey(i, i), i);
+        }
+        assertTrue(dict.chainLengths(64)[50] > 0, "no bucket was turned into a tree");
+        PlainKey plain = new PlainKey();
+        expected.put(plain, -1);
+        dict.put(plain, -1);
+        assertMatches(expected, dict);
+        assertEquals(-1, (int) dict.remove(plain));
+    }
+
+    /**
+     * Batches of puts, lookups and removes, with keys repeated inside a batch, match the same calls made one at a time on a
+     * HashMap
+     */
+    @Test
+    void batchesMatchHashMap(){
+        HashDict<Integer, Integer> dict = new HashDict<>(1);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(9);
+        for(int round = 0; round < 200; round++){
+            Integer[] keys = new Integer[random.nextInt(100)];
+            Integer[] values = new Integer[keys.length];
+            for(int i = 0; i < keys.length; i++){
+                keys[i] = random.nextInt(3_000);
+                values[i] = round * 100 + i;
+            }
+            switch(random.nextInt(3)){
+                case 0:
+                    for(int i = 0; i < keys.length; i++){
+                        expected.put(keys[i], values[i]);
+                    }
+                    dict.putAll(keys, values);
+                    break;
+                case 1:
+                    int removed = 0;
+                    for(Integer key : keys){
+                        removed += expected.remove(key) == null ? 0 : 1;
+                    }
+                    assertEquals(removed, dict.removeAll(keys));
+                    break;
+                default:
+                    Integer[] out = new Integer[keys.length + 1];
+                    int found = 0;
+                    for(int i = 0; i < keys.length; i++){
+                        found += expected.containsKey(keys[i]) ? 1 : 0;
+                    }
+                    assertEquals(found, dict.getAll(keys, out));
+                    for(int i = 0; i < keys.length; i++){
+                        assertEquals(expected.get(keys[i]), out[i]);
+                    }
+            }
+            assertMatches(expected, dict);
+        }
+        assertThrows(IllegalArgumentException.class, () -> dict.putAll(new Integer[2], new Integer[1]));
+        assertThrows(IllegalArgumentException.class, () -> dict.getAll(new Integer[2], new Integer[1]));
+    }
+
+    /**
+     * putAll of another HashDict, including one caught in the middle of a rehash, copies every pair and lets the other
+     * dictionary's values win for keys both hold
+     */
+    @Test
+    void putAllCopiesAnotherDictionary(){
+        HashDict<Integer, Integer> source = new HashDict<>(16);
+        HashDict<Integer, Integer> dict = new HashDict<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for(int i = 0; i < 14; i++){
+            source.put(i, -i);
+        }
+        for(int i = 10; i < 30; i++){
+            dict.put(i, i);
+            expected.put(i, i);
+        }
+        for(int i = 0; i < 14; i++){
+            expected.put(i, -i);
+        }
+        //source went over its load factor on the 13th put, so its rehash is still under way
+        dict.putAll(source);
+        assertMatches(expected, dict);
+        dict.putAll(dict);
+        assertMatches(expected, dict);
+        assertEquals(14, source.size());
+    }
+
+    /**
+     * Removing through the key, value and entry views and their iterators, and setValue on an entry, write through to the
+     * dictionary, including while a rehash is under way
+     */
+    @Test
+    void viewsWriteThrough(){
+        HashDict<Integer, Integer> dict = new HashDict<>(16);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for(int i = 0; i < 200; i++){
+            dict.put(i, i);
+            expected.put(i, i);
+        }
+        assertTrue(dict.keySet().remove(5));
+        assertFalse(dict.keySet().remove(5));
+        expected.remove(5);
+        assertTrue(dict.entrySet().remove(Map.entry(6, 6)));
+        assertFalse(dict.entrySet().remove(Map.entry(7, -7)));
+        expected.remove(6);
+        assertTrue(dict.entrySet().contains(Map.entry(7, 7)));
+        assertTrue(dict.values().contains(8));
+        for(Iterator<Integer> keys = dict.keySet().iterator(); keys.hasNext();){
+            if(keys.next() % 3 == 0){
+                keys.remove();
+            }
+        }
+        expected.keySet().removeIf(key -> key % 3 == 0);
+        for(Iterator<Integer> values = dict.values().iterator(); values.hasNext();){
+            if(values.next() % 5 == 0){
+                values.remove();
+            }
+        }
+        expected.values().removeIf(value -> value % 5 == 0);
+        for(Map.Entry<Integer, Integer> entry : dict.entrySet()){
+            entry.setValue(-entry.getKey());
+        }
+        expected.replaceAll((key, value) -> -key);
+        assertMatches(expected, dict);
+        Iterator<Integer> keys = dict.keySet().iterator();
+        assertThrows(IllegalStateException.class, keys::remove);
+        keys.next();
+        dict.put(1_000, 1_000);
+        assertThrows(ConcurrentModificationException.class, keys::next);
+        dict.keySet().clear();
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * forEach, search and reduce split across the fork-join pool give the same results as they do on the calling thread,
+     * and the views' streams split the same way
+     */
+    @Test
+    void parallelScansMatchSequential(){
+        HashDict<Integer, Integer> dict = new HashDict<>();
+        long sum = 0;
+        for(int i = 0; i < 100_000; i++){
+            dict.put(i, i * 7);
+            sum += i * 7;
+        }
+        for(long threshold : new long[]{1, Long.MAX_VALUE}){
+            AtomicLong keys = new AtomicLong();
+            AtomicLong count = new AtomicLong();
+            dict.forEach(threshold, (key, value) -> {
+                keys.addAndGet(key);
+                count.incrementAndGet();
+            });
+            assertEquals(100_000, count.get());
+            assertEquals(99_999L * 100_000 / 2, keys.get());
+            assertEquals(sum, (long) dict.reduce(threshold, (key, value) -> (long) value, Long::sum));
+            assertNull(dict.<Long>reduce(threshold, (key, value) -> null, Long::sum));
+            assertEquals(4_242, (int) dict.<Integer>search(threshold, (key, value) -> value == 4_242 * 7 ? key : null));
+            assertNull(dict.<Integer>search(threshold, (key, value) -> value < 0 ? key : null));
+        }
+        assertEquals(100_000, dict.keySet().parallelStream().distinct().count());
+        assertEquals(sum, dict.values().parallelStream().mapToLong(value -> value).sum());
+        assertEquals(100_000, dict.entrySet().parallelStream().filter(entry -> entry.getValue() == entry.getKey() * 7)
+                .count());
+    }
+
+    /**
+     * writeTo gives the same text as toString in pieces of bounded size, and with a limit writes that many entries
+     * followed by a single ...
+     * @throws IOException never, appending to a StringBuilder doesn't fail
+     */
+    @Test
+    void writeToStopsAtTheLimit() throws IOException{
+        HashDict<Integer, String> dict = new HashDict<>();
+        for(int i = 0; i < 5_000; i++){
+            dict.put(i, "value" + i);
+        }
+        PieceRecorder out = new PieceRecorder();
+        dict.writeTo(out);
+        assertEquals(dict.toString(), out.text.toString());
+        assertTrue(out.pieces > 1, "written in " + out.pieces + " piece");
+        assertTrue(out.longest < 10_000, "a piece was " + out.longest + " characters");
+        for(int limit : new int[]{0, 1, 3, 4_999, 5_000, 6_000}){
+            StringBuilder limited = new StringBuilder();
+            dict.writeTo(limited, limit);
+            String text = limited.toString();
+            assertTrue(text.startsWith("{ ") && text.endsWith("}"), text);
+            int written = Math.min(limit, 5_000);
+            assertEquals(written, text.split(":", -1).length - 1);
+            assertEquals(limit < 5_000, text.endsWith(" ... }"));
+            if(limit >= 5_000){
+                assertEquals(dict.toString(), text);
+            }
+        }
+        StringBuilder empty = new StringBuilder();
+        new HashDict<Integer, String>().writeTo(empty, 0);
+        assertEquals("{ }", empty.toString());
+        assertThrows(IllegalArgumentException.class, () -> dict.writeTo(new StringBuilder(), -1));
+    }
+
+    /**
+     * With the value index turned on part way through, keysForValue and containsValue keep matching a HashMap through
+     * puts, replaces, removes, batches, view writes and clear, and give the same answers once the index is off again
+     */
+    @Test
+    void valueIndexKeepsUpWithEveryWrite(){
+        HashDict<Integer, Integer> dict = new HashDict<>(1);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(23);
+        for(int i = 0; i < 20_000; i++){
+            if(i == 1_000){
+                dict.setValueIndexed(true);
+                assertTrue(dict.isValueIndexed());
+            }
+            if(i == 15_000){
+                dict.clear();
+                expected.clear();
+            }
+            Integer key = random.nextInt(500);
+            Integer value = random.nextInt(50);
+            switch(random.nextInt(8)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, value), dict.put(key, value));
+                    break;
+                case 2:
+                    assertEquals(expected.replace(key, value), dict.replace(key, value));
+                    break;
+                case 3:
+                    assertEquals(expected.remove(key), dict.remove(key));
+                    break;
+                case 4:
+                    assertEquals(expected.remove(key, value), dict.remove(key, value));
+                    break;
+                case 5:
+                    Integer[] keys = {key, key + 1, key + 2};
+                    Integer[] values = {value, value, value + 1};
+                    dict.putAll(keys, values);
+                    for(int j = 0; j < keys.length; j++){
+                        expected.put(keys[j], values[j]);
+                    }
+                    if(random.nextBoolean()){
+                        dict.removeAll(new Integer[]{key + 1});
+                        expected.remove(key + 1);
+                    }
+                    break;
+                case 6:
+                    for(Map.Entry<Integer, Integer> entry : dict.entrySet()){
+                        if(entry.getKey().equals(key)){
+                            entry.setValue(value);
+                            expected.put(key, value);
+                        }
+                    }
+                    break;
+                default:
+                    if(dict.keySet().remove(key)){
+                        expected.remove(key);
+                    }
+            }
+            Integer probe = random.nextInt(52);
+            assertEquals(keysHolding(expected, probe), dict.keysForValue(probe));
+            assertEquals(expected.containsValue(probe), dict.containsValue(probe));
+        }
+        dict.setValueIndexed(false);
+        assertFalse(dict.isValueIndexed());
+        for(int value = 0; value < 52; value++){
+            assertEquals(keysHolding(expected, value), dict.keysForValue(value));
+        }
+        assertTrue(dict.keysForValue(-1).isEmpty());
+    }
+
+    /**
+     * Get the keys of a HashMap that hold a value
+     * @param map The map to be searched
+     * @param value The value to be searched for
+     * @return Set - The keys holding the value
+     */
+    private static Set<Integer> keysHolding(Map<Integer, Integer> map, Integer value){
+        Set<Integer> keys = new HashSet<>();
+        for(Map.Entry<Integer, Integer> entry : map.entrySet()){
+            if(entry.getValue().equals(value)){
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Check that a dictionary holds exactly the mappings of a HashMap
+     * @param expected The mappings the dictionary should hold
+     * @param dict The dictionary being checked
+     */
+    static <K, V> void assertMatches(Map<K, V> expected, HashDict<K, V> dict){
+        assertEquals(expected.size(), dict.size());
+        for(Map.Entry<K, V> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+        Set<K> keys = new HashSet<>();
+        for(K key : dict.keySet()){
+            assertTrue(keys.add(key), "key " + key + " seen twice");
+        }
+        assertEquals(expected.keySet(), keys);
+    }
+
+    /**
+     * Class for a key whose hash code is the same for every key, ordered by a rank that several keys may share
+     */
+    static final class CollidingKey implements Comparable<CollidingKey>{
+        //Package-private fields
+        final int id;
+        final int rank;
+
+        CollidingKey(int id, int rank){
+            this.id = id;
+            this.rank = rank;
+        }
+
+        public int hashCode(){
+            return 42;
+        }
+
+        public boolean equals(Object o){
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        public int compareTo(CollidingKey other){
+            return Integer.compare(rank, other.rank);
+        }
+
+        public String toString(){
+            return "#" + id;
+        }
+    }
+
+    /**
+     * Class for a key that isn't Comparable and shares CollidingKey's hash code
+     */
+    static final class PlainKey{
+        public int hashCode(){
+            return 42;
+        }
+    }
+
+    /**
+     * Class for an Appendable that keeps everything written to it, along with how many pieces it came in and how long the
+     * longest one was
+     */
+    static final class PieceRecorder implements Appendable{
+        //Package-private fields
+        final StringBuilder text = new StringBuilder();
+        int pieces;
+        int longest;
+
+        public Appendable append(CharSequence piece){
+            pieces++;
+            longest = Math.max(longest, piece.length());
+            text.append(piece);
+            return this;
+        }
+
+        public Appendable append(CharSequence piece, int start, int end){
+            return append(piece.subSequence(start, end));
+        }
+
+        public Appendable append(char c){
+            return append(String.valueOf(c));
+        }
+    }
+}
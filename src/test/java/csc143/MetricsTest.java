@@ -0,0 +1,135 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for HashDictMetrics and SortedListMetrics, checking the counts and walk lengths they record against calls whose
+ * costs are known
+ */
+class MetricsTest {
+
+    /**
+     * Each kind of HashDict call is counted under its operation, and each time the table starts growing is a resize
+     */
+    @Test
+    void hashDictCountsOperationsAndResizes(){
+        HashDict<Integer, Integer> dict = new HashDict<>(16);
+        HashDictMetrics metrics = new HashDictMetrics(dict);
+        dict.setListener(metrics);
+        int resizes = 0;
+        for(int i = 0; i < 100; i++){
+            int buckets = dict.bucketCount();
+            dict.put(i, i);
+            resizes += dict.bucketCount() == buckets ? 0 : 1;
+        }
+        for(int i = 0; i < 30; i++){
+            dict.get(i);
+            dict.containsKey(-i);
+        }
+        dict.replace(1, 1);
+        dict.replace(-1, 1);
+        dict.remove(2);
+        dict.remove(3, 3);
+        dict.remove(4, -4);
+        Map<String, Long> counts = metrics.getOperationCounts();
+        assertEquals(60, (long) counts.get("GET"));
+        assertEquals(100, (long) counts.get("PUT"));
+        assertEquals(2, (long) counts.get("REPLACE"));
+        assertEquals(3, (long) counts.get("REMOVE"));
+        assertEquals(4, resizes);
+        assertEquals(resizes, metrics.getResizeCount());
+        assertEquals(dict.bucketCount(), metrics.getBucketCount());
+        assertEquals(98.0 / dict.bucketCount(), metrics.getLoadFactor());
+        long buckets = 0;
+        long entries = 0;
+        long[] chains = metrics.getChainLengthHistogram();
+        for(int length = 0; length < chains.length; length++){
+            buckets += chains[length];
+            entries += length * chains[length];
+        }
+        //A rehash may still be moving buckets over, in which case the old table's buckets are counted as well
+        assertTrue(buckets >= dict.bucketCount());
+        assertEquals(98, entries);
+        //With the listener gone nothing more is counted
+        dict.setListener(null);
+        dict.get(5);
+        assertEquals(60, (long) metrics.getOperationCounts().get("GET"));
+        metrics.reset();
+        assertEquals(0, (long) metrics.getOperationCounts().get("PUT"));
+        assertEquals(0, metrics.getResizeCount());
+        assertEquals(0, metrics.getMaxProbeDepth());
+    }
+
+    /**
+     * Searching a bucket of keys that share a hash code probes past every key in front of the one wanted, and past the
+     * whole bucket for a key that isn't there
+     */
+    @Test
+    void hashDictRecordsProbeDepths(){
+        HashDict<Object, Integer> dict = new HashDict<>(16);
+        HashDictMetrics metrics = new HashDictMetrics(dict);
+        dict.setListener(metrics);
+        for(int i = 0; i < 5; i++){
+            dict.put(new HashDictTest.PlainKey(), i);
+        }
+        //Each new key is compared against every key already in the bucket before it is linked in
+        assertEquals(4, metrics.getMaxProbeDepth());
+        dict.get(new HashDictTest.PlainKey());
+        assertEquals(5, metrics.getMaxProbeDepth());
+        long calls = 0;
+        for(long bin : metrics.getProbeDepthHistogram()){
+            calls += bin;
+        }
+        assertEquals(6, calls);
+        assertEquals(0, (long) metrics.getOperationCounts().get("REMOVE"));
+    }
+
+    /**
+     * Each add, remove and indexOf on a SortedLinkedList is counted with the number of nodes it walked past
+     */
+    @Test
+    void sortedListRecordsTraversals(){
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 100; i++){
+            values.add(i);
+        }
+        SortedLinkedList<Integer> list = new SortedLinkedList<>(values);
+        SortedListMetrics metrics = new SortedListMetrics(list);
+        list.setListener(metrics);
+        assertEquals(50, list.indexOf(50));
+        assertEquals(-1, list.indexOf(1_000));
+        list.add(25);
+        list.remove(30);
+        list.remove(-5);
+        Map<String, Long> counts = metrics.getOperationCounts();
+        assertEquals(2, (long) counts.get("INDEX_OF"));
+        assertEquals(1, (long) counts.get("ADD"));
+        assertEquals(2, (long) counts.get("REMOVE"));
+        Map<String, Double> means = metrics.getMeanTraversalLengths();
+        assertEquals(75.0, means.get("INDEX_OF"));
+        assertEquals(25.0, means.get("ADD"));
+        //Removing 30 walks past 31 nodes now that 25 is held twice, and removing a missing value walks the whole list,
+        //which is back to 100 nodes
+        assertEquals((31.0 + 100) / 2, means.get("REMOVE"));
+        assertEquals(100, (long) metrics.getMaxTraversalLengths().get("INDEX_OF"));
+        assertEquals(100, (long) metrics.getMaxTraversalLengths().get("REMOVE"));
+        long calls = 0;
+        for(long bin : metrics.traversalHistogram("ADD")){
+            calls += bin;
+        }
+        assertEquals(1, calls);
+        assertEquals(100, metrics.getSize());
+        assertThrows(IllegalArgumentException.class, () -> metrics.traversalHistogram("GET"));
+        metrics.reset();
+        assertEquals(0.0, metrics.getMeanTraversalLengths().get("INDEX_OF"));
+        assertEquals(0, (long) metrics.getMaxTraversalLengths().get("REMOVE"));
+    }
+}
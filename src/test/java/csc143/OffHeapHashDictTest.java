@@ -0,0 +1,155 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for OffHeapHashDict, checked against a HashMap and across closing and reopening its directory
+ */
+class OffHeapHashDictTest {
+    //Package-private fields
+    @TempDir
+    Path directory;
+
+    /**
+     * Random operations, with values of changing length so overwrites leave old records behind, match a HashMap while
+     * the table grows several times
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    void matchesHashMapWhileGrowing() throws IOException{
+        HashMap<Integer, String> expected = new HashMap<>();
+        try(OffHeapHashDict<Integer, String> dict = new OffHeapHashDict<>(directory, Codec.INTEGER, Codec.STRING)){
+            Random random = new Random(8);
+            for(int i = 0; i < 30_000; i++){
+                Integer key = random.nextInt(6_000);
+                String value = "v".repeat(random.nextInt(20)) + i;
+                switch(random.nextInt(5)){
+                    case 0:
+                    case 1:
+                        assertEquals(expected.put(key, value), dict.put(key, value));
+                        break;
+                    case 2:
+                        assertEquals(expected.replace(key, value), dict.replace(key, value));
+                        break;
+                    case 3:
+                        assertEquals(expected.remove(key), dict.remove(key));
+                        break;
+                    default:
+                        assertEquals(expected.get(key), dict.get(key));
+                        assertEquals(expected.containsKey(key), dict.containsKey(key));
+                }
+                assertEquals(expected.size(), dict.size());
+            }
+            assertMatches(expected, dict);
+        }
+    }
+
+    /**
+     * Everything written before close is there after reopening, including after the table grew into a new data file,
+     * and only that data file is left in the directory
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    void reopensAfterGrowing() throws IOException{
+        HashMap<String, Long> expected = new HashMap<>();
+        try(OffHeapHashDict<String, Long> dict = new OffHeapHashDict<>(directory, Codec.STRING, Codec.LONG)){
+            for(long i = 0; i < 5_000; i++){
+                expected.put("key" + i, i * i);
+                dict.put("key" + i, i * i);
+            }
+            for(long i = 0; i < 5_000; i += 7){
+                expected.remove("key" + i);
+                dict.remove("key" + i);
+            }
+        }
+        try(OffHeapHashDict<String, Long> dict = new OffHeapHashDict<>(directory, Codec.STRING, Codec.LONG)){
+            assertMatches(expected, dict);
+            dict.put("after", -1L);
+        }
+        try(OffHeapHashDict<String, Long> dict = new OffHeapHashDict<>(directory, Codec.STRING, Codec.LONG)){
+            assertEquals(-1L, (long) dict.get("after"));
+            assertEquals(expected.size() + 1, dict.size());
+        }
+        try(Stream<Path> files = Files.list(directory)){
+            assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("data")).count());
+        }
+    }
+
+    /**
+     * Growing copies only the live records, so the space left behind by overwrites is given back
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    void growingDropsDeadRecords() throws IOException{
+        String value = "a much longer value than before";
+        //Next offset, hash, key length and value length, then the key and value bytes
+        long record = 20 + Integer.BYTES + value.length();
+        long shortRecord = 20 + Integer.BYTES + "short".length();
+        try(OffHeapHashDict<Integer, String> dict = new OffHeapHashDict<>(directory, Codec.INTEGER, Codec.STRING)){
+            for(int i = 0; i < 500; i++){
+                dict.put(i, "short");
+                dict.put(i, value);
+            }
+            assertEquals(8 + 500 * (shortRecord + record), dict.dataBytes());
+            for(int i = 500; i < 2_000; i++){
+                dict.put(i, value);
+            }
+            //The table grew past its first 1024 buckets, after which only the 2,000 live records are left in the data file
+            assertEquals(8 + 2_000 * record, dict.dataBytes());
+            assertEquals(2_000, dict.size());
+        }
+    }
+
+    /**
+     * A directory holding something else isn't opened as a dictionary
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    void rejectsAForeignIndex() throws IOException{
+        Files.write(directory.resolve("index"), new byte[128]);
+        assertThrows(IOException.class, () -> new OffHeapHashDict<>(directory, Codec.INTEGER, Codec.INTEGER));
+    }
+
+    /**
+     * clear empties the dictionary, and it stays empty after reopening
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    void clearIsKeptAcrossReopening() throws IOException{
+        try(OffHeapHashDict<Integer, Integer> dict = new OffHeapHashDict<>(directory, Codec.INTEGER, Codec.INTEGER)){
+            dict.put(1, 1);
+            dict.clear();
+            assertTrue(dict.isEmpty());
+        }
+        try(OffHeapHashDict<Integer, Integer> dict = new OffHeapHashDict<>(directory, Codec.INTEGER, Codec.INTEGER)){
+            assertTrue(dict.isEmpty());
+            assertFalse(dict.containsKey(1));
+        }
+    }
+
+    /**
+     * Check that a dictionary holds exactly the mappings of a HashMap
+     * @param expected The mappings the dictionary should hold
+     * @param dict The dictionary being checked
+     */
+    private static <K, V> void assertMatches(Map<K, V> expected, OffHeapHashDict<K, V> dict){
+        assertEquals(expected.size(), dict.size());
+        for(Map.Entry<K, V> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+}
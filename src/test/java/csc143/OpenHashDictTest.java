@@ -0,0 +1,115 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for OpenHashDict, checked against a HashMap doing the same work
+ */
+class OpenHashDictTest {
+
+    /**
+     * Random puts, replaces and removes on a dictionary that starts small, so it grows and shifts entries back often
+     */
+    @Test
+    void matchesHashMapUnderRandomOperations(){
+        OpenHashDict<Integer, Integer> dict = new OpenHashDict<>(1);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for(int i = 0; i < 50_000; i++){
+            Integer key = random.nextInt(4_000);
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), dict.put(key, i));
+                    break;
+                case 2:
+                    assertEquals(expected.replace(key, i), dict.replace(key, i));
+                    break;
+                case 3:
+                    assertEquals(expected.remove(key), dict.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), dict.get(key));
+                    assertEquals(expected.containsKey(key), dict.containsKey(key));
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Keys that all probe from the same slot stay findable as the ones in front of them are removed, which is what
+     * backward-shift deletion has to get right
+     */
+    @Test
+    void removingFromTheMiddleOfAProbeRunKeepsTheRestFindable(){
+        OpenHashDict<CollidingKey, Integer> dict = new OpenHashDict<>();
+        for(int i = 0; i < 20; i++){
+            dict.put(new CollidingKey(i), i);
+        }
+        for(int i = 0; i < 20; i += 2){
+            assertEquals(i, (int) dict.remove(new CollidingKey(i)));
+        }
+        for(int i = 0; i < 20; i++){
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), dict.get(new CollidingKey(i)));
+        }
+        assertEquals(10, dict.size());
+    }
+
+    /**
+     * remove(K, V) only removes the key when it holds that value, and containsValue sees every value
+     */
+    @Test
+    void removeWithValueAndContainsValue(){
+        OpenHashDict<String, String> dict = new OpenHashDict<>();
+        dict.put("a", "1");
+        dict.put("b", "2");
+        assertFalse(dict.remove("a", "2"));
+        assertTrue(dict.containsValue("2"));
+        assertTrue(dict.remove("a", "1"));
+        assertFalse(dict.containsKey("a"));
+        dict.clear();
+        assertTrue(dict.isEmpty());
+        assertFalse(dict.containsValue("2"));
+    }
+
+    /**
+     * The load factor has to leave at least one slot free
+     */
+    @Test
+    void rejectsLoadFactorsOutOfRange(){
+        assertThrows(IllegalArgumentException.class, () -> new OpenHashDict<Integer, Integer>(16, 1f));
+        assertThrows(IllegalArgumentException.class, () -> new OpenHashDict<Integer, Integer>(-1));
+    }
+
+    /**
+     * Class for a key whose hash code is the same for every key
+     */
+    static final class CollidingKey{
+        //Private fields
+        private final int value;
+
+        CollidingKey(int value){
+            this.value = value;
+        }
+
+        public int hashCode(){
+            return 7;
+        }
+
+        public boolean equals(Object o){
+            return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+        }
+    }
+}
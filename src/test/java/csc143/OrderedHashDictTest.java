@@ -0,0 +1,217 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for OrderedHashDict, checked against a TreeMap doing the same work
+ */
+class OrderedHashDictTest {
+
+    /**
+     * Random puts, replaces and removes on a dictionary that starts small, so it grows through many resizes, match a
+     * TreeMap in lookups, navigation and positions
+     */
+    @Test
+    void matchesTreeMapUnderRandomOperations(){
+        OrderedHashDict<Integer, Integer> dict = new OrderedHashDict<>(1);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(24);
+        for(int i = 0; i < 30_000; i++){
+            Integer key = random.nextInt(3_000);
+            switch(random.nextInt(6)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), dict.put(key, i));
+                    break;
+                case 2:
+                    assertEquals(expected.replace(key, i), dict.replace(key, i));
+                    break;
+                case 3:
+                    assertEquals(expected.remove(key), dict.remove(key));
+                    break;
+                case 4:
+                    assertEquals(expected.remove(key, i - 1), dict.remove(key, i - 1));
+                    break;
+                default:
+                    assertEquals(expected.get(key), dict.get(key));
+                    assertEquals(expected.containsKey(key), dict.containsKey(key));
+                    assertEquals(expected.floorKey(key), dict.floorKey(key));
+                    assertEquals(expected.lowerKey(key), dict.lowerKey(key));
+                    assertEquals(expected.ceilingKey(key), dict.ceilingKey(key));
+                    assertEquals(expected.higherKey(key), dict.higherKey(key));
+                    assertEquals(expected.containsKey(key) ? expected.headMap(key).size() : -1, dict.indexOfKey(key));
+            }
+            assertEquals(expected.size(), dict.size());
+            if(!expected.isEmpty()){
+                assertEquals(expected.firstKey(), dict.firstKey());
+                assertEquals(expected.lastKey(), dict.lastKey());
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.keySet().toArray()[index], dict.keyAt(index));
+            }
+        }
+        assertMatches(expected, dict);
+        assertEquals(expected.containsValue(29_999), dict.containsValue(29_999));
+        assertFalse(dict.containsValue(-1));
+    }
+
+    /**
+     * keyRange and forEachInRange give the keys of the matching TreeMap sub map, and removing through a view's iterator
+     * removes the key from the dictionary
+     */
+    @Test
+    void rangesMatchSubMaps(){
+        OrderedHashDict<Integer, Integer> dict = new OrderedHashDict<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(25);
+        for(int i = 0; i < 2_000; i++){
+            Integer key = random.nextInt(10_000);
+            dict.put(key, -key);
+            expected.put(key, -key);
+        }
+        for(int i = 0; i < 200; i++){
+            Integer from = random.nextInt(10_200) - 100;
+            Integer to = from + random.nextInt(500);
+            List<Integer> keys = new ArrayList<>();
+            for(Integer key : dict.keyRange(from, to)){
+                keys.add(key);
+            }
+            assertEquals(new ArrayList<>(expected.subMap(from, to).keySet()), keys);
+            List<Integer> values = new ArrayList<>();
+            dict.forEachInRange(from, to, (key, value) -> values.add(value));
+            assertEquals(new ArrayList<>(expected.subMap(from, to).values()), values);
+        }
+        for(Iterator<Integer> keys = dict.keyRange(2_000, 4_000).iterator(); keys.hasNext();){
+            if(keys.next() % 2 == 0){
+                keys.remove();
+            }
+        }
+        expected.subMap(2_000, 4_000).keySet().removeIf(key -> key % 2 == 0);
+        Iterator<Integer> keys = dict.keys().iterator();
+        assertThrows(IllegalStateException.class, keys::remove);
+        keys.next();
+        keys.remove();
+        expected.pollFirstEntry();
+        assertMatches(expected, dict);
+        assertThrows(IllegalArgumentException.class, () -> dict.keyRange(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> dict.forEachInRange(5, 4, (key, value) -> { }));
+    }
+
+    /**
+     * putAllSorted appends keys above the last key in order, puts any that aren't above it one at a time, and refuses
+     * a batch that isn't strictly ascending before changing anything
+     */
+    @Test
+    void putAllSortedAppendsInOrder(){
+        OrderedHashDict<Integer, Integer> dict = new OrderedHashDict<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for(int i = 0; i < 1_000; i += 10){
+            dict.put(i, i);
+            expected.put(i, i);
+        }
+        Integer[] keys = new Integer[5_000];
+        Integer[] values = new Integer[5_000];
+        for(int i = 0; i < keys.length; i++){
+            //The first hundred keys fall among the keys already held, the rest go past the end
+            keys[i] = i < 100 ? i * 10 + 5 : 1_000 + i;
+            values[i] = -i;
+            expected.put(keys[i], values[i]);
+        }
+        dict.putAllSorted(keys, values);
+        assertMatches(expected, dict);
+        for(int i = 0; i < expected.size(); i += 97){
+            Integer key = dict.keyAt(i);
+            assertEquals(i, dict.indexOfKey(key));
+        }
+        assertThrows(IllegalArgumentException.class, () -> dict.putAllSorted(new Integer[]{10_000, 10_000},
+                new Integer[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> dict.putAllSorted(new Integer[]{1}, new Integer[0]));
+        assertMatches(expected, dict);
+        OrderedHashDict<Integer, Integer> empty = new OrderedHashDict<>();
+        empty.putAllSorted(new Integer[]{1, 2, 3}, new Integer[]{1, 2, 3});
+        assertEquals("{ 1:1 2:2 3:3 }", empty.toString());
+    }
+
+    /**
+     * Null keys are refused, an empty dictionary has no first or last key, and clear leaves it usable
+     */
+    @Test
+    void edgeCases(){
+        OrderedHashDict<String, String> dict = new OrderedHashDict<>();
+        assertThrows(NullPointerException.class, () -> dict.put(null, "a"));
+        assertThrows(NullPointerException.class, dict::firstKey);
+        assertThrows(NullPointerException.class, dict::lastKey);
+        assertThrows(IndexOutOfBoundsException.class, () -> dict.keyAt(0));
+        assertThrows(IllegalArgumentException.class, () -> new OrderedHashDict<String, String>(-1));
+        assertEquals(null, dict.floorKey("a"));
+        dict.put("b", "2");
+        dict.put("a", "1");
+        assertEquals("{ a:1 b:2 }", dict.toString());
+        dict.clear();
+        assertTrue(dict.isEmpty());
+        assertFalse(dict.keys().iterator().hasNext());
+        dict.put("c", "3");
+        assertEquals("c", dict.firstKey());
+        assertEquals(0, dict.indexOfKey("c"));
+    }
+
+    /**
+     * SkipListSortedList.appendSorted, which links already sorted values onto the end of the list the same way
+     * putAllSorted does, keeps positions right and refuses a value that would break the order
+     */
+    @Test
+    void skipListAppendSortedKeepsPositions(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 100; i++){
+            list.add(i * 2);
+            expected.add(i * 2);
+        }
+        List<Integer> more = new ArrayList<>();
+        for(int i = 198; i < 5_000; i++){
+            more.add(i);
+        }
+        list.appendSorted(more);
+        expected.addAll(more);
+        SkipListSortedListTest.assertContents(expected, list);
+        for(int i = 0; i < expected.size(); i += 31){
+            assertEquals(expected.get(i), list.get(i));
+            assertEquals(expected.indexOf(expected.get(i)), list.indexOf(expected.get(i)));
+        }
+        assertEquals(4_999, (int) list.getTail());
+        assertThrows(IllegalArgumentException.class, () -> list.appendSorted(List.of(5_000, 4_000)));
+        assertEquals(5_000, (int) list.getTail());
+        assertEquals(expected.size() + 1, list.size());
+    }
+
+    /**
+     * Check that a dictionary holds exactly the mappings of a TreeMap, with its keys in the same order
+     * @param expected The mappings the dictionary should hold
+     * @param dict The dictionary being checked
+     */
+    private static void assertMatches(TreeMap<Integer, Integer> expected, OrderedHashDict<Integer, Integer> dict){
+        assertEquals(expected.size(), dict.size());
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+        List<Integer> keys = new ArrayList<>();
+        for(Integer key : dict.keys()){
+            keys.add(key);
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+        List<Integer> values = new ArrayList<>();
+        dict.forEach((key, value) -> values.add(value));
+        assertEquals(new ArrayList<>(expected.values()), values);
+    }
+}
@@ -0,0 +1,119 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IntObjDict and LongLongDict, checked against a HashMap of boxed keys doing the same work. The key range
+ * includes 0, which both dictionaries hold to the side of their arrays
+ */
+class PrimitiveDictTest {
+
+    /**
+     * Random puts, replaces and removes on an IntObjDict
+     */
+    @Test
+    void intObjDictMatchesHashMap(){
+        IntObjDict<String> dict = new IntObjDict<>(1);
+        HashMap<Integer, String> expected = new HashMap<>();
+        Random random = new Random(4);
+        for(int i = 0; i < 50_000; i++){
+            int key = random.nextInt(3_000) - 1_500;
+            String value = "v" + i;
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, value), dict.put(key, value));
+                    break;
+                case 2:
+                    assertEquals(expected.replace(key, value), dict.replace(key, value));
+                    break;
+                case 3:
+                    assertEquals(expected.remove(key), dict.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), dict.get(key));
+                    assertEquals(expected.containsKey(key), dict.containsKey(key));
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+        for(Map.Entry<Integer, String> entry : expected.entrySet()){
+            assertEquals(entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Random puts, replaces and removes on a LongLongDict, whose misses come back as the no entry value
+     */
+    @Test
+    void longLongDictMatchesHashMap(){
+        long none = Long.MIN_VALUE;
+        LongLongDict dict = new LongLongDict(1, 0.5f, none);
+        HashMap<Long, Long> expected = new HashMap<>();
+        Random random = new Random(5);
+        for(int i = 0; i < 50_000; i++){
+            long key = random.nextInt(3_000) - 1_500L;
+            long value = i;
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    assertEquals(orNone(expected.put(key, value), none), dict.put(key, value));
+                    break;
+                case 2:
+                    assertEquals(orNone(expected.replace(key, value), none), dict.replace(key, value));
+                    break;
+                case 3:
+                    assertEquals(orNone(expected.remove(key), none), dict.remove(key));
+                    break;
+                default:
+                    assertEquals(orNone(expected.get(key), none), dict.get(key));
+                    assertEquals(expected.containsKey(key), dict.containsKey(key));
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+        for(Map.Entry<Long, Long> entry : expected.entrySet()){
+            assertEquals((long) entry.getValue(), dict.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * The key 0 behaves like any other key, including for remove(K, V) and containsValue
+     */
+    @Test
+    void zeroKeyIsAnOrdinaryKey(){
+        IntObjDict<String> ints = new IntObjDict<>();
+        assertEquals(null, ints.put(0, "zero"));
+        assertTrue(ints.containsValue("zero"));
+        assertFalse(ints.remove(0, "one"));
+        assertTrue(ints.remove(0, "zero"));
+        assertTrue(ints.isEmpty());
+
+        LongLongDict longs = new LongLongDict();
+        assertEquals(0L, longs.getNoEntryValue());
+        longs.put(0L, 42L);
+        assertTrue(longs.containsKey(0L));
+        assertTrue(longs.containsValue(42L));
+        assertEquals(42L, longs.remove(0L));
+        assertFalse(longs.containsKey(0L));
+        longs.put(1L, 1L);
+        longs.clear();
+        assertEquals(0, longs.size());
+    }
+
+    /**
+     * Unbox a HashMap result, turning a miss into the no entry value
+     * @param value The boxed result, null for a miss
+     * @param none The no entry value
+     * @return Long - The result as a LongLongDict would give it
+     */
+    private static long orNone(Long value, long none){
+        return value == null ? none : value;
+    }
+}
@@ -0,0 +1,263 @@
+package csc143;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SkipListSortedList, checked against a sorted ArrayList doing the same work
+ */
+class SkipListSortedListTest {
+
+    /**
+     * Random adds and removes, with plenty of repeated values, match a sorted ArrayList
+     */
+    @Test
+    void matchesSortedArrayList(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(11);
+        for(int i = 0; i < 20_000; i++){
+            Integer value = random.nextInt(2_000);
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    list.add(value);
+                    insertSorted(expected, value);
+                    break;
+                case 2:
+                    assertEquals(expected.remove(value), list.remove(value));
+                    break;
+                case 3:
+                    if(!expected.isEmpty()){
+                        boolean head = random.nextBoolean();
+                        assertEquals(head ? expected.remove(0) : expected.remove(expected.size() - 1),
+                                head ? list.removeHead() : list.removeTail());
+                    }
+                    break;
+                default:
+                    assertEquals(expected.contains(value), list.contains(value));
+                    assertEquals(expected.indexOf(value), list.indexOf(value));
+            }
+            assertEquals(expected.size(), list.size());
+            if(!expected.isEmpty()){
+                assertEquals(expected.get(0), list.getHead());
+                assertEquals(expected.get(expected.size() - 1), list.getTail());
+            }
+        }
+        assertContents(expected, list);
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    /**
+     * addAll merges another list in, including the list itself, and clear leaves the list usable
+     */
+    @Test
+    void addAllAndClear(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        SkipListSortedList<Integer> other = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 100; i++){
+            list.add(i * 2);
+            other.add(i * 3);
+            insertSorted(expected, i * 2);
+            insertSorted(expected, i * 3);
+        }
+        list.addAll(other);
+        assertContents(expected, list);
+        list.addAll(list);
+        for(Integer value : new ArrayList<>(expected)){
+            insertSorted(expected, value);
+        }
+        assertContents(expected, list);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(NullPointerException.class, list::getHead);
+        assertThrows(NullPointerException.class, list::removeTail);
+        list.add(1);
+        assertEquals("[1]", list.toString());
+    }
+
+    /**
+     * Removing through the iterator takes out exactly the values it returned, and remove without next is refused
+     */
+    @Test
+    void iteratorRemovesWhatItReturned(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(12);
+        for(int i = 0; i < 1_000; i++){
+            Integer value = random.nextInt(300);
+            list.add(value);
+            insertSorted(expected, value);
+        }
+        Iterator<Integer> values = list.iterator();
+        assertThrows(IllegalStateException.class, values::remove);
+        while(values.hasNext()){
+            if(values.next() % 3 == 0){
+                values.remove();
+            }
+        }
+        expected.removeIf(value -> value % 3 == 0);
+        assertContents(expected, list);
+        assertFalse(list.contains(0));
+    }
+
+    /**
+     * get, select, rank, countRange and indexOf agree with positions in a sorted ArrayList as values are added and removed
+     * all over the list, which keeps reshaping the skip widths
+     */
+    @Test
+    void positionsMatchSortedArrayList(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(13);
+        for(int i = 0; i < 5_000; i++){
+            Integer value = random.nextInt(1_000);
+            if(random.nextInt(3) == 0){
+                assertEquals(expected.remove(value), list.remove(value));
+            } else{
+                list.add(value);
+                insertSorted(expected, value);
+            }
+            if(expected.isEmpty()){
+                continue;
+            }
+            int index = random.nextInt(expected.size());
+            assertEquals(expected.get(index), list.get(index));
+            assertEquals(expected.get(index), list.select(index));
+            Integer probe = random.nextInt(1_100) - 50;
+            int rank = 0;
+            while(rank < expected.size() && expected.get(rank) < probe){
+                rank++;
+            }
+            assertEquals(rank, list.rank(probe));
+            assertEquals(expected.indexOf(probe), list.indexOf(probe));
+            Integer to = probe + random.nextInt(200);
+            int count = 0;
+            for(Integer held : expected){
+                count += held >= probe && held < to ? 1 : 0;
+            }
+            assertEquals(count, list.countRange(probe, to));
+        }
+        for(int i = 0; i < expected.size(); i++){
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    /**
+     * Positions outside the list and a backwards range are refused
+     */
+    @Test
+    void rejectsBadPositions(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        list.add(5);
+        list.add(5);
+        assertEquals(5, (int) list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.select(-1));
+        assertThrows(IllegalArgumentException.class, () -> list.countRange(6, 5));
+        assertEquals(2, list.countRange(5, 6));
+        assertEquals(0, list.countRange(5, 5));
+    }
+
+    /**
+     * floor, lower, ceiling and higher, and the subList, headList and tailList views, match a sorted ArrayList for probes
+     * inside, between and outside the held values
+     */
+    @Test
+    void navigationAndRangesMatchSortedArrayList(){
+        SkipListSortedList<Integer> list = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(18);
+        for(int i = 0; i < 2_000; i++){
+            Integer value = random.nextInt(1_000) * 2;
+            list.add(value);
+            insertSorted(expected, value);
+        }
+        for(int i = 0; i < 500; i++){
+            Integer probe = random.nextInt(2_100) - 50;
+            Integer floor = null;
+            Integer lower = null;
+            Integer ceiling = null;
+            Integer higher = null;
+            for(Integer held : expected){
+                floor = held <= probe ? held : floor;
+                lower = held < probe ? held : lower;
+                if(ceiling == null && held >= probe){
+                    ceiling = held;
+                }
+                if(higher == null && held > probe){
+                    higher = held;
+                }
+            }
+            assertEquals(floor, list.floor(probe));
+            assertEquals(lower, list.lower(probe));
+            assertEquals(ceiling, list.ceiling(probe));
+            assertEquals(higher, list.higher(probe));
+            Integer to = probe + random.nextInt(100);
+            assertContents(range(expected, probe, to), list.subList(probe, to));
+            assertContents(range(expected, Integer.MIN_VALUE, to), list.headList(to));
+            assertContents(range(expected, probe, Integer.MAX_VALUE), list.tailList(probe));
+        }
+        assertThrows(IllegalArgumentException.class, () -> list.subList(5, 4));
+        //The views are lazy, so values added past the old tail after one was made show up in it
+        Iterable<Integer> odd = list.subList(2_001, 2_006);
+        assertContents(List.of(), odd);
+        list.add(2_003);
+        list.add(2_003);
+        assertContents(List.of(2_003, 2_003), odd);
+        assertEquals(2_003, (int) list.ceiling(2_001));
+        assertEquals(2_003, (int) list.floor(3_000));
+    }
+
+    /**
+     * Get the values of a sorted ArrayList that fall between two bounds
+     * @param list The sorted values
+     * @param from The lowest value to keep, inclusive
+     * @param to The value to stop at, exclusive
+     * @return List - The values that are at least from and less than to, in order
+     */
+    static List<Integer> range(List<Integer> list, Integer from, Integer to){
+        List<Integer> range = new ArrayList<>();
+        for(Integer value : list){
+            if(value >= from && value < to){
+                range.add(value);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Add a value to a sorted ArrayList, keeping it sorted
+     * @param list The list to be added to
+     * @param value The value to be added
+     */
+    static void insertSorted(List<Integer> list, Integer value){
+        int index = Collections.binarySearch(list, value);
+        list.add(index < 0 ? -index - 1 : index, value);
+    }
+
+    /**
+     * Check that a sorted list iterates over exactly the values of a sorted ArrayList
+     * @param expected The values the list should hold, in order
+     * @param list The list being checked
+     */
+    static void assertContents(List<Integer> expected, Iterable<Integer> list){
+        List<Integer> actual = new ArrayList<>();
+        for(Integer value : list){
+            actual.add(value);
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,161 @@
+package csc143;
+
+import static csc143.SkipListSortedListTest.assertContents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the binary snapshots of HashDict and SortedLinkedList, each restored both streamed and memory mapped
+ */
+class SnapshotTest {
+    //Private fields
+    @TempDir
+    private Path directory;
+
+    /**
+     * A HashDict that grew from 16 buckets, with one bucket long enough to be a tree, comes back with every entry and the
+     * same number of buckets
+     * @throws IOException if the snapshot can't be written or read
+     */
+    @Test
+    void hashDictRoundTrips() throws IOException{
+        HashDict<String, Long> dict = new HashDict<>(16);
+        HashMap<String, Long> expected = new HashMap<>();
+        Random random = new Random(20);
+        for(int i = 0; i < 10_000; i++){
+            String key = "key" + random.nextInt(20_000);
+            dict.put(key, (long) i << 20);
+            expected.put(key, (long) i << 20);
+        }
+        //Aa and BB share a hash code, so every string made of eight of them lands in the same bucket
+        for(int i = 0; i < 256; i++){
+            StringBuilder key = new StringBuilder();
+            for(int bit = 0; bit < 8; bit++){
+                key.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            dict.put(key.toString(), (long) -i);
+            expected.put(key.toString(), (long) -i);
+        }
+        assertTrue(dict.chainLengths(64)[64] > 0, "the colliding keys were spread out");
+        Path file = directory.resolve("dict.snapshot");
+        dict.snapshot(file, Codec.STRING, Codec.LONG);
+        for(boolean mapped : new boolean[]{false, true}){
+            HashDict<String, Long> restored = HashDict.restore(file, Codec.STRING, Codec.LONG, mapped);
+            HashDictTest.assertMatches(expected, restored);
+            assertEquals(dict.bucketCount(), restored.bucketCount());
+            assertTrue(restored.chainLengths(64)[64] > 0, "the colliding bucket didn't come back whole");
+            restored.put("new", 1L);
+            assertEquals(1L, (long) restored.get("new"));
+        }
+        HashDict<Integer, String> empty = new HashDict<>();
+        empty.snapshot(file, Codec.INTEGER, Codec.STRING);
+        assertTrue(HashDict.restore(file, Codec.INTEGER, Codec.STRING).isEmpty());
+    }
+
+    /**
+     * Plain, counted and bounded lists come back with the same values and keep behaving in their own mode
+     * @throws IOException if the snapshot can't be written or read
+     */
+    @Test
+    void sortedLinkedListRoundTrips() throws IOException{
+        Random random = new Random(21);
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 5_000; i++){
+            values.add(random.nextInt(1_000) - 500);
+        }
+        SortedLinkedList<Integer> plain = new SortedLinkedList<>(values);
+        SortedLinkedList<Integer> counted = new SortedLinkedList<>(true);
+        SortedLinkedList<Integer> bounded = new SortedLinkedList<>(100);
+        for(Integer value : values){
+            counted.add(value);
+            bounded.offer(value);
+        }
+        Path file = directory.resolve("list.snapshot");
+        for(boolean mapped : new boolean[]{false, true}){
+            plain.snapshot(file, Codec.INTEGER);
+            SortedLinkedList<Integer> restored = SortedLinkedList.restore(file, Codec.INTEGER, mapped);
+            assertEquals(plain.toString(), restored.toString());
+            assertEquals(plain.size(), restored.size());
+            assertEquals(Integer.MAX_VALUE, restored.getCapacity());
+
+            counted.snapshot(file, Codec.INTEGER);
+            restored = SortedLinkedList.restore(file, Codec.INTEGER, mapped);
+            assertEquals(counted.toString(), restored.toString());
+            assertEquals(counted.count(7), restored.count(7));
+            assertEquals(counted.removeAll(7), restored.removeAll(7));
+            assertEquals(counted.size(), restored.size());
+            assertContents(toList(counted), restored);
+
+            bounded.snapshot(file, Codec.INTEGER);
+            restored = SortedLinkedList.restore(file, Codec.INTEGER, mapped);
+            assertEquals(100, restored.getCapacity());
+            assertContents(toList(bounded), restored);
+            assertFalse(restored.offer(restored.getTail()));
+            assertTrue(restored.offer(-1_000));
+            assertEquals(100, restored.size());
+            assertEquals(-1_000, (int) restored.getHead());
+        }
+        new SortedLinkedList<String>().snapshot(file, Codec.STRING);
+        assertTrue(SortedLinkedList.restore(file, Codec.STRING).isEmpty());
+    }
+
+    /**
+     * Files that aren't a snapshot of the collection, or have been cut short or damaged, are refused with an IOException
+     * rather than giving back a broken collection
+     * @throws IOException if a snapshot can't be written
+     */
+    @Test
+    void rejectsCorruptFiles() throws IOException{
+        HashDict<Integer, Integer> dict = new HashDict<>();
+        for(int i = 0; i < 1_000; i++){
+            dict.put(i, i);
+        }
+        Path dictFile = directory.resolve("dict.snapshot");
+        dict.snapshot(dictFile, Codec.INTEGER, Codec.INTEGER);
+        Path listFile = directory.resolve("list.snapshot");
+        new SortedLinkedList<Integer>(Arrays.asList(3, 1, 2)).snapshot(listFile, Codec.INTEGER);
+        assertThrows(IOException.class, () -> HashDict.restore(listFile, Codec.INTEGER, Codec.INTEGER));
+        assertThrows(IOException.class, () -> SortedLinkedList.restore(dictFile, Codec.INTEGER));
+
+        byte[] bytes = Files.readAllBytes(dictFile);
+        Path damaged = directory.resolve("damaged.snapshot");
+        Files.write(damaged, Arrays.copyOf(bytes, bytes.length - 7));
+        for(boolean mapped : new boolean[]{false, true}){
+            assertThrows(IOException.class, () -> HashDict.restore(damaged, Codec.INTEGER, Codec.INTEGER, mapped));
+        }
+        //The number of buckets, straight after the magic number, version and load factor, is no longer a power of two
+        byte[] header = bytes.clone();
+        header[8 + 4 + 4 + 3] ^= 1;
+        Files.write(damaged, header);
+        assertThrows(IOException.class, () -> HashDict.restore(damaged, Codec.INTEGER, Codec.INTEGER));
+        Files.write(damaged, new byte[0]);
+        assertThrows(IOException.class, () -> SortedLinkedList.restore(damaged, Codec.INTEGER));
+    }
+
+    /**
+     * Copy the values of a list into an ArrayList
+     * @param list The list to be copied
+     * @return List - The values of the list, in order
+     */
+    private static List<Integer> toList(Iterable<Integer> list){
+        List<Integer> values = new ArrayList<>();
+        for(Integer value : list){
+            values.add(value);
+        }
+        return values;
+    }
+}
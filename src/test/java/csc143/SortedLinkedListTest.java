@@ -0,0 +1,351 @@
+package csc143;
+
+import static csc143.SkipListSortedListTest.assertContents;
+import static csc143.SkipListSortedListTest.insertSorted;
+import static csc143.SkipListSortedListTest.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SortedLinkedList, checked against a sorted ArrayList doing the same work
+ */
+class SortedLinkedListTest {
+
+    /**
+     * Random adds and removes, with plenty of repeated values, match a sorted ArrayList
+     */
+    @Test
+    void matchesSortedArrayList(){
+        SortedLinkedList<Integer> list = new SortedLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(14);
+        for(int i = 0; i < 5_000; i++){
+            Integer value = random.nextInt(500);
+            switch(random.nextInt(5)){
+                case 0:
+                case 1:
+                    list.add(value);
+                    insertSorted(expected, value);
+                    break;
+                case 2:
+                    assertEquals(expected.remove(value), list.remove(value));
+                    break;
+                case 3:
+                    if(!expected.isEmpty()){
+                        boolean head = random.nextBoolean();
+                        assertEquals(head ? expected.remove(0) : expected.remove(expected.size() - 1),
+                                head ? list.removeHead() : list.removeTail());
+                    }
+                    break;
+                default:
+                    assertEquals(expected.contains(value), list.contains(value));
+                    assertEquals(expected.indexOf(value), list.indexOf(value));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertContents(expected, list);
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    /**
+     * The bulk constructor and addAll of an unsorted collection give the same list as sorting the values
+     */
+    @Test
+    void bulkConstructorSortsItsInput(){
+        Random random = new Random(15);
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 10_000; i++){
+            values.add(random.nextInt(3_000));
+        }
+        SortedLinkedList<Integer> list = new SortedLinkedList<>(values);
+        List<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        assertContents(expected, list);
+        assertEquals(expected.get(0), list.getHead());
+        assertEquals(expected.get(expected.size() - 1), list.getTail());
+        //Merging a second unsorted batch in keeps the list in order, with the new values interleaved among the old
+        List<Integer> more = new ArrayList<>();
+        for(int i = 0; i < 5_000; i++){
+            more.add(random.nextInt(4_000) - 500);
+        }
+        list.addAll(more);
+        expected.addAll(more);
+        Collections.sort(expected);
+        assertContents(expected, list);
+        assertEquals(expected.size(), list.size());
+        assertTrue(new SortedLinkedList<Integer>(new ArrayList<Integer>()).isEmpty());
+    }
+
+    /**
+     * addAll of another sorted list merges it in, whether it is another kind of list, empty, or the list itself, and merge
+     * combines any number of lists
+     */
+    @Test
+    void mergesSortedLists(){
+        Random random = new Random(16);
+        SortedLinkedList<Integer> list = new SortedLinkedList<>();
+        SkipListSortedList<Integer> skip = new SkipListSortedList<>();
+        UnrolledSortedList<Integer> unrolled = new UnrolledSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 1_000; i++){
+            Integer value = random.nextInt(800);
+            switch(i % 3){
+                case 0:
+                    list.add(value);
+                    break;
+                case 1:
+                    skip.add(value);
+                    break;
+                default:
+                    unrolled.add(value);
+            }
+            insertSorted(expected, value);
+        }
+        SortedLinkedList<Integer> merged = SortedLinkedList.merge(List.of(list, skip, unrolled, new SortedLinkedList<>()));
+        assertContents(expected, merged);
+        list.addAll(skip);
+        list.addAll(unrolled);
+        list.addAll(new SkipListSortedList<Integer>());
+        assertContents(expected, list);
+        list.addAll(list);
+        for(Integer value : new ArrayList<>(expected)){
+            insertSorted(expected, value);
+        }
+        assertContents(expected, list);
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.get(expected.size() - 1), list.getTail());
+    }
+
+    /**
+     * floor, lower, ceiling and higher, and the subList, headList and tailList views, match a sorted ArrayList for probes
+     * inside, between and outside the held values
+     */
+    @Test
+    void navigationAndRangesMatchSortedArrayList(){
+        SortedLinkedList<Integer> list = new SortedLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(19);
+        for(int i = 0; i < 2_000; i++){
+            Integer value = random.nextInt(1_000) * 2;
+            list.add(value);
+            insertSorted(expected, value);
+        }
+        for(int i = 0; i < 500; i++){
+            Integer probe = random.nextInt(2_100) - 50;
+            Integer floor = null;
+            Integer lower = null;
+            Integer ceiling = null;
+            Integer higher = null;
+            for(Integer held : expected){
+                floor = held <= probe ? held : floor;
+                lower = held < probe ? held : lower;
+                if(ceiling == null && held >= probe){
+                    ceiling = held;
+                }
+                if(higher == null && held > probe){
+                    higher = held;
+                }
+            }
+            assertEquals(floor, list.floor(probe));
+            assertEquals(lower, list.lower(probe));
+            assertEquals(ceiling, list.ceiling(probe));
+            assertEquals(higher, list.higher(probe));
+            Integer to = probe + random.nextInt(100);
+            assertContents(range(expected, probe, to), list.subList(probe, to));
+            assertContents(range(expected, Integer.MIN_VALUE, to), list.headList(to));
+            assertContents(range(expected, probe, Integer.MAX_VALUE), list.tailList(probe));
+        }
+        assertThrows(IllegalArgumentException.class, () -> list.subList(5, 4));
+        //The views are lazy, so values added past the old tail after one was made show up in it
+        Iterable<Integer> odd = list.subList(2_001, 2_006);
+        assertContents(List.of(), odd);
+        list.add(2_003);
+        list.add(2_003);
+        assertContents(List.of(2_003, 2_003), odd);
+        assertEquals(2_003, (int) list.ceiling(2_001));
+        assertEquals(2_003, (int) list.floor(3_000));
+    }
+
+    /**
+     * A bounded list only ever keeps the smallest values it was offered, turning away any value that isn't below its tail
+     * once it is full, whether values come one at a time, as copies or in bulk
+     */
+    @Test
+    void boundedListKeepsTheSmallest(){
+        SortedLinkedList<Integer> list = new SortedLinkedList<>(50);
+        assertEquals(50, list.getCapacity());
+        List<Integer> offered = new ArrayList<>();
+        Random random = new Random(20);
+        for(int i = 0; i < 5_000; i++){
+            Integer value = random.nextInt(10_000);
+            boolean full = list.size() == 50;
+            boolean kept = !full || value < list.getTail();
+            if(i % 10 == 0){
+                list.add(value, 3);
+                offered.addAll(List.of(value, value, value));
+            } else{
+                assertEquals(kept, list.offer(value));
+                offered.add(value);
+            }
+            assertEquals(Math.min(50, offered.size()), list.size());
+        }
+        Collections.sort(offered);
+        assertContents(offered.subList(0, 50), list);
+        //Bulk adds, including of the list itself, are cut back to the capacity as well
+        List<Integer> more = new ArrayList<>();
+        for(int i = 0; i < 1_000; i++){
+            more.add(random.nextInt(10_000) - 5_000);
+        }
+        list.addAll(more);
+        offered.addAll(more);
+        Collections.sort(offered);
+        assertContents(offered.subList(0, 50), list);
+        list.addAll(list);
+        List<Integer> doubled = new ArrayList<>();
+        for(Integer value : offered.subList(0, 25)){
+            doubled.addAll(List.of(value, value));
+        }
+        assertContents(doubled, list);
+        assertThrows(IllegalArgumentException.class, () -> new SortedLinkedList<Integer>(0));
+        assertEquals(Integer.MAX_VALUE, new SortedLinkedList<Integer>().getCapacity());
+    }
+
+    /**
+     * Counted and uncounted lists given the same random adds of copies, single removes, removes of every copy and head
+     * and tail removals both behave as a sorted ArrayList of every copy
+     */
+    @Test
+    void countedListMatchesSortedArrayList(){
+        SortedLinkedList<Integer> counted = new SortedLinkedList<>(true);
+        SortedLinkedList<Integer> plain = new SortedLinkedList<>(false);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(21);
+        for(int i = 0; i < 5_000; i++){
+            Integer value = random.nextInt(100);
+            switch(random.nextInt(6)){
+                case 0:
+                case 1:
+                    int n = random.nextInt(5);
+                    counted.add(value, n);
+                    plain.add(value, n);
+                    for(int j = 0; j < n; j++){
+                        insertSorted(expected, value);
+                    }
+                    break;
+                case 2:
+                    boolean held = expected.remove(value);
+                    assertEquals(held, counted.remove(value));
+                    assertEquals(held, plain.remove(value));
+                    break;
+                case 3:
+                    int copies = expected.size();
+                    expected.removeIf(value::equals);
+                    copies -= expected.size();
+                    assertEquals(copies, counted.removeAll(value));
+                    assertEquals(copies, plain.removeAll(value));
+                    break;
+                case 4:
+                    if(!expected.isEmpty()){
+                        boolean head = random.nextBoolean();
+                        Integer removed = head ? expected.remove(0) : expected.remove(expected.size() - 1);
+                        assertEquals(removed, head ? counted.removeHead() : counted.removeTail());
+                        assertEquals(removed, head ? plain.removeHead() : plain.removeTail());
+                    }
+                    break;
+                default:
+                    int copiesHeld = Collections.frequency(expected, value);
+                    assertEquals(copiesHeld, counted.count(value));
+                    assertEquals(copiesHeld, plain.count(value));
+                    assertEquals(expected.indexOf(value), counted.indexOf(value));
+            }
+            assertEquals(expected.size(), counted.size());
+            assertEquals(expected.size(), plain.size());
+        }
+        assertContents(expected, counted);
+        assertContents(expected, plain);
+        assertEquals(expected.toString(), counted.toString());
+        assertContents(range(expected, 20, 40), counted.subList(20, 40));
+        assertThrows(IllegalArgumentException.class, () -> counted.add(1, -1));
+    }
+
+    /**
+     * Removing through the iterator of a counted list takes off one copy at a time, unlinking a value once its last copy
+     * is gone, and adding the list to itself doubles every count
+     */
+    @Test
+    void countedIteratorRemovesOneCopy(){
+        SortedLinkedList<Integer> list = new SortedLinkedList<>(true);
+        list.add(1, 3);
+        list.add(2, 2);
+        list.add(3);
+        Iterator<Integer> values = list.iterator();
+        assertEquals(1, (int) values.next());
+        values.remove();
+        assertEquals(1, (int) values.next());
+        assertEquals(1, (int) values.next());
+        values.remove();
+        assertEquals(2, (int) values.next());
+        values.remove();
+        assertThrows(IllegalStateException.class, values::remove);
+        assertEquals(2, (int) values.next());
+        values.remove();
+        assertEquals(3, (int) values.next());
+        assertFalse(values.hasNext());
+        assertEquals("[1, 3]", list.toString());
+        assertEquals(0, list.count(2));
+        list.addAll(list);
+        assertEquals(2, list.count(1));
+        assertEquals(4, list.size());
+        assertEquals(2, list.removeAll(3));
+        assertEquals(0, list.removeAll(3));
+        assertContents(List.of(1, 1), list);
+    }
+
+    /**
+     * writeTo gives the same text as toString in pieces of bounded size, and with a limit writes that many values, copies
+     * of a counted value included, followed by a single ...
+     * @throws IOException never, appending to a StringBuilder doesn't fail
+     */
+    @Test
+    void writeToStopsAtTheLimit() throws IOException{
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 5_000; i++){
+            values.add(i);
+        }
+        SortedLinkedList<Integer> list = new SortedLinkedList<>(values);
+        HashDictTest.PieceRecorder out = new HashDictTest.PieceRecorder();
+        list.writeTo(out);
+        assertEquals(list.toString(), out.text.toString());
+        assertTrue(out.pieces > 1, "written in " + out.pieces + " piece");
+        assertTrue(out.longest < 10_000, "a piece was " + out.longest + " characters");
+        StringBuilder all = new StringBuilder();
+        list.writeTo(all, 5_000);
+        assertEquals(list.toString(), all.toString());
+        SortedLinkedList<Integer> counted = new SortedLinkedList<>(true);
+        counted.add(1, 3);
+        counted.add(2, 2);
+        int[] limits = {0, 1, 3, 4, 5, 6};
+        String[] expected = {"[...]", "[1, ...]", "[1, 1, 1, ...]", "[1, 1, 1, 2, ...]", "[1, 1, 1, 2, 2]",
+                "[1, 1, 1, 2, 2]"};
+        for(int i = 0; i < limits.length; i++){
+            StringBuilder limited = new StringBuilder();
+            counted.writeTo(limited, limits[i]);
+            assertEquals(expected[i], limited.toString());
+        }
+        StringBuilder empty = new StringBuilder();
+        new SortedLinkedList<Integer>().writeTo(empty, 0);
+        assertEquals("[]", empty.toString());
+        assertThrows(IllegalArgumentException.class, () -> list.writeTo(new StringBuilder(), -1));
+    }
+}
@@ -0,0 +1,121 @@
+package csc143;
+
+import static csc143.SkipListSortedListTest.assertContents;
+import static csc143.SkipListSortedListTest.insertSorted;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for UnrolledSortedList, checked against a sorted ArrayList doing the same work
+ */
+class UnrolledSortedListTest {
+
+    /**
+     * Random adds and removes match a sorted ArrayList, with the smallest chunks so that chunks split, merge and top each
+     * other up all the time, and with the default chunks
+     */
+    @Test
+    void matchesSortedArrayList(){
+        for(int chunkSize : new int[]{4, 64}){
+            UnrolledSortedList<Integer> list = new UnrolledSortedList<>(chunkSize);
+            List<Integer> expected = new ArrayList<>();
+            Random random = new Random(chunkSize);
+            for(int i = 0; i < 20_000; i++){
+                //Adds win early on so the list gets long, then removes win so it drains back down
+                Integer value = random.nextInt(2_000);
+                int operation = random.nextInt(10);
+                if(operation < (i < 10_000 ? 5 : 2)){
+                    list.add(value);
+                    insertSorted(expected, value);
+                } else if(operation < 7){
+                    assertEquals(expected.remove(value), list.remove(value));
+                } else if(operation < 8){
+                    if(!expected.isEmpty()){
+                        boolean head = random.nextBoolean();
+                        assertEquals(head ? expected.remove(0) : expected.remove(expected.size() - 1),
+                                head ? list.removeHead() : list.removeTail());
+                    }
+                } else{
+                    assertEquals(expected.contains(value), list.contains(value));
+                    assertEquals(expected.indexOf(value), list.indexOf(value));
+                }
+                assertEquals(expected.size(), list.size());
+                if(!expected.isEmpty()){
+                    assertEquals(expected.get(0), list.getHead());
+                    assertEquals(expected.get(expected.size() - 1), list.getTail());
+                }
+            }
+            assertContents(expected, list);
+            assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    /**
+     * Removing through the iterator, including runs of removals that empty or merge chunks under it, takes out exactly the
+     * values it returned
+     */
+    @Test
+    void iteratorRemovesWhatItReturned(){
+        UnrolledSortedList<Integer> list = new UnrolledSortedList<>(4);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(14);
+        for(int i = 0; i < 2_000; i++){
+            Integer value = random.nextInt(500);
+            list.add(value);
+            insertSorted(expected, value);
+        }
+        Iterator<Integer> values = list.iterator();
+        assertThrows(IllegalStateException.class, values::remove);
+        while(values.hasNext()){
+            Integer value = values.next();
+            if(value % 4 != 0 || value > 400){
+                values.remove();
+            }
+        }
+        expected.removeIf(value -> value % 4 != 0 || value > 400);
+        assertContents(expected, list);
+        for(Iterator<Integer> rest = list.iterator(); rest.hasNext();){
+            rest.next();
+            rest.remove();
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * addAll merges another list in, including the list itself, clear leaves the list usable, and chunks too small to
+     * split are refused
+     */
+    @Test
+    void addAllClearAndChunkSize(){
+        UnrolledSortedList<Integer> list = new UnrolledSortedList<>(8);
+        SkipListSortedList<Integer> other = new SkipListSortedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 100; i++){
+            list.add(i * 2);
+            other.add(i * 3);
+            insertSorted(expected, i * 2);
+            insertSorted(expected, i * 3);
+        }
+        list.addAll(other);
+        assertContents(expected, list);
+        list.addAll(list);
+        for(Integer value : new ArrayList<>(expected)){
+            insertSorted(expected, value);
+        }
+        assertContents(expected, list);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(NullPointerException.class, list::removeHead);
+        list.add(3);
+        assertEquals("[3]", list.toString());
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledSortedList<Integer>(3));
+    }
+}